@@ -0,0 +1,100 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.revapi.AnalysisContext;
+import com.natigbabayev.revapi.gradle.RecordedDifferences.Recorded;
+import com.natigbabayev.revapi.gradle.fixtures.RevapiYmlGenerator;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticApi;
+
+/**
+ * Matching the differences of a 1000 class synthetic API against {@code acceptedBreaks} accepted breaks, as many of
+ * which accept one of the differences as there are differences, and the rest of which match nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AcceptedBreaksBenchmark {
+    @Param({"10", "1000", "50000"})
+    public int acceptedBreaks;
+
+    private Path directory;
+    private RecordedDifferences recordedDifferences;
+    private List<Recorded> differences;
+    private ModelNode configuration;
+    private DifferenceCounter counter;
+
+    @Setup
+    public final void setup() throws Exception {
+        directory = Files.createTempDirectory("revapi-accepted-breaks-benchmark");
+        SyntheticApi syntheticApi = BenchmarkAnalysis.syntheticApi(directory, 1000);
+        recordedDifferences = RecordedDifferences.analyse(syntheticApi, directory);
+        differences = recordedDifferences.differences();
+
+        configuration = DifferenceCounter.configFor(
+                        RevapiYmlGenerator.acceptedBreaks(syntheticApi.expectedDifferences(), acceptedBreaks))
+                .asModelNode()
+                .get(0)
+                .get("configuration");
+        counter = initializedCounter();
+    }
+
+    @TearDown
+    public final void tearDown() throws Exception {
+        recordedDifferences.close();
+        BenchmarkAnalysis.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public final DifferenceCounter initialize() {
+        return initializedCounter();
+    }
+
+    @Benchmark
+    public final void match(Blackhole blackhole) {
+        for (Recorded recorded : differences) {
+            blackhole.consume(counter.transform(recorded.oldElement, recorded.newElement, recorded.difference));
+        }
+    }
+
+    private DifferenceCounter initializedCounter() {
+        DifferenceCounter initialized = new DifferenceCounter();
+        initialized.initialize(AnalysisContext.builder().build().copyWithConfiguration(configuration));
+        return initialized;
+    }
+}
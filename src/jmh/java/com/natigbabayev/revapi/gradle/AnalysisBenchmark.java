@@ -0,0 +1,73 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.revapi.AnalysisResult;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticApi;
+
+/** The whole of {@link RevapiAnalyzeTask}'s analysis: building the element models, diffing, transforming, reporting. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class AnalysisBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int classes;
+
+    private Path directory;
+    private SyntheticApi syntheticApi;
+    private File resultsFile;
+
+    @Setup
+    public final void setup() throws Exception {
+        directory = Files.createTempDirectory("revapi-analysis-benchmark");
+        syntheticApi = BenchmarkAnalysis.syntheticApi(directory, classes);
+        resultsFile = directory.resolve("revapi-results.json").toFile();
+    }
+
+    @TearDown
+    public final void tearDown() throws Exception {
+        BenchmarkAnalysis.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public final long analyse() throws Exception {
+        try (AnalysisResult analysisResult =
+                BenchmarkAnalysis.run(syntheticApi, resultsFile, RevapiAnalysis.revapiBuilder())) {
+            analysisResult.throwIfFailed();
+        }
+        return resultsFile.length();
+    }
+}
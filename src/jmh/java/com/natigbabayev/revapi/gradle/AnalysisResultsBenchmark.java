@@ -0,0 +1,82 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Parsing a {@code revapi-results.json} of {@code results} differences, as the report and accept tasks do. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AnalysisResultsBenchmark {
+    @Param({"10", "1000", "50000"})
+    public int results;
+
+    private File resultsFile;
+
+    @Setup
+    public final void setup() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode analysisResults = objectMapper.createObjectNode().put("archiveNames", "api.jar");
+        ArrayNode resultsNode = analysisResults.putArray("results");
+        for (int i = 0; i < results; i++) {
+            String element = "method java.lang.String synthetic.p" + (i / 100) + ".Type" + i + "::method()";
+            ObjectNode result = resultsNode
+                    .addObject()
+                    .put("code", "java.method.removed")
+                    .put("oldElement", element)
+                    .putNull("newElement")
+                    .put("description", "Method was removed.")
+                    .put("oldArchiveName", "api.jar")
+                    .putNull("newArchiveName");
+            result.putObject("classification").put("BINARY", "BREAKING").put("SOURCE", "BREAKING");
+        }
+
+        resultsFile = Files.createTempFile("revapi-results", ".json").toFile();
+        objectMapper.writeValue(resultsFile, analysisResults);
+    }
+
+    @TearDown
+    public final void tearDown() throws Exception {
+        Files.delete(resultsFile.toPath());
+    }
+
+    @Benchmark
+    public final AnalysisResults parse() {
+        return AnalysisResults.fromFile(resultsFile);
+    }
+}
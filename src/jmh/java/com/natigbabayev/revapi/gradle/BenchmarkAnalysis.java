@@ -0,0 +1,82 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.revapi.API;
+import org.revapi.AnalysisContext;
+import org.revapi.AnalysisResult;
+import org.revapi.Revapi;
+import org.revapi.simple.FileArchive;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticApi;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticApiGenerator;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticApiSpec;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticChange;
+
+/** Runs revapi over a {@link SyntheticApi} the way {@link RevapiAnalyzeTask} does, minus the gradle inputs. */
+final class BenchmarkAnalysis {
+    private BenchmarkAnalysis() {}
+
+    /** An api with some inheritance, generics and immutables, where roughly a quarter of the types have a break. */
+    static SyntheticApi syntheticApi(Path directory, int classes) throws IOException {
+        return SyntheticApiGenerator.generate(
+                SyntheticApiSpec.builder()
+                        .classCount(classes)
+                        .inheritanceDepth(2)
+                        .genericsDensity(0.2)
+                        .immutablesRate(0.1)
+                        .putChangeRates(SyntheticChange.METHOD_REMOVED, 0.1)
+                        .putChangeRates(SyntheticChange.METHOD_RETURN_TYPE_CHANGED, 0.05)
+                        .putChangeRates(SyntheticChange.METHOD_PARAMETER_TYPE_CHANGED, 0.05)
+                        .putChangeRates(SyntheticChange.METHOD_ADDED_TO_INTERFACE, 0.05)
+                        .putChangeRates(SyntheticChange.METHOD_ABSTRACT_METHOD_ADDED, 0.05)
+                        .build(),
+                directory);
+    }
+
+    /** Removes a directory made in a benchmark's {@code @Setup}, so repeated runs don't fill up the temp dir. */
+    static void deleteDirectory(Path directory) throws IOException {
+        MoreFiles.deleteRecursively(directory, RecursiveDeleteOption.ALLOW_INSECURE);
+    }
+
+    static AnalysisResult run(SyntheticApi syntheticApi, File resultsFile, Revapi.Builder revapi) {
+        RevapiConfig revapiConfig = RevapiConfig.mergeAll(
+                RevapiConfig.defaults(),
+                RevapiConfig.empty().withTextReporter("gradle-revapi-results.ftl", resultsFile),
+                ImmutablesFilter.CONFIG);
+
+        List<FileArchive> supportArchives =
+                syntheticApi.supportJars().stream().map(FileArchive::new).collect(Collectors.toList());
+
+        return revapi.build()
+                .analyze(AnalysisContext.builder()
+                        .withOldAPI(API.of(new FileArchive(syntheticApi.oldJar()))
+                                .supportedBy(supportArchives)
+                                .build())
+                        .withNewAPI(API.of(new FileArchive(syntheticApi.newJar()))
+                                .supportedBy(supportArchives)
+                                .build())
+                        .withConfiguration(revapiConfig.asModelNode())
+                        .build());
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import com.natigbabayev.revapi.gradle.config.GradleRevapiConfig;
+import com.natigbabayev.revapi.gradle.config.GroupNameVersion;
+import com.natigbabayev.revapi.gradle.fixtures.RevapiYmlGenerator;
+
+/** Reading a {@code revapi.yml} with {@code acceptedBreaks} accepted breaks, and reading then writing it back. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConfigManagerBenchmark {
+    @Param({"10", "1000", "50000"})
+    public int acceptedBreaks;
+
+    private Path directory;
+    private ConfigManager configManager;
+
+    @Setup
+    public final void setup() throws Exception {
+        directory = Files.createTempDirectory("revapi-config-benchmark");
+        Path revapiYml = RevapiYmlGenerator.write(
+                directory.resolve(".revapi/revapi.yml"),
+                GroupNameVersion.fromString("com.example:synthetic:1.0.0"),
+                Collections.emptyList(),
+                acceptedBreaks);
+
+        configManager = new ConfigManager(revapiYml.toFile());
+    }
+
+    @TearDown
+    public final void tearDown() throws Exception {
+        BenchmarkAnalysis.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public final GradleRevapiConfig load() {
+        return configManager.fromFileOrEmptyIfDoesNotExist();
+    }
+
+    @Benchmark
+    public final void loadAndWrite() {
+        configManager.modifyConfigFile(UnaryOperator.identity());
+    }
+}
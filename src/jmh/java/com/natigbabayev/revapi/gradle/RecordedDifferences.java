@@ -0,0 +1,125 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import java.io.Reader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.revapi.AnalysisContext;
+import org.revapi.AnalysisResult;
+import org.revapi.Difference;
+import org.revapi.DifferenceTransform;
+import org.revapi.java.spi.JavaElement;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticApi;
+
+/**
+ * The differences, with their real revapi-java elements, found by analysing a {@link SyntheticApi}. The elements are
+ * only usable while the analysis is open, so this must be closed once the benchmark is done with them.
+ */
+final class RecordedDifferences implements AutoCloseable {
+    private final AnalysisResult analysisResult;
+    private final List<Recorded> differences;
+
+    private RecordedDifferences(AnalysisResult analysisResult, List<Recorded> differences) {
+        this.analysisResult = analysisResult;
+        this.differences = differences;
+    }
+
+    List<Recorded> differences() {
+        return differences;
+    }
+
+    static RecordedDifferences analyse(SyntheticApi syntheticApi, Path resultsDirectory) throws Exception {
+        AnalysisResult analysisResult = BenchmarkAnalysis.run(
+                syntheticApi,
+                resultsDirectory.resolve("revapi-results.json").toFile(),
+                RevapiAnalysis.revapiBuilder().withTransforms(Recorder.class));
+        analysisResult.throwIfFailed();
+        return new RecordedDifferences(analysisResult, Recorder.drain());
+    }
+
+    @Override
+    public void close() throws Exception {
+        analysisResult.close();
+    }
+
+    static final class Recorded {
+        @Nullable
+        final JavaElement oldElement;
+
+        @Nullable
+        final JavaElement newElement;
+
+        final Difference difference;
+
+        Recorded(@Nullable JavaElement oldElement, @Nullable JavaElement newElement, Difference difference) {
+            this.oldElement = oldElement;
+            this.newElement = newElement;
+            this.difference = difference;
+        }
+    }
+
+    /** Revapi instantiates extensions itself, so what is recorded has to be handed over through a static. */
+    public static final class Recorder implements DifferenceTransform<JavaElement> {
+        private static final Pattern[] EVERYTHING = {Pattern.compile(".*")};
+        private static final List<Recorded> recorded = Collections.synchronizedList(new ArrayList<>());
+
+        static List<Recorded> drain() {
+            synchronized (recorded) {
+                List<Recorded> drained = new ArrayList<>(recorded);
+                recorded.clear();
+                return drained;
+            }
+        }
+
+        @Nonnull
+        @Override
+        public Pattern[] getDifferenceCodePatterns() {
+            return EVERYTHING;
+        }
+
+        @Nullable
+        @Override
+        public Difference transform(
+                @Nullable JavaElement oldElement, @Nullable JavaElement newElement, @Nonnull Difference difference) {
+            recorded.add(new Recorded(oldElement, newElement, difference));
+            return difference;
+        }
+
+        @Override
+        public String getExtensionId() {
+            return "gradle-revapi.benchmark.recorder";
+        }
+
+        @Override
+        public void initialize(@Nonnull AnalysisContext _analysisContext) {}
+
+        @Nullable
+        @Override
+        public Reader getJSONSchema() {
+            return null;
+        }
+
+        @Override
+        public void close() {}
+    }
+}
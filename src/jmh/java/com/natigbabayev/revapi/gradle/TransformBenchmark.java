@@ -0,0 +1,94 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.revapi.AnalysisContext;
+import com.natigbabayev.revapi.gradle.RecordedDifferences.Recorded;
+
+/** How fast our transforms get through every difference found in a synthetic API, using the real elements. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TransformBenchmark {
+    @Param({"1000", "10000"})
+    public int classes;
+
+    private Path directory;
+    private RecordedDifferences recordedDifferences;
+    private List<Recorded> differences;
+    private ImmutablesFilter immutablesFilter;
+    private CheckWhitelist checkWhitelist;
+
+    @Setup
+    public final void setup() throws Exception {
+        directory = Files.createTempDirectory("revapi-transform-benchmark");
+        recordedDifferences =
+                RecordedDifferences.analyse(BenchmarkAnalysis.syntheticApi(directory, classes), directory);
+        differences = recordedDifferences.differences();
+
+        immutablesFilter = new ImmutablesFilter();
+        immutablesFilter.initialize(AnalysisContext.builder().build());
+
+        ModelNode whitelist = new ModelNode().setEmptyList();
+        whitelist.add("java.method.removed");
+        whitelist.add("java.method.returnTypeChanged");
+        checkWhitelist = new CheckWhitelist();
+        checkWhitelist.initialize(AnalysisContext.builder().build().copyWithConfiguration(whitelist));
+    }
+
+    @TearDown
+    public final void tearDown() throws Exception {
+        recordedDifferences.close();
+        BenchmarkAnalysis.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public final void immutablesFilter(Blackhole blackhole) {
+        for (Recorded recorded : differences) {
+            blackhole.consume(
+                    immutablesFilter.transform(recorded.oldElement, recorded.newElement, recorded.difference));
+        }
+    }
+
+    @Benchmark
+    public final void checkWhitelist(Blackhole blackhole) {
+        for (Recorded recorded : differences) {
+            blackhole.consume(checkWhitelist.transform(recorded.oldElement, recorded.newElement, recorded.difference));
+        }
+    }
+}
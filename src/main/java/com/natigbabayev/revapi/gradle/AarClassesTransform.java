@@ -0,0 +1,124 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.transform.CacheableTransform;
+import org.gradle.api.artifacts.transform.InputArtifact;
+import org.gradle.api.artifacts.transform.TransformAction;
+import org.gradle.api.artifacts.transform.TransformOutputs;
+import org.gradle.api.artifacts.transform.TransformParameters;
+import org.gradle.api.artifacts.type.ArtifactTypeDefinition;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.FileSystemLocation;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+
+/**
+ * Unpacks the jars from an Android library's aar: its {@code classes.jar}, renamed after the aar so that breaks are
+ * reported against the library, and the jars it bundles in {@code libs/}. Gradle caches the results of transforms by
+ * the contents of the aar, so each is only unpacked once per machine, rather than on every analysis.
+ */
+@CacheableTransform
+public abstract class AarClassesTransform implements TransformAction<TransformParameters.None> {
+    static final String ARTIFACT_TYPE = "revapi-aar-classes";
+
+    private static final String AAR_TYPE = "aar";
+    private static final String CLASSES_JAR = "classes.jar";
+    private static final String LIBS = "libs/";
+
+    @InputArtifact
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract Provider<FileSystemLocation> getInputArtifact();
+
+    @Override
+    public final void transform(TransformOutputs outputs) {
+        File aar = getInputArtifact().get().getAsFile();
+        try {
+            extractJars(aar, outputs::file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not unpack the jars in " + aar, e);
+        }
+    }
+
+    static void registerOn(Project project) {
+        project.getDependencies().registerTransform(AarClassesTransform.class, spec -> {
+            spec.getFrom().attribute(ArtifactTypeDefinition.ARTIFACT_TYPE_ATTRIBUTE, AAR_TYPE);
+            spec.getTo().attribute(ArtifactTypeDefinition.ARTIFACT_TYPE_ATTRIBUTE, ARTIFACT_TYPE);
+        });
+    }
+
+    /**
+     * The jars among {@code files}, with any aars replaced by the jars in them. Only the aars are resolved through a
+     * configuration, so that they are unpacked by this transform, once registered on the project.
+     */
+    static FileCollection jarsOf(Project project, FileCollection files) {
+        Configuration aars = project.getConfigurations()
+                .detachedConfiguration(project.getDependencies().create(files.filter(AarClassesTransform::isAar)));
+        FileCollection aarJars = aars.getIncoming()
+                .artifactView(view -> view.attributes(attrs ->
+                        attrs.attribute(ArtifactTypeDefinition.ARTIFACT_TYPE_ATTRIBUTE, ARTIFACT_TYPE)))
+                .getFiles();
+        return files.filter(file -> !isAar(file)).plus(aarJars);
+    }
+
+    /** Writes the jars in {@code aar} to the files {@code outputFile} gives for their names, returning those files. */
+    static List<File> extractJars(File aar, Function<String, File> outputFile) throws IOException {
+        String libraryName = aar.getName().substring(0, aar.getName().length() - ".aar".length());
+        List<File> jars = new ArrayList<>();
+        try (ZipFile zipFile = new ZipFile(aar)) {
+            ZipEntry classesJar = zipFile.getEntry(CLASSES_JAR);
+            if (classesJar != null) {
+                jars.add(extract(zipFile, classesJar, outputFile.apply(libraryName + ".jar")));
+            }
+
+            List<ZipEntry> libs = Collections.list(zipFile.entries()).stream()
+                    .filter(entry -> entry.getName().startsWith(LIBS) && entry.getName().endsWith(".jar"))
+                    .collect(Collectors.toList());
+            for (ZipEntry lib : libs) {
+                jars.add(extract(zipFile, lib, outputFile.apply(lib.getName())));
+            }
+        }
+        return jars;
+    }
+
+    private static boolean isAar(File file) {
+        return file.getName().endsWith(".aar");
+    }
+
+    private static File extract(ZipFile zipFile, ZipEntry entry, File output) throws IOException {
+        output.getParentFile().mkdirs();
+        try (InputStream inputStream = zipFile.getInputStream(entry)) {
+            Files.copy(inputStream, output.toPath());
+        }
+        return output;
+    }
+}
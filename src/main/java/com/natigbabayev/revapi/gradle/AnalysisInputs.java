@@ -0,0 +1,136 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.stream.Stream;
+import org.immutables.serial.Serial;
+import org.immutables.value.Value;
+import com.natigbabayev.revapi.gradle.config.AcceptedBreak;
+
+/**
+ * Everything needed to analyse one project, captured from its {@link RevapiAnalyzeTask}, so that the analysis can be
+ * run by that task, in a worker, or by {@link RevapiAnalyzeAllTask} along with other projects'.
+ */
+@Value.Immutable
+@ImmutableStyle
+@Serial.Structural
+interface AnalysisInputs {
+    /**
+     * Jars are compressed, and revapi's model of the classes in them takes up several times the size of the classes
+     * themselves, so an analysis needs far more heap than the size of the jars it reads.
+     */
+    long HEAP_BYTES_PER_JAR_BYTE = 10;
+
+    String projectPath();
+
+    List<File> oldApiJars();
+
+    List<File> oldApiDependencyJars();
+
+    /** An {@link ApiBaseline} to compare against instead of the old api jars. */
+    Optional<File> oldApiBaseline();
+
+    List<File> newApiJars();
+
+    List<File> newApiDependencyJars();
+
+    @Value.NaturalOrder
+    SortedSet<String> archiveNamesToReportBreaks();
+
+    Set<AcceptedBreak> acceptedBreaks();
+
+    List<GeneratedCodeRule> generatedCodeRules();
+
+    ApiFilters apiFilters();
+
+    /** Configuration that depends on the project itself, like the checks to run for conjure projects. */
+    RevapiConfig projectConfig();
+
+    File analysisResultsFile();
+
+    /** Formats to also write the results in, next to {@link #analysisResultsFile()}. */
+    Set<ResultsFormat> resultsFormats();
+
+    File metricsFile();
+
+    /** Whether to analyse just the classes reachable from the api, see {@link ApiReachability}. */
+    @Value.Default
+    default boolean pruneUnreachableClasses() {
+        return false;
+    }
+
+    /** Whether only the packages modular jars export can be part of their api, see {@link ExportedPackages}. */
+    @Value.Default
+    default boolean exportedPackagesOnly() {
+        return false;
+    }
+
+    /** The java release to analyse multi-release jars as, see {@link MultiReleaseJar}. */
+    Optional<Integer> targetRelease();
+
+    /** Without an old api there is nothing to compare against, just like when {@link RevapiAnalyzeTask} is skipped. */
+    default boolean hasOldApi() {
+        return !oldApiJars().isEmpty() || oldApiBaseline().isPresent();
+    }
+
+    /**
+     * A rough guess at how much heap analysing these apis takes, to avoid running too many analyses at once. A jar
+     * both apis depend on is only read once, so only counted once, and the Android platform jars are left out: revapi
+     * only reads the few of their classes an api uses, which are nothing next to the size of the jars.
+     */
+    default long estimatedHeapBytes() {
+        return Stream.of(
+                                oldApiJars(),
+                                oldApiDependencyJars(),
+                                newApiJars(),
+                                newApiDependencyJars(),
+                                oldApiBaseline().map(Collections::singletonList).orElseGet(Collections::emptyList))
+                        .flatMap(List::stream)
+                        .distinct()
+                        .filter(jar -> !AndroidSdk.isPlatformJar(jar))
+                        .mapToLong(File::length)
+                        .sum()
+                * HEAP_BYTES_PER_JAR_BYTE;
+    }
+
+    default RevapiConfig revapiConfig() {
+        return RevapiConfig.mergeAll(
+                RevapiConfig.defaults(),
+                ArchiveSelectionFilter.configFor(archiveNamesToReportBreaks()),
+                RevapiConfig.empty().withTextReporter("gradle-revapi-results.ftl", analysisResultsFile()),
+                ResultsFormatReporter.configFor(analysisResultsFile(), resultsFormats()),
+                RevapiConfig.empty().withIgnoredBreaks(acceptedBreaks()),
+                DifferenceCounter.configFor(acceptedBreaks()),
+                projectConfig(),
+                ImmutablesFilter.CONFIG,
+                KotlinMetadataFilter.CONFIG,
+                GeneratedCodeFilter.configFor(generatedCodeRules()),
+                ApiElementFilter.configFor(apiFilters()));
+    }
+
+    class Builder extends ImmutableAnalysisInputs.Builder {}
+
+    static Builder builder() {
+        return new Builder();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.io.File;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timings of the phases of a project's revapi analysis, and counters of what happened during it. Collected by
+ * {@link RevapiMetricsService}, which writes them out at the end of the build.
+ */
+final class AnalysisMetrics {
+    static final String OLD_API_RESOLUTION = "oldApiResolution";
+    static final String HEAP_ADMISSION = "heapAdmission";
+    static final String ARCHIVES = "archives";
+    static final String ANALYSIS = "analysis";
+    static final String TRANSFORMS = "transforms";
+    static final String REPORT = "report";
+
+    static final String CLASSES_SCANNED = "classesScanned";
+    static final String DIFFERENCES_FOUND = "differencesFound";
+    static final String ACCEPTED_BREAKS_MATCHED = "acceptedBreaksMatched";
+    static final String DIFFERENCES_REPORTED = "differencesReported";
+    static final String ANALYZERS_CREATED = "analyzersCreated";
+    static final String ANALYZERS_REUSED = "analyzersReused";
+    static final String REACHABLE_CLASSES = "reachableClasses";
+    static final String PRUNED_CLASSES = "prunedClasses";
+    static final String NON_EXPORTED_CLASSES = "nonExportedClasses";
+
+    private final String projectPath;
+    private final File metricsFile;
+    private final ConcurrentMap<String, Long> phaseMillis = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> counters = new ConcurrentHashMap<>();
+
+    AnalysisMetrics(String projectPath, File metricsFile) {
+        this.projectPath = projectPath;
+        this.metricsFile = metricsFile;
+    }
+
+    Span span(String phase) {
+        long start = System.nanoTime();
+        return () -> addPhaseNanos(phase, System.nanoTime() - start);
+    }
+
+    void addPhaseNanos(String phase, long nanos) {
+        phaseMillis.merge(phase, TimeUnit.NANOSECONDS.toMillis(nanos), Long::sum);
+    }
+
+    void increment(String counter, long by) {
+        counters.merge(counter, by, Long::sum);
+    }
+
+    File metricsFile() {
+        return metricsFile;
+    }
+
+    @JsonProperty("project")
+    String projectPath() {
+        return projectPath;
+    }
+
+    @JsonProperty("phaseMillis")
+    SortedMap<String, Long> phaseMillis() {
+        return new TreeMap<>(phaseMillis);
+    }
+
+    @JsonProperty("counters")
+    SortedMap<String, Long> counters() {
+        return new TreeMap<>(counters);
+    }
+
+    static String differencesSuppressed(String extensionId) {
+        return "differencesSuppressed." + extensionId;
+    }
+
+    static String elementsExcluded(String extensionId) {
+        return "elementsExcluded." + extensionId;
+    }
+
+    static void sumInto(Map<String, Long> totals, Map<String, Long> values) {
+        values.forEach((key, value) -> totals.merge(key, value, Long::sum));
+    }
+
+    /** Measures a phase from its creation until it is closed. */
+    interface Span extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /** Implemented by our revapi extensions to contribute what they counted once an analysis has finished. */
+    interface Source {
+        void contributeTo(AnalysisMetrics metrics);
+    }
+}
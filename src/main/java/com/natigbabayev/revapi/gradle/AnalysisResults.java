@@ -16,12 +16,15 @@
 
 package com.natigbabayev.revapi.gradle;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.json.JsonReadFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.immutables.value.Value;
@@ -45,6 +48,68 @@ public abstract class AnalysisResults {
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * The archive names of the results in {@code file} if there are no results, without reading the whole file into
+     * an {@link AnalysisResults}. Empty when there are results.
+     */
+    static Optional<String> archiveNamesIfNoResults(File file) {
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(file)) {
+            String archiveNames = "";
+            boolean noResults = false;
+
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (field.equals("archiveNames")) {
+                    archiveNames = parser.getText();
+                } else if (field.equals("results")) {
+                    if (value != JsonToken.START_ARRAY || parser.nextToken() != JsonToken.END_ARRAY) {
+                        return Optional.empty();
+                    }
+                    noResults = true;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            return noResults ? Optional.of(archiveNames) : Optional.empty();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Reads the results in {@code file} one at a time, handing each to {@code consumer} rather than keeping them all,
+     * and returns the archive names.
+     */
+    static String forEachResult(File file, ResultConsumer consumer) throws IOException {
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(file)) {
+            String archiveNames = "";
+
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if (field.equals("archiveNames")) {
+                    archiveNames = parser.getText();
+                } else if (field.equals("results")) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        consumer.accept(parser.readValueAs(AnalysisResult.class));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            return archiveNames;
+        }
+    }
+
+    interface ResultConsumer {
+        void accept(AnalysisResult result) throws IOException;
+    }
+
     public static AnalysisResults fromFile(File file) {
         try {
             return OBJECT_MAPPER.readValue(file, AnalysisResults.class);
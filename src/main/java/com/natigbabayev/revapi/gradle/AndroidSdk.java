@@ -0,0 +1,70 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import org.gradle.api.Project;
+import org.gradle.api.file.FileCollection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The Android platform an Android project compiles against. Its {@code android.jar} isn't on any configuration, but
+ * the api of an Android library is built on it like on any other dependency, so it has to be among the support jars.
+ */
+final class AndroidSdk {
+    private static final Logger log = LoggerFactory.getLogger(AndroidSdk.class);
+
+    private AndroidSdk() {}
+
+    /**
+     * The boot classpath of the {@code android} extension, holding {@code android.jar}, or nothing for other projects.
+     * Only looked up when the files are needed, by which time the Android plugin has configured its sdk. The Android
+     * plugin isn't on this plugin's classpath, so it is called reflectively.
+     */
+    static FileCollection bootClasspath(Project project) {
+        return project.files(project.provider(() -> {
+            Object android = project.getExtensions().findByName("android");
+            if (android == null) {
+                return Collections.<File>emptyList();
+            }
+
+            try {
+                @SuppressWarnings("unchecked")
+                List<File> bootClasspath =
+                        (List<File>) android.getClass().getMethod("getBootClasspath").invoke(android);
+                return bootClasspath;
+            } catch (ReflectiveOperationException e) {
+                log.warn("Could not find the Android platform jars of {}, so they won't be analysed against",
+                        project, e);
+                return Collections.<File>emptyList();
+            }
+        }));
+    }
+
+    /** Whether {@code jar} is part of a platform in an Android sdk, in {@code platforms/android-<api level>/}. */
+    static boolean isPlatformJar(File jar) {
+        for (File dir = jar.getParentFile(); dir != null && dir.getParentFile() != null; dir = dir.getParentFile()) {
+            if (dir.getName().startsWith("android-") && dir.getParentFile().getName().equals("platforms")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import org.gradle.api.Action;
+import org.gradle.api.DomainObjectCollection;
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.component.ProjectComponentIdentifier;
+import org.gradle.api.artifacts.type.ArtifactTypeDefinition;
+import org.gradle.api.file.FileCollection;
+
+/**
+ * The variants of an Android library, like {@code release} or {@code freeRelease}, each of which is published with its
+ * own api. The Android plugin isn't on this plugin's classpath, so its extension is called reflectively, and the jars
+ * of each variant are found through the configurations it creates for the variant.
+ */
+final class AndroidVariants {
+    static final String LIBRARY_PLUGIN = "com.android.library";
+
+    // What the Android plugin calls the jars of the classes of other Android and java projects
+    private static final String CLASSES_JAR_TYPE = "android-classes-jar";
+
+    private AndroidVariants() {}
+
+    static boolean isLibrary(Project project) {
+        return project.getPlugins().hasPlugin(LIBRARY_PLUGIN);
+    }
+
+    /**
+     * Calls {@code action} with the name of each variant of the library, including those added later, other than the
+     * debuggable ones, like {@code debug}, which are built for development rather than published.
+     */
+    static void all(Project project, Action<String> action) {
+        Object android = project.getExtensions().getByName("android");
+        try {
+            DomainObjectCollection<?> variants =
+                    (DomainObjectCollection<?>) android.getClass().getMethod("getLibraryVariants").invoke(android);
+            variants.all(variant -> {
+                if (!isDebuggable(variant)) {
+                    action.execute(nameOf(variant));
+                }
+            });
+        } catch (ReflectiveOperationException e) {
+            throw new GradleException("Could not find the variants of the Android library " + project.getPath(), e);
+        }
+    }
+
+    /** The aar the variant publishes, as jars, see {@link AarClassesTransform}. */
+    static FileCollection apiJars(Project project, String variant) {
+        return AarClassesTransform.jarsOf(
+                project,
+                project.getConfigurations()
+                        .getByName(variant + "RuntimeElements")
+                        .getOutgoing()
+                        .getArtifacts()
+                        .getFiles());
+    }
+
+    /**
+     * The jars the variant compiles against, apart from those among {@code apiJars}. Other projects are analysed
+     * against their classes jars, while the apis of external dependencies are all that is needed of them.
+     */
+    static FileCollection dependencyJars(Project project, String variant, FileCollection apiJars) {
+        Configuration compileClasspath = project.getConfigurations().getByName(variant + "CompileClasspath");
+        FileCollection externalDependencies = ApiModelTransform.apiModelsOf(
+                compileClasspath, ci -> !(ci instanceof ProjectComponentIdentifier));
+        FileCollection projectDependencies = compileClasspath
+                .getIncoming()
+                .artifactView(vc -> vc.componentFilter(ci -> ci instanceof ProjectComponentIdentifier)
+                        .attributes(attrs ->
+                                attrs.attribute(ArtifactTypeDefinition.ARTIFACT_TYPE_ATTRIBUTE, CLASSES_JAR_TYPE)))
+                .getFiles();
+        return externalDependencies.plus(projectDependencies.minus(apiJars));
+    }
+
+    /** What the names of the variant's tasks end with, like {@code FreeRelease} for {@code freeRelease}. */
+    static String taskSuffix(String variant) {
+        return Character.toUpperCase(variant.charAt(0)) + variant.substring(1);
+    }
+
+    private static boolean isDebuggable(Object variant) {
+        try {
+            Object buildType = variant.getClass().getMethod("getBuildType").invoke(variant);
+            return (Boolean) buildType.getClass().getMethod("isDebuggable").invoke(buildType);
+        } catch (ReflectiveOperationException e) {
+            throw new GradleException("Could not find the build type of the Android variant " + variant, e);
+        }
+    }
+
+    private static String nameOf(Object variant) {
+        try {
+            return (String) variant.getClass().getMethod("getName").invoke(variant);
+        } catch (ReflectiveOperationException e) {
+            throw new GradleException("Could not find the name of the Android variant " + variant, e);
+        }
+    }
+}
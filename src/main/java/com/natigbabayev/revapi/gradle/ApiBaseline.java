@@ -0,0 +1,469 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import org.immutables.value.Value;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AnnotationNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.tree.InnerClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.revapi.Archive;
+import com.natigbabayev.revapi.gradle.ApiReachability.ClassIndex;
+
+/**
+ * The signatures of an api, kept in a sorted json file that is small enough to commit and diffs well, so that the api
+ * can be compared against without resolving and reading the jars it came from.
+ *
+ * <p>It holds every public class in the api's jars, along with the classes, from those jars or their dependencies, that
+ * revapi needs to make sense of them: their superclasses, and the types their public and protected members use. Of
+ * each class, only what revapi compares is kept: its public and protected members' signatures, annotations and
+ * constant values. To analyse against it, those classes are written back out as class files without any code, into
+ * in memory jars.
+ */
+final class ApiBaseline {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+    private static final int FORMAT_VERSION = 1;
+    private static final String DEPENDENCIES = "dependencies";
+
+    private ApiBaseline() {}
+
+    /** Writes the baseline of the api in {@code apiJars}, which depend on {@code dependencyJars}, to {@code file}. */
+    static void write(List<File> apiJars, List<File> dependencyJars, File file) throws IOException {
+        // archive name -> class name -> class, sorted so the file only changes where the api does
+        Map<String, Map<String, ObjectNode>> archives = new TreeMap<>();
+        try (ClassIndex apiClasses = ClassIndex.of(apiJars);
+                ClassIndex dependencyClasses = ClassIndex.of(dependencyJars)) {
+            Set<String> reachable =
+                    ApiReachability.reachableFrom(apiClasses.publicClassNames(), apiClasses, dependencyClasses);
+            for (String className : reachable) {
+                boolean isApiClass = apiClasses.contains(className);
+                ClassIndex index = isApiClass ? apiClasses : dependencyClasses;
+                String archiveName = isApiClass ? index.archiveName(className) : DEPENDENCIES;
+                archives.computeIfAbsent(archiveName, _name -> new TreeMap<>())
+                        .put(className, toJson(index.read(className)));
+            }
+        }
+
+        Set<String> included = archives.values().stream()
+                .flatMap(classes -> classes.keySet().stream())
+                .collect(Collectors.toSet());
+
+        ObjectNode baseline = NODES.objectNode();
+        baseline.put("formatVersion", FORMAT_VERSION);
+        ObjectNode archivesNode = baseline.putObject("archives");
+        archives.forEach((archiveName, classes) -> {
+            ArrayNode classesNode = archivesNode.putArray(archiveName);
+            classes.values().forEach(classNode -> {
+                removeInnerClassesNotIn(classNode, included);
+                classesNode.add(classNode);
+            });
+        });
+
+        file.getParentFile().mkdirs();
+        OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(file, baseline);
+    }
+
+    /** The api in {@code file}, as the archives it came from and an archive of what they depend on. */
+    static Contents read(File file) throws IOException {
+        JsonNode baseline = OBJECT_MAPPER.readTree(file);
+        if (baseline.path("formatVersion").asInt() != FORMAT_VERSION) {
+            throw new IllegalStateException("The api baseline " + file + " was written by a different version of "
+                    + "this plugin. Run the " + RevapiWriteBaselineTask.NAME + " task on the release it is of to "
+                    + "write it again.");
+        }
+
+        Contents.Builder contents = Contents.builder();
+        Iterator<Map.Entry<String, JsonNode>> archives = baseline.path("archives").fields();
+        while (archives.hasNext()) {
+            Map.Entry<String, JsonNode> archive = archives.next();
+            Archive jar = ArchiveCache.inMemory(archive.getKey(), toJar(archive.getValue()));
+            if (archive.getKey().equals(DEPENDENCIES)) {
+                contents.addDependencyArchives(jar);
+            } else {
+                contents.addApiArchives(jar);
+            }
+        }
+        return contents.build();
+    }
+
+    @Value.Immutable
+    @ImmutableStyle
+    interface Contents {
+        List<Archive> apiArchives();
+
+        List<Archive> dependencyArchives();
+
+        default Set<String> apiArchiveNames() {
+            return apiArchives().stream().map(Archive::getName).collect(Collectors.toCollection(TreeSet::new));
+        }
+
+        class Builder extends ImmutableContents.Builder {}
+
+        static Builder builder() {
+            return new Builder();
+        }
+    }
+
+    private static byte[] toJar(JsonNode classes) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JarOutputStream jar = new JarOutputStream(bytes)) {
+            for (JsonNode classJson : classes) {
+                ClassNode classNode = fromJson(classJson);
+                ClassWriter classWriter = new ClassWriter(0);
+                classNode.accept(classWriter);
+
+                jar.putNextEntry(new JarEntry(classNode.name + ".class"));
+                jar.write(classWriter.toByteArray());
+                jar.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ObjectNode toJson(ClassNode classNode) {
+        ObjectNode json = NODES.objectNode();
+        json.put("name", classNode.name);
+        json.put("access", classNode.access);
+        json.put("version", classNode.version);
+        putIfPresent(json, "signature", classNode.signature);
+        putIfPresent(json, "superName", classNode.superName);
+        putStrings(json, "interfaces", classNode.interfaces);
+        putAnnotations(json, "annotations", classNode.visibleAnnotations);
+        putAnnotations(json, "invisibleAnnotations", classNode.invisibleAnnotations);
+
+        if (!classNode.innerClasses.isEmpty()) {
+            ArrayNode innerClasses = json.putArray("innerClasses");
+            for (InnerClassNode innerClass : classNode.innerClasses) {
+                ObjectNode innerClassJson = innerClasses.addObject();
+                innerClassJson.put("name", innerClass.name);
+                putIfPresent(innerClassJson, "outerName", innerClass.outerName);
+                putIfPresent(innerClassJson, "innerName", innerClass.innerName);
+                innerClassJson.put("access", innerClass.access);
+            }
+        }
+
+        List<FieldNode> fields = classNode.fields.stream()
+                .filter(field -> ApiReachability.isVisibleMember(field.access))
+                .sorted(Comparator.comparing(field -> field.name))
+                .collect(Collectors.toList());
+        if (!fields.isEmpty()) {
+            ArrayNode fieldsJson = json.putArray("fields");
+            for (FieldNode field : fields) {
+                ObjectNode fieldJson = fieldsJson.addObject();
+                fieldJson.put("name", field.name);
+                fieldJson.put("desc", field.desc);
+                fieldJson.put("access", field.access);
+                putIfPresent(fieldJson, "signature", field.signature);
+                if (field.value != null) {
+                    fieldJson.set("value", AnnotationValues.toJson(field.value));
+                }
+                putAnnotations(fieldJson, "annotations", field.visibleAnnotations);
+                putAnnotations(fieldJson, "invisibleAnnotations", field.invisibleAnnotations);
+            }
+        }
+
+        List<MethodNode> methods = classNode.methods.stream()
+                .filter(method -> ApiReachability.isVisibleMember(method.access))
+                .sorted(Comparator.<MethodNode, String>comparing(method -> method.name)
+                        .thenComparing(method -> method.desc))
+                .collect(Collectors.toList());
+        if (!methods.isEmpty()) {
+            ArrayNode methodsJson = json.putArray("methods");
+            for (MethodNode method : methods) {
+                ObjectNode methodJson = methodsJson.addObject();
+                methodJson.put("name", method.name);
+                methodJson.put("desc", method.desc);
+                methodJson.put("access", method.access);
+                putIfPresent(methodJson, "signature", method.signature);
+                putStrings(methodJson, "exceptions", method.exceptions);
+                putAnnotations(methodJson, "annotations", method.visibleAnnotations);
+                putAnnotations(methodJson, "invisibleAnnotations", method.invisibleAnnotations);
+                putParameterAnnotations(methodJson, "parameterAnnotations", method.visibleParameterAnnotations);
+                putParameterAnnotations(
+                        methodJson, "invisibleParameterAnnotations", method.invisibleParameterAnnotations);
+                if (method.annotationDefault != null) {
+                    methodJson.set("annotationDefault", AnnotationValues.toJson(method.annotationDefault));
+                }
+            }
+        }
+
+        return json;
+    }
+
+    private static ClassNode fromJson(JsonNode json) {
+        ClassNode classNode = new ClassNode();
+        classNode.name = json.get("name").asText();
+        classNode.access = json.get("access").asInt();
+        classNode.version = json.get("version").asInt();
+        classNode.signature = textOrNull(json, "signature");
+        classNode.superName = textOrNull(json, "superName");
+        classNode.interfaces = strings(json, "interfaces");
+        classNode.visibleAnnotations = annotations(json, "annotations");
+        classNode.invisibleAnnotations = annotations(json, "invisibleAnnotations");
+
+        for (JsonNode innerClass : json.path("innerClasses")) {
+            classNode.innerClasses.add(new InnerClassNode(
+                    innerClass.get("name").asText(),
+                    textOrNull(innerClass, "outerName"),
+                    textOrNull(innerClass, "innerName"),
+                    innerClass.get("access").asInt()));
+        }
+
+        for (JsonNode fieldJson : json.path("fields")) {
+            FieldNode field = new FieldNode(
+                    fieldJson.get("access").asInt(),
+                    fieldJson.get("name").asText(),
+                    fieldJson.get("desc").asText(),
+                    textOrNull(fieldJson, "signature"),
+                    fieldJson.has("value") ? AnnotationValues.fromJson(fieldJson.get("value")) : null);
+            field.visibleAnnotations = annotations(fieldJson, "annotations");
+            field.invisibleAnnotations = annotations(fieldJson, "invisibleAnnotations");
+            classNode.fields.add(field);
+        }
+
+        for (JsonNode methodJson : json.path("methods")) {
+            List<String> exceptions = strings(methodJson, "exceptions");
+            MethodNode method = new MethodNode(
+                    methodJson.get("access").asInt(),
+                    methodJson.get("name").asText(),
+                    methodJson.get("desc").asText(),
+                    textOrNull(methodJson, "signature"),
+                    exceptions.toArray(new String[0]));
+            method.visibleAnnotations = annotations(methodJson, "annotations");
+            method.invisibleAnnotations = annotations(methodJson, "invisibleAnnotations");
+            method.visibleParameterAnnotations = parameterAnnotations(methodJson, "parameterAnnotations");
+            if (method.visibleParameterAnnotations != null) {
+                method.visibleAnnotableParameterCount = method.visibleParameterAnnotations.length;
+            }
+            method.invisibleParameterAnnotations = parameterAnnotations(methodJson, "invisibleParameterAnnotations");
+            if (method.invisibleParameterAnnotations != null) {
+                method.invisibleAnnotableParameterCount = method.invisibleParameterAnnotations.length;
+            }
+            if (methodJson.has("annotationDefault")) {
+                method.annotationDefault = AnnotationValues.fromJson(methodJson.get("annotationDefault"));
+            }
+            classNode.methods.add(method);
+        }
+
+        return classNode;
+    }
+
+    private static void removeInnerClassesNotIn(ObjectNode classJson, Set<String> included) {
+        JsonNode innerClasses = classJson.path("innerClasses");
+        for (Iterator<JsonNode> it = innerClasses.elements(); it.hasNext(); ) {
+            if (!included.contains(it.next().get("name").asText())) {
+                it.remove();
+            }
+        }
+        if (innerClasses.isArray() && innerClasses.size() == 0) {
+            classJson.remove("innerClasses");
+        }
+    }
+
+    private static void putIfPresent(ObjectNode json, String field, String value) {
+        if (value != null) {
+            json.put(field, value);
+        }
+    }
+
+    private static void putStrings(ObjectNode json, String field, List<String> values) {
+        if (values != null && !values.isEmpty()) {
+            ArrayNode array = json.putArray(field);
+            values.forEach(array::add);
+        }
+    }
+
+    private static void putAnnotations(ObjectNode json, String field, List<AnnotationNode> annotations) {
+        if (annotations != null && !annotations.isEmpty()) {
+            ArrayNode array = json.putArray(field);
+            annotations.forEach(annotation -> array.add(AnnotationValues.toJson(annotation)));
+        }
+    }
+
+    private static void putParameterAnnotations(
+            ObjectNode json, String field, List<AnnotationNode>[] parameterAnnotations) {
+        if (parameterAnnotations == null) {
+            return;
+        }
+        ArrayNode parameters = json.putArray(field);
+        for (List<AnnotationNode> annotations : parameterAnnotations) {
+            ArrayNode array = parameters.addArray();
+            if (annotations != null) {
+                annotations.forEach(annotation -> array.add(AnnotationValues.toJson(annotation)));
+            }
+        }
+    }
+
+    private static String textOrNull(JsonNode json, String field) {
+        JsonNode value = json.get(field);
+        return value == null ? null : value.asText();
+    }
+
+    private static List<String> strings(JsonNode json, String field) {
+        List<String> values = new ArrayList<>();
+        json.path(field).forEach(value -> values.add(value.asText()));
+        return values;
+    }
+
+    private static List<AnnotationNode> annotations(JsonNode json, String field) {
+        if (!json.has(field)) {
+            return null;
+        }
+        List<AnnotationNode> annotations = new ArrayList<>();
+        json.get(field).forEach(annotation -> annotations.add(AnnotationValues.annotationFromJson(annotation)));
+        return annotations;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<AnnotationNode>[] parameterAnnotations(JsonNode json, String field) {
+        if (!json.has(field)) {
+            return null;
+        }
+        JsonNode parameters = json.get(field);
+        List<AnnotationNode>[] annotations = new List[parameters.size()];
+        for (int i = 0; i < parameters.size(); i++) {
+            List<AnnotationNode> parameter = new ArrayList<>();
+            parameters.get(i).forEach(annotation -> parameter.add(AnnotationValues.annotationFromJson(annotation)));
+            annotations[i] = parameter;
+        }
+        return annotations;
+    }
+
+    /**
+     * Annotation values and constant field values, as json. Strings, ints and booleans are written as themselves, the
+     * rest as objects saying what they are, eg {@code {"J": 1}} for a long.
+     */
+    private static final class AnnotationValues {
+        private AnnotationValues() {}
+
+        static ObjectNode toJson(AnnotationNode annotation) {
+            ObjectNode json = NODES.objectNode();
+            json.put("desc", annotation.desc);
+            if (annotation.values != null) {
+                ObjectNode values = json.putObject("values");
+                for (int i = 0; i < annotation.values.size(); i += 2) {
+                    values.set((String) annotation.values.get(i), toJson(annotation.values.get(i + 1)));
+                }
+            }
+            return json;
+        }
+
+        static AnnotationNode annotationFromJson(JsonNode json) {
+            AnnotationNode annotation = new AnnotationNode(json.get("desc").asText());
+            Iterator<Map.Entry<String, JsonNode>> values = json.path("values").fields();
+            while (values.hasNext()) {
+                Map.Entry<String, JsonNode> value = values.next();
+                if (annotation.values == null) {
+                    annotation.values = new ArrayList<>();
+                }
+                annotation.values.add(value.getKey());
+                annotation.values.add(fromJson(value.getValue()));
+            }
+            return annotation;
+        }
+
+        static JsonNode toJson(Object value) {
+            if (value instanceof String) {
+                return NODES.textNode((String) value);
+            } else if (value instanceof Integer) {
+                return NODES.numberNode((Integer) value);
+            } else if (value instanceof Boolean) {
+                return NODES.booleanNode((Boolean) value);
+            } else if (value instanceof Long) {
+                return NODES.objectNode().put("J", (Long) value);
+            } else if (value instanceof Byte) {
+                return NODES.objectNode().put("B", (Byte) value);
+            } else if (value instanceof Short) {
+                return NODES.objectNode().put("S", (Short) value);
+            } else if (value instanceof Character) {
+                return NODES.objectNode().put("C", value.toString());
+            } else if (value instanceof Float) {
+                return NODES.objectNode().put("F", (Float) value);
+            } else if (value instanceof Double) {
+                return NODES.objectNode().put("D", (Double) value);
+            } else if (value instanceof Type) {
+                return NODES.objectNode().put("class", ((Type) value).getDescriptor());
+            } else if (value instanceof String[]) {
+                String[] enumValue = (String[]) value;
+                return NODES.objectNode().put("enum", enumValue[0]).put("value", enumValue[1]);
+            } else if (value instanceof AnnotationNode) {
+                return NODES.objectNode().set("annotation", toJson((AnnotationNode) value));
+            } else if (value instanceof List) {
+                ArrayNode array = NODES.arrayNode();
+                ((List<?>) value).forEach(element -> array.add(toJson(element)));
+                return array;
+            }
+            throw new IllegalArgumentException("Unexpected annotation value " + value + " of " + value.getClass());
+        }
+
+        static Object fromJson(JsonNode json) {
+            if (json.isTextual()) {
+                return json.asText();
+            } else if (json.isInt()) {
+                return json.asInt();
+            } else if (json.isBoolean()) {
+                return json.asBoolean();
+            } else if (json.isArray()) {
+                List<Object> values = new ArrayList<>();
+                json.forEach(element -> values.add(fromJson(element)));
+                return values;
+            } else if (json.has("J")) {
+                return json.get("J").asLong();
+            } else if (json.has("B")) {
+                return (byte) json.get("B").asInt();
+            } else if (json.has("S")) {
+                return (short) json.get("S").asInt();
+            } else if (json.has("C")) {
+                return json.get("C").asText().charAt(0);
+            } else if (json.has("F")) {
+                return (float) json.get("F").asDouble();
+            } else if (json.has("D")) {
+                return json.get("D").asDouble();
+            } else if (json.has("class")) {
+                return Type.getType(json.get("class").asText());
+            } else if (json.has("enum")) {
+                return new String[] {json.get("enum").asText(), json.get("value").asText()};
+            } else if (json.has("annotation")) {
+                return annotationFromJson(json.get("annotation"));
+            }
+            throw new IllegalArgumentException("Unexpected annotation value " + json);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import java.io.Reader;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import org.jboss.dmr.ModelNode;
+import org.revapi.AnalysisContext;
+import org.revapi.ElementFilter;
+import org.revapi.java.spi.JavaTypeElement;
+
+/**
+ * Applies the {@link ApiFilters} from {@link RevapiExtension} to types. Packages and classes are looked up in a
+ * {@link PackagePrefixTrie}, and revapi is told not to descend into excluded types at all, so nothing nested inside
+ * an excluded package or class is compared.
+ */
+public final class ApiElementFilter implements ElementFilter, AnalysisMetrics.Source {
+    public static final String EXTENSION_ID = "gradle-revapi.api.filter";
+
+    private boolean enabled = false;
+    private PackagePrefixTrie packagePrefixTrie;
+    private Set<String> excludeAnnotatedWith;
+    private final Map<String, Boolean> excludedByPackageAnnotation = new HashMap<>();
+    private long excluded = 0;
+
+    static RevapiConfig configFor(ApiFilters apiFilters) {
+        if (apiFilters.isEmpty()) {
+            return RevapiConfig.empty();
+        }
+
+        return RevapiConfig.empty().withExtension(EXTENSION_ID, RevapiConfig.toJsonNode(apiFilters));
+    }
+
+    @Override
+    public String getExtensionId() {
+        return EXTENSION_ID;
+    }
+
+    @Override
+    public void initialize(@Nonnull AnalysisContext analysisContext) {
+        ModelNode configuration = analysisContext.getConfiguration();
+        this.enabled = configuration.isDefined();
+
+        if (!enabled) {
+            return;
+        }
+
+        this.packagePrefixTrie =
+                PackagePrefixTrie.of(strings(configuration, "include"), strings(configuration, "exclude"));
+        this.excludeAnnotatedWith = strings(configuration, "excludeAnnotatedWith");
+    }
+
+    @Override
+    public boolean applies(@Nullable org.revapi.Element element) {
+        if (!enabled || !(element instanceof JavaTypeElement)) {
+            return true;
+        }
+
+        TypeElement typeElement = ((JavaTypeElement) element).getDeclaringElement();
+        if (packagePrefixTrie.isIncluded(typeElement.getQualifiedName().toString())
+                && !excludedByAnnotation(typeElement)) {
+            return true;
+        }
+
+        excluded++;
+        return false;
+    }
+
+    @Override
+    public boolean shouldDescendInto(@Nullable Object element) {
+        if (!enabled || !(element instanceof JavaTypeElement)) {
+            return true;
+        }
+
+        TypeElement typeElement = ((JavaTypeElement) element).getDeclaringElement();
+        return !packagePrefixTrie.isSubtreeExcluded(typeElement.getQualifiedName().toString())
+                && !excludedByAnnotation(typeElement);
+    }
+
+    private boolean excludedByAnnotation(TypeElement typeElement) {
+        if (excludeAnnotatedWith.isEmpty()) {
+            return false;
+        }
+
+        Element current = typeElement;
+        while (current instanceof TypeElement) {
+            if (hasExcludedAnnotation(current)) {
+                return true;
+            }
+            current = current.getEnclosingElement();
+        }
+
+        if (!(current instanceof PackageElement)) {
+            return false;
+        }
+
+        Element packageElement = current;
+        return excludedByPackageAnnotation.computeIfAbsent(
+                ((PackageElement) packageElement).getQualifiedName().toString(),
+                _packageName -> hasExcludedAnnotation(packageElement));
+    }
+
+    private boolean hasExcludedAnnotation(Element element) {
+        for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+            String annotationName = ((TypeElement) annotationMirror.getAnnotationType().asElement())
+                    .getQualifiedName()
+                    .toString();
+            if (excludeAnnotatedWith.contains(annotationName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> strings(ModelNode configuration, String key) {
+        if (!configuration.has(key) || !configuration.get(key).isDefined()) {
+            return Collections.emptySet();
+        }
+
+        return configuration.get(key).asList().stream().map(ModelNode::asString).collect(Collectors.toSet());
+    }
+
+    @Override
+    public void contributeTo(AnalysisMetrics metrics) {
+        metrics.increment(AnalysisMetrics.elementsExcluded(EXTENSION_ID), excluded);
+    }
+
+    @Nullable
+    @Override
+    public Reader getJSONSchema() {
+        return null;
+    }
+
+    @Override
+    public void close() {
+        excludedByPackageAnnotation.clear();
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import org.immutables.serial.Serial;
+import org.immutables.value.Value;
+
+/** The package, class and annotation filters declared on {@link RevapiExtension}, in the form revapi is given them. */
+@Value.Immutable
+@ImmutableStyle
+@Serial.Structural
+public interface ApiFilters {
+    /** Packages or classes (and everything nested in them) to analyse; when empty, everything is analysed. */
+    @JsonProperty("include")
+    List<String> include();
+
+    /** Packages or classes (and everything nested in them) not to analyse. */
+    @JsonProperty("exclude")
+    List<String> exclude();
+
+    /** Annotations which exclude the type, or every type in the package, they are placed on. */
+    @JsonProperty("excludeAnnotatedWith")
+    List<String> excludeAnnotatedWith();
+
+    @JsonIgnore
+    default boolean isEmpty() {
+        return include().isEmpty() && exclude().isEmpty() && excludeAnnotatedWith().isEmpty();
+    }
+
+    class Builder extends ImmutableApiFilters.Builder {}
+
+    static Builder builder() {
+        return new Builder();
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Enumeration;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.transform.CacheableTransform;
+import org.gradle.api.artifacts.transform.InputArtifact;
+import org.gradle.api.artifacts.transform.TransformAction;
+import org.gradle.api.artifacts.transform.TransformOutputs;
+import org.gradle.api.artifacts.transform.TransformParameters;
+import org.gradle.api.artifacts.type.ArtifactTypeDefinition;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.FileSystemLocation;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.specs.Spec;
+import org.gradle.api.tasks.Classpath;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+
+/**
+ * Turns a jar into the model of its api that revapi reads: the same classes, members, signatures and annotations, but
+ * without any code, debug information or resources. Gradle caches the results of transforms across projects and
+ * builds by the contents of the jar, so a given version of a dependency only has to be read in full once per machine,
+ * and every analysis after that reads a much smaller jar.
+ *
+ * <p>Private members are kept, as revapi uses them to tell, for example, whether a class can be subclassed.
+ */
+@CacheableTransform
+public abstract class ApiModelTransform implements TransformAction<TransformParameters.None> {
+    static final String ARTIFACT_TYPE = "revapi-api-model";
+
+    @InputArtifact
+    @Classpath
+    public abstract Provider<FileSystemLocation> getInputArtifact();
+
+    @Override
+    public final void transform(TransformOutputs outputs) {
+        File jar = getInputArtifact().get().getAsFile();
+        if (!jar.isFile()) {
+            return;
+        }
+
+        // Keeps the name of the jar, as that is what breaks are reported against
+        File model = outputs.file(jar.getName());
+        try {
+            writeApiModel(jar, model);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the api model of " + jar, e);
+        }
+    }
+
+    /** Along with the {@link AarClassesTransform}, so that the jars in aars are modelled too. */
+    static void registerOn(Project project) {
+        AarClassesTransform.registerOn(project);
+        for (String fromType : ImmutableList.of(ArtifactTypeDefinition.JAR_TYPE, AarClassesTransform.ARTIFACT_TYPE)) {
+            project.getDependencies().registerTransform(ApiModelTransform.class, spec -> {
+                spec.getFrom().attribute(ArtifactTypeDefinition.ARTIFACT_TYPE_ATTRIBUTE, fromType);
+                spec.getTo().attribute(ArtifactTypeDefinition.ARTIFACT_TYPE_ATTRIBUTE, ARTIFACT_TYPE);
+            });
+        }
+    }
+
+    /** The api models of the jars in the configuration from the matching components, once registered on its project. */
+    static FileCollection apiModelsOf(Configuration configuration, Spec<ComponentIdentifier> components) {
+        return configuration
+                .getIncoming()
+                .artifactView(view -> {
+                    view.componentFilter(components);
+                    view.attributes(attrs -> attrs.attribute(
+                            ArtifactTypeDefinition.ARTIFACT_TYPE_ATTRIBUTE, ARTIFACT_TYPE));
+                })
+                .getFiles();
+    }
+
+    static void writeApiModel(File jar, File model) throws IOException {
+        try (JarFile jarFile = new JarFile(jar);
+                JarOutputStream modelJar = new JarOutputStream(new FileOutputStream(model))) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                boolean isClass = entry.getName().endsWith(".class");
+                if (!isClass && !entry.getName().equals(JarFile.MANIFEST_NAME)) {
+                    continue;
+                }
+
+                byte[] contents;
+                try (InputStream inputStream = jarFile.getInputStream(entry)) {
+                    contents = ByteStreams.toByteArray(inputStream);
+                }
+
+                modelJar.putNextEntry(new JarEntry(entry.getName()));
+                modelJar.write(isClass ? withoutCode(contents) : contents);
+                modelJar.closeEntry();
+            }
+        }
+    }
+
+    private static byte[] withoutCode(byte[] classFile) {
+        ClassWriter classWriter = new ClassWriter(0);
+        new ClassReader(classFile)
+                .accept(classWriter, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        return classWriter.toByteArray();
+    }
+}
@@ -0,0 +1,510 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import org.immutables.value.Value;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.signature.SignatureReader;
+import org.objectweb.asm.signature.SignatureVisitor;
+import org.objectweb.asm.tree.AnnotationNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.InnerClassNode;
+import org.revapi.API;
+import org.revapi.Archive;
+
+/**
+ * Finds the classes that make up an api: its public classes, and every class, from its jars or their dependencies,
+ * reachable from their signatures and those of their public and protected members. Revapi only compares those, but
+ * otherwise reads and models every class on the classpath, which for jars with large implementations behind small
+ * apis is most of the work of an analysis.
+ *
+ * <p>For modular jars, only the packages they export, see {@link ExportedPackages}, can be part of the api. Classes in
+ * other packages are handed to revapi as if they came from a dependency, so they are only compared where the exported
+ * classes expose them.
+ */
+final class ApiReachability {
+    private static final int MEMBER_VISIBILITY = Opcodes.ACC_PUBLIC | Opcodes.ACC_PROTECTED;
+
+    private ApiReachability() {}
+
+    /**
+     * The old and new apis, each with only the classes reachable from the public classes of either api that
+     * {@code isRoot} accepts, when {@link AnalysisInputs#pruneUnreachableClasses()}, and with the classes of packages
+     * their jars don't export moved out of the api, when {@link AnalysisInputs#exportedPackagesOnly()}. The roots are
+     * the same for both, so that a class made non-public is still compared rather than looking like it was removed.
+     */
+    static PrunedApis prune(AnalysisInputs inputs, Predicate<String> isRoot) throws IOException {
+        boolean exportedOnly = inputs.exportedPackagesOnly();
+        Optional<Integer> release = inputs.targetRelease();
+        try (ClassIndex oldApiClasses = ClassIndex.of(inputs.oldApiJars(), release);
+                ClassIndex oldDependencyClasses = ClassIndex.of(inputs.oldApiDependencyJars(), release);
+                ClassIndex newApiClasses = ClassIndex.of(inputs.newApiJars(), release);
+                ClassIndex newDependencyClasses = ClassIndex.of(inputs.newApiDependencyJars(), release)) {
+
+            Set<String> roots = new TreeSet<>();
+            roots.addAll(rootsIn(oldApiClasses, exportedOnly));
+            roots.addAll(rootsIn(newApiClasses, exportedOnly));
+            roots.removeIf(className -> !isRoot.test(className.replace('/', '.')));
+
+            Set<String> oldKept = inputs.pruneUnreachableClasses()
+                    ? reachableFrom(roots, oldApiClasses, oldDependencyClasses)
+                    : allClassNames(oldApiClasses, oldDependencyClasses);
+            Set<String> newKept = inputs.pruneUnreachableClasses()
+                    ? reachableFrom(roots, newApiClasses, newDependencyClasses)
+                    : allClassNames(newApiClasses, newDependencyClasses);
+
+            return PrunedApis.builder()
+                    .oldApi(api(oldApiClasses, oldDependencyClasses, oldKept, exportedOnly))
+                    .newApi(api(newApiClasses, newDependencyClasses, newKept, exportedOnly))
+                    .classes(oldApiClasses.size()
+                            + oldDependencyClasses.size()
+                            + newApiClasses.size()
+                            + newDependencyClasses.size())
+                    .reachableClasses(oldKept.size() + newKept.size())
+                    .nonExportedClasses(exportedOnly
+                            ? nonExportedCount(oldApiClasses, oldKept) + nonExportedCount(newApiClasses, newKept)
+                            : 0)
+                    .build();
+        }
+    }
+
+    private static Set<String> rootsIn(ClassIndex apiClasses, boolean exportedOnly) {
+        return apiClasses.publicClassNames().stream()
+                .filter(className -> !exportedOnly || apiClasses.isExported(className))
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<String> allClassNames(ClassIndex apiClasses, ClassIndex dependencyClasses) {
+        Set<String> classNames = new TreeSet<>(apiClasses.classNames());
+        classNames.addAll(dependencyClasses.classNames());
+        return classNames;
+    }
+
+    private static long nonExportedCount(ClassIndex apiClasses, Set<String> kept) {
+        return kept.stream()
+                .filter(className -> apiClasses.contains(className) && !apiClasses.isExported(className))
+                .count();
+    }
+
+    private static API api(ClassIndex apiClasses, ClassIndex dependencyClasses, Set<String> kept, boolean exportedOnly)
+            throws IOException {
+        API.Builder api = API.builder();
+        if (exportedOnly) {
+            api.addArchives(archives(apiClasses, kept, apiClasses::isExported));
+            // Named after the jars they come from too, so breaks where the api exposes them are still reported
+            api.addSupportArchives(archives(apiClasses, kept, className -> !apiClasses.isExported(className)));
+        } else {
+            api.addArchives(archives(apiClasses, kept, _className -> true));
+        }
+        return api.addSupportArchives(archives(dependencyClasses, kept, _className -> true)).build();
+    }
+
+    /**
+     * {@code roots}, and the classes in the indexes reachable from them, sorted by name. The {@code package-info} of
+     * each of their packages is kept too, as revapi reads the annotations on a package, eg to leave it out of the api,
+     * from there.
+     */
+    static Set<String> reachableFrom(Set<String> roots, ClassIndex apiClasses, ClassIndex dependencyClasses) {
+        Reachable reachable = new Reachable(apiClasses, dependencyClasses);
+        roots.forEach(reachable::add);
+
+        while (!reachable.toVisit.isEmpty()) {
+            String className = reachable.toVisit.pop();
+            ClassIndex index = apiClasses.contains(className) ? apiClasses : dependencyClasses;
+            References.of(index.read(className)).forEach(reachable::add);
+        }
+
+        return reachable.classNames;
+    }
+
+    static boolean isVisibleMember(int access) {
+        return (access & MEMBER_VISIBILITY) != 0 && (access & Opcodes.ACC_SYNTHETIC) == 0;
+    }
+
+    /**
+     * One in memory archive per jar in the index, named after it, holding those of its classes in {@code kept} that
+     * {@code include} accepts.
+     */
+    private static List<Archive> archives(ClassIndex index, Set<String> kept, Predicate<String> include)
+            throws IOException {
+        Map<String, ByteArrayOutputStream> jarBytes = new LinkedHashMap<>();
+        Map<String, JarOutputStream> jars = new LinkedHashMap<>();
+        for (String archiveName : index.archiveNames()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            jarBytes.put(archiveName, bytes);
+            jars.put(archiveName, new JarOutputStream(bytes));
+        }
+
+        for (String className : kept) {
+            if (index.contains(className) && include.test(className)) {
+                JarOutputStream jar = jars.get(index.archiveName(className));
+                jar.putNextEntry(new JarEntry(className + ".class"));
+                jar.write(index.bytes(className));
+                jar.closeEntry();
+            }
+        }
+
+        List<Archive> archives = new ArrayList<>();
+        for (Map.Entry<String, JarOutputStream> jar : jars.entrySet()) {
+            jar.getValue().close();
+            archives.add(ArchiveCache.inMemory(jar.getKey(), jarBytes.get(jar.getKey()).toByteArray()));
+        }
+        return archives;
+    }
+
+    /** The classes found to be reachable so far, and those of them still to be looked at. */
+    private static final class Reachable {
+        private final ClassIndex apiClasses;
+        private final ClassIndex dependencyClasses;
+        private final Set<String> classNames = new TreeSet<>();
+        private final Set<String> seen = new HashSet<>();
+        private final Deque<String> toVisit = new ArrayDeque<>();
+
+        Reachable(ClassIndex apiClasses, ClassIndex dependencyClasses) {
+            this.apiClasses = apiClasses;
+            this.dependencyClasses = dependencyClasses;
+        }
+
+        void add(String className) {
+            if (seen.add(className) && (apiClasses.contains(className) || dependencyClasses.contains(className))) {
+                classNames.add(className);
+                toVisit.push(className);
+                add(className.substring(0, className.lastIndexOf('/') + 1) + "package-info");
+            }
+        }
+    }
+
+    @Value.Immutable
+    @ImmutableStyle
+    interface PrunedApis {
+        API oldApi();
+
+        API newApi();
+
+        /** How many classes there were in the jars of both apis. */
+        long classes();
+
+        /** How many of those were kept. */
+        long reachableClasses();
+
+        /** How many of those were kept, but only as support for the api, as their jars don't export them. */
+        long nonExportedClasses();
+
+        class Builder extends ImmutablePrunedApis.Builder {}
+
+        static Builder builder() {
+            return new Builder();
+        }
+    }
+
+    /**
+     * The classes in some jars, only read when asked for, so that indexing even a jar as large as Android's
+     * {@code android.jar} just reads the list of its entries. The jars are kept open until the index is closed.
+     *
+     * <p>This reads the jars itself rather than through the {@link ArchiveCache}, which would read the whole of each
+     * jar into memory when only the classes in the api are needed from them. Multi-release jars are still seen as the
+     * release being analysed sees them, like the cache does, see {@link MultiReleaseJar}.
+     */
+    static final class ClassIndex implements Closeable {
+        private final List<JarFile> jarFiles = new ArrayList<>();
+        private final Map<String, JarFile> jarsByClassName = new HashMap<>();
+        private final Map<String, ZipEntry> entriesByClassName = new HashMap<>();
+        private final Map<JarFile, Optional<Set<String>>> exportedPackagesByJar = new HashMap<>();
+        private Set<String> publicClassNames;
+
+        static ClassIndex of(List<File> jars) throws IOException {
+            return of(jars, Optional.empty());
+        }
+
+        /** The classes in {@code jars}, with multi-release jars seen as {@code release} sees them, if given. */
+        static ClassIndex of(List<File> jars, Optional<Integer> release) throws IOException {
+            ClassIndex index = new ClassIndex();
+            for (File jar : jars) {
+                JarFile jarFile = new JarFile(jar);
+                index.jarFiles.add(jarFile);
+                index.exportedPackagesByJar.put(jarFile, ExportedPackages.of(jarFile, release));
+
+                Optional<Map<String, ZipEntry>> releaseEntries = release.isPresent()
+                        ? MultiReleaseJar.entriesFor(jarFile, release.get())
+                        : Optional.empty();
+                Map<String, ZipEntry> entries = releaseEntries.orElseGet(() -> jarFile.stream()
+                        .collect(Collectors.toMap(JarEntry::getName, entry -> entry, (first, _second) -> first)));
+
+                for (Map.Entry<String, ZipEntry> entry : entries.entrySet()) {
+                    String entryName = entry.getKey();
+                    if (!entryName.endsWith(".class")
+                            || entryName.startsWith("META-INF/")
+                            || entryName.equals("module-info.class")) {
+                        continue;
+                    }
+
+                    String className = entryName.substring(0, entryName.length() - ".class".length());
+                    // The first jar on the classpath with the class wins, like at runtime
+                    if (!index.jarsByClassName.containsKey(className)) {
+                        index.jarsByClassName.put(className, jarFile);
+                        index.entriesByClassName.put(className, entry.getValue());
+                    }
+                }
+            }
+            return index;
+        }
+
+        boolean contains(String className) {
+            return jarsByClassName.containsKey(className);
+        }
+
+        int size() {
+            return jarsByClassName.size();
+        }
+
+        Set<String> classNames() {
+            return jarsByClassName.keySet();
+        }
+
+        /** Whether the jar the class is in exports its package, which is every package when it doesn't say. */
+        boolean isExported(String className) {
+            int packageEnd = className.lastIndexOf('/');
+            String packageName = packageEnd == -1 ? "" : className.substring(0, packageEnd);
+            return exportedPackagesByJar
+                    .get(jarsByClassName.get(className))
+                    .map(exportedPackages -> exportedPackages.contains(packageName))
+                    .orElse(true);
+        }
+
+        /** Only read for the jars of an api, not for those of its dependencies. */
+        Set<String> publicClassNames() {
+            if (publicClassNames == null) {
+                publicClassNames = jarsByClassName.keySet().stream()
+                        .filter(this::isPublic)
+                        .collect(Collectors.toCollection(TreeSet::new));
+            }
+            return publicClassNames;
+        }
+
+        List<String> archiveNames() {
+            return jarFiles.stream().map(ClassIndex::archiveName).collect(Collectors.toList());
+        }
+
+        String archiveName(String className) {
+            return archiveName(jarsByClassName.get(className));
+        }
+
+        ClassNode read(String className) {
+            ClassNode classNode = new ClassNode();
+            new ClassReader(bytes(className)).accept(classNode, ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES);
+            return classNode;
+        }
+
+        byte[] bytes(String className) {
+            JarFile jarFile = jarsByClassName.get(className);
+            try (InputStream classFile = jarFile.getInputStream(entriesByClassName.get(className))) {
+                return ByteStreams.toByteArray(classFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read " + className, e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (JarFile jarFile : jarFiles) {
+                jarFile.close();
+            }
+        }
+
+        private static String archiveName(JarFile jarFile) {
+            return new File(jarFile.getName()).getName();
+        }
+
+        private boolean isPublic(String className) {
+            int access = new ClassReader(bytes(className)).getAccess();
+            return (access & Opcodes.ACC_PUBLIC) != 0 && (access & Opcodes.ACC_SYNTHETIC) == 0;
+        }
+    }
+
+    /** Collects the classes a generic signature refers to, including nested ones, into {@code found}. */
+    private static final class SignatureReferences extends SignatureVisitor {
+        private final Set<String> found;
+        private String className;
+
+        SignatureReferences(Set<String> found) {
+            super(Opcodes.ASM9);
+            this.found = found;
+        }
+
+        @Override
+        public void visitClassType(String name) {
+            className = name;
+            found.add(name);
+        }
+
+        @Override
+        public void visitInnerClassType(String name) {
+            className = className + "$" + name;
+            found.add(className);
+        }
+
+        // Each of these visits a type of its own, which must not be mixed up with this one's
+        @Override
+        public SignatureVisitor visitClassBound() {
+            return new SignatureReferences(found);
+        }
+
+        @Override
+        public SignatureVisitor visitInterfaceBound() {
+            return new SignatureReferences(found);
+        }
+
+        @Override
+        public SignatureVisitor visitSuperclass() {
+            return new SignatureReferences(found);
+        }
+
+        @Override
+        public SignatureVisitor visitInterface() {
+            return new SignatureReferences(found);
+        }
+
+        @Override
+        public SignatureVisitor visitParameterType() {
+            return new SignatureReferences(found);
+        }
+
+        @Override
+        public SignatureVisitor visitReturnType() {
+            return new SignatureReferences(found);
+        }
+
+        @Override
+        public SignatureVisitor visitExceptionType() {
+            return new SignatureReferences(found);
+        }
+
+        @Override
+        public SignatureVisitor visitArrayType() {
+            return new SignatureReferences(found);
+        }
+
+        @Override
+        public SignatureVisitor visitTypeArgument(char wildcard) {
+            return new SignatureReferences(found);
+        }
+    }
+
+    /** The other classes a class's signature, and those of its public and protected members, refer to. */
+    private static final class References {
+        private final Set<String> found = new TreeSet<>();
+
+        private References() {}
+
+        static Set<String> of(ClassNode classNode) {
+            References references = new References();
+            references.addInternalName(classNode.superName);
+            classNode.interfaces.forEach(references::addInternalName);
+            references.addSignature(classNode.signature);
+            references.addAnnotations(classNode.visibleAnnotations);
+            references.addAnnotations(classNode.invisibleAnnotations);
+
+            for (InnerClassNode innerClass : classNode.innerClasses) {
+                // A nested class can't be understood without the class it is nested in
+                if (innerClass.name.equals(classNode.name)) {
+                    references.addInternalName(innerClass.outerName);
+                }
+            }
+
+            classNode.fields.stream().filter(field -> isVisibleMember(field.access)).forEach(field -> {
+                references.addType(Type.getType(field.desc));
+                references.addSignature(field.signature);
+                references.addAnnotations(field.visibleAnnotations);
+                references.addAnnotations(field.invisibleAnnotations);
+            });
+
+            classNode.methods.stream().filter(method -> isVisibleMember(method.access)).forEach(method -> {
+                references.addType(Type.getType(method.desc));
+                references.addSignature(method.signature);
+                method.exceptions.forEach(references::addInternalName);
+                references.addAnnotations(method.visibleAnnotations);
+                references.addAnnotations(method.invisibleAnnotations);
+            });
+
+            references.found.remove(classNode.name);
+            return references.found;
+        }
+
+        private void addInternalName(String internalName) {
+            if (internalName != null) {
+                found.add(internalName);
+            }
+        }
+
+        private void addType(Type type) {
+            switch (type.getSort()) {
+                case Type.ARRAY:
+                    addType(type.getElementType());
+                    break;
+                case Type.OBJECT:
+                    addInternalName(type.getInternalName());
+                    break;
+                case Type.METHOD:
+                    addType(type.getReturnType());
+                    for (Type argument : type.getArgumentTypes()) {
+                        addType(argument);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void addSignature(String signature) {
+            if (signature != null) {
+                new SignatureReader(signature).accept(new SignatureReferences(found));
+            }
+        }
+
+        private void addAnnotations(List<AnnotationNode> annotations) {
+            if (annotations != null) {
+                annotations.forEach(annotation -> addType(Type.getType(annotation.desc)));
+            }
+        }
+    }
+}
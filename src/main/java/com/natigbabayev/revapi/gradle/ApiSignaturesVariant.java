@@ -0,0 +1,76 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.attributes.Bundling;
+import org.gradle.api.attributes.Category;
+import org.gradle.api.attributes.DocsType;
+import org.gradle.api.attributes.Usage;
+import org.gradle.api.component.AdhocComponentWithVariants;
+import org.gradle.api.tasks.TaskProvider;
+
+/**
+ * Publishes the {@link ApiBaseline} of each release as a secondary variant of the java component, with the classifier
+ * {@value #CLASSIFIER}, so that later versions can be compared against a few kilobytes of signatures rather than
+ * having to download the released jar and all its dependencies.
+ */
+final class ApiSignaturesVariant {
+    static final String CLASSIFIER = "api-signatures";
+    static final String EXTENSION = "json";
+    static final String TASK_NAME = "revapiApiSignatures";
+
+    private static final String CONFIGURATION_NAME = "revapiApiSignaturesElements";
+
+    private ApiSignaturesVariant() {}
+
+    static void publishFrom(Project project, TaskProvider<RevapiWriteBaselineTask> apiSignaturesTask) {
+        project.getComponents()
+                .withType(AdhocComponentWithVariants.class)
+                .matching(component -> component.getName().equals("java"))
+                .all(component -> component.addVariantsFromConfiguration(
+                        elementsConfiguration(project, apiSignaturesTask), details -> details.mapToOptional()));
+    }
+
+    private static Configuration elementsConfiguration(
+            Project project, TaskProvider<RevapiWriteBaselineTask> apiSignaturesTask) {
+
+        return project.getConfigurations().create(CONFIGURATION_NAME, conf -> {
+            conf.setCanBeConsumed(true);
+            conf.setCanBeResolved(false);
+            conf.setVisible(false);
+            // Like a sources jar, so that nothing but revapi selects this variant
+            conf.attributes(attrs -> {
+                attrs.attribute(Usage.USAGE_ATTRIBUTE, project.getObjects().named(Usage.class, Usage.JAVA_RUNTIME));
+                attrs.attribute(
+                        Category.CATEGORY_ATTRIBUTE,
+                        project.getObjects().named(Category.class, Category.DOCUMENTATION));
+                attrs.attribute(
+                        Bundling.BUNDLING_ATTRIBUTE, project.getObjects().named(Bundling.class, Bundling.EXTERNAL));
+                attrs.attribute(DocsType.DOCS_TYPE_ATTRIBUTE, project.getObjects().named(DocsType.class, CLASSIFIER));
+            });
+            conf.getOutgoing()
+                    .artifact(apiSignaturesTask.flatMap(RevapiWriteBaselineTask::getBaselineFile), artifact -> {
+                        artifact.setClassifier(CLASSIFIER);
+                        artifact.setExtension(EXTENSION);
+                        artifact.setType(EXTENSION);
+                        artifact.builtBy(apiSignaturesTask);
+                    });
+        });
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import org.immutables.value.Value;
+import org.revapi.Archive;
+import org.revapi.simple.FileArchive;
+
+/**
+ * Hands out the revapi {@link Archive}s for jars. When several projects are analysed together, most of their
+ * dependency jars (guava, jackson...) are the same, so a caching instance reads each jar from disk once and serves
+ * every later analysis from memory. The uncached instance just wraps each file, as a single analysis reads it once
+ * anyway.
+ *
+ * <p>A caching instance holds at most {@code maxBytes} of jars, by default a quarter of the maximum heap. Past that,
+ * the jars used least recently are dropped, and read from disk again if a later analysis needs them.
+ *
+ * <p>An instance is used by one thread at a time, but those made by {@link #sharingArchives()} share the archives
+ * they read, so analyses running at once on different threads each read a jar they all depend on only once.
+ *
+ * <p>Instances made by {@link #forRelease} hand out multi-release jars as seen by that java release, see
+ * {@link MultiReleaseJar}.
+ */
+final class ArchiveCache {
+    private final boolean caching;
+    private final CachedArchives archives;
+    private final Optional<Integer> release;
+    private long hits = 0;
+    private long bytesRead = 0;
+    private long sharedSupportArchives = 0;
+
+    private ArchiveCache(
+            boolean caching, CachedArchives archives, Optional<Integer> release) {
+        this.caching = caching;
+        this.archives = archives;
+        this.release = release;
+    }
+
+    static ArchiveCache uncached() {
+        return new ArchiveCache(false, new CachedArchives(0), Optional.empty());
+    }
+
+    static ArchiveCache caching() {
+        return caching(Runtime.getRuntime().maxMemory() / 4);
+    }
+
+    static ArchiveCache caching(long maxBytes) {
+        return new ArchiveCache(true, new CachedArchives(maxBytes), Optional.empty());
+    }
+
+    /** A new instance, for another thread, serving the archives this one has read and counting its own metrics. */
+    ArchiveCache sharingArchives() {
+        return new ArchiveCache(caching, archives, release);
+    }
+
+    /**
+     * A new instance, serving the archives this one has read and counting its own metrics, that views multi-release
+     * jars as {@code release} does, or as they are when empty.
+     */
+    ArchiveCache forRelease(Optional<Integer> release) {
+        return new ArchiveCache(caching, archives, release);
+    }
+
+    List<Archive> archivesFor(Collection<File> files) {
+        return files.stream().map(this::archiveFor).collect(Collectors.toList());
+    }
+
+    /**
+     * The archives for the support jars of the old and new apis. Dependencies rarely change between versions, so a
+     * jar both apis depend on is usually the very same file, which is handed to both as the same archive.
+     */
+    SupportArchives supportArchivesFor(List<File> oldJars, List<File> newJars) {
+        Map<File, Archive> oldArchives = new HashMap<>();
+        oldJars.forEach(oldJar -> oldArchives.computeIfAbsent(oldJar, this::archiveFor));
+
+        List<Archive> newArchives = new ArrayList<>();
+        for (File newJar : newJars) {
+            Archive oldArchive = oldArchives.get(newJar);
+            if (oldArchive != null) {
+                sharedSupportArchives++;
+                newArchives.add(oldArchive);
+            } else {
+                newArchives.add(archiveFor(newJar));
+            }
+        }
+
+        return SupportArchives.builder()
+                .oldArchives(oldJars.stream().map(oldArchives::get).collect(Collectors.toList()))
+                .newArchives(newArchives)
+                .build();
+    }
+
+    private Archive archiveFor(File file) {
+        if (!caching) {
+            return release.flatMap(jarRelease -> MultiReleaseJar.releaseView(file, jarRelease))
+                    .<Archive>map(bytes -> InMemoryArchive.of(file, release, bytes))
+                    .orElseGet(() -> new FileArchive(file));
+        }
+
+        // Computed under the map's lock for the file, so a jar being read by another thread isn't read twice
+        InMemoryArchive archive = archives.byFile.compute(file, (_file, cached) -> {
+            if (cached != null && cached.isUpToDateWith(file, release)) {
+                hits++;
+                return cached;
+            }
+            return read(file);
+        });
+        archives.used(file, archive);
+        return archive;
+    }
+
+    private InMemoryArchive read(File file) {
+        InMemoryArchive archive = InMemoryArchive.read(file, release);
+        bytesRead += archive.bytes.length;
+        return archive;
+    }
+
+    /** An archive of {@code bytes} that were never in a file, like the jars an {@link ApiBaseline} is read into. */
+    static Archive inMemory(String name, byte[] bytes) {
+        return new InMemoryArchive(name, 0, bytes.length, Optional.empty(), bytes);
+    }
+
+    void contributeTo(AnalysisMetrics metrics) {
+        metrics.increment("archiveCacheHits", hits);
+        metrics.increment("archiveBytesRead", bytesRead);
+        metrics.increment("sharedSupportArchives", sharedSupportArchives);
+        hits = 0;
+        bytesRead = 0;
+        sharedSupportArchives = 0;
+    }
+
+    @Value.Immutable
+    @ImmutableStyle
+    interface SupportArchives {
+        List<Archive> oldArchives();
+
+        List<Archive> newArchives();
+
+        class Builder extends ImmutableSupportArchives.Builder {}
+
+        static Builder builder() {
+            return new Builder();
+        }
+    }
+
+    /** The archives a caching instance, and those sharing its archives, have read. */
+    private static final class CachedArchives {
+        private final long maxBytes;
+        private final ConcurrentMap<File, InMemoryArchive> byFile = new ConcurrentHashMap<>();
+        // Guarded by itself, in order of use, with the number of bytes of each
+        private final LinkedHashMap<File, Integer> recentlyUsed = new LinkedHashMap<>(16, 0.75f, true);
+        private long bytes = 0;
+
+        CachedArchives(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        /** Drops the least recently used archives, other than {@code file}'s, until they fit in {@code maxBytes}. */
+        void used(File file, InMemoryArchive archive) {
+            synchronized (recentlyUsed) {
+                Integer previousBytes = recentlyUsed.put(file, archive.bytes.length);
+                bytes += archive.bytes.length - (previousBytes == null ? 0 : previousBytes);
+
+                Iterator<Map.Entry<File, Integer>> leastRecentlyUsed = recentlyUsed.entrySet().iterator();
+                while (bytes > maxBytes && leastRecentlyUsed.hasNext()) {
+                    Map.Entry<File, Integer> dropped = leastRecentlyUsed.next();
+                    if (dropped.getKey().equals(file)) {
+                        break;
+                    }
+                    bytes -= dropped.getValue();
+                    byFile.remove(dropped.getKey());
+                    leastRecentlyUsed.remove();
+                }
+            }
+        }
+    }
+
+    private static final class InMemoryArchive implements Archive {
+        private final String name;
+        private final long lastModified;
+        private final long length;
+        private final Optional<Integer> release;
+        private final byte[] bytes;
+
+        private InMemoryArchive(String name, long lastModified, long length, Optional<Integer> release, byte[] bytes) {
+            this.name = name;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.release = release;
+            this.bytes = bytes;
+        }
+
+        static InMemoryArchive of(File file, Optional<Integer> release, byte[] bytes) {
+            return new InMemoryArchive(file.getName(), file.lastModified(), file.length(), release, bytes);
+        }
+
+        static InMemoryArchive read(File file, Optional<Integer> release) {
+            Optional<byte[]> releaseView = release.flatMap(jarRelease -> MultiReleaseJar.releaseView(file, jarRelease));
+            if (releaseView.isPresent()) {
+                return of(file, release, releaseView.get());
+            }
+
+            try {
+                return of(file, release, Files.readAllBytes(file.toPath()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read " + file, e);
+            }
+        }
+
+        /** Whether this is still the contents of {@code file}, as seen by the same release. */
+        boolean isUpToDateWith(File file, Optional<Integer> jarRelease) {
+            return file.lastModified() == lastModified && file.length() == length && release.equals(jarRelease);
+        }
+
+        @Nonnull
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Nonnull
+        @Override
+        public InputStream openStream() {
+            return new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public String toString() {
+            return "InMemoryArchive[name=" + name + "]";
+        }
+    }
+}
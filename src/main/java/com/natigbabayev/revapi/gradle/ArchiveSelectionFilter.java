@@ -0,0 +1,120 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import java.io.Reader;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.jboss.dmr.ModelNode;
+import org.revapi.API;
+import org.revapi.AnalysisContext;
+import org.revapi.Archive;
+import org.revapi.Element;
+import org.revapi.ElementFilter;
+
+/**
+ * Only reports elements that come from the archives we were asked to report breaks for, as opposed to the support
+ * archives on the classpath. An archive is selected if it is one of the primary archives of the old or new API, or if
+ * its name is exactly one of the configured names. Both are hash lookups, unlike matching archive names against a
+ * list of regexes, and names containing regex metacharacters like {@code .} or {@code +} cannot match by accident.
+ */
+public final class ArchiveSelectionFilter implements ElementFilter, AnalysisMetrics.Source {
+    public static final String EXTENSION_ID = "gradle-revapi.archives";
+
+    private boolean enabled = false;
+    private Set<String> archiveNames;
+    private Set<Archive> primaryArchives;
+    private long excluded = 0;
+
+    static RevapiConfig configFor(SortedSet<String> archiveNames) {
+        ArrayNode names = RevapiConfig.createArrayNode();
+        archiveNames.forEach(names::add);
+        return RevapiConfig.empty().withExtension(EXTENSION_ID, names);
+    }
+
+    @Override
+    public String getExtensionId() {
+        return EXTENSION_ID;
+    }
+
+    @Override
+    public void initialize(@Nonnull AnalysisContext analysisContext) {
+        ModelNode configuration = analysisContext.getConfiguration();
+        this.enabled = configuration.isDefined();
+
+        if (!enabled) {
+            return;
+        }
+
+        this.archiveNames =
+                configuration.asList().stream().map(ModelNode::asString).collect(Collectors.toSet());
+
+        this.primaryArchives = Collections.newSetFromMap(new IdentityHashMap<>());
+        addArchives(analysisContext.getOldApi());
+        addArchives(analysisContext.getNewApi());
+    }
+
+    private void addArchives(@Nullable API api) {
+        if (api == null) {
+            return;
+        }
+
+        for (Archive archive : api.getArchives()) {
+            primaryArchives.add(archive);
+        }
+    }
+
+    @Override
+    public boolean applies(@Nullable Element element) {
+        if (!enabled || element == null) {
+            return true;
+        }
+
+        Archive archive = element.getArchive();
+        if (archive == null || primaryArchives.contains(archive) || archiveNames.contains(archive.getName())) {
+            return true;
+        }
+
+        excluded++;
+        return false;
+    }
+
+    @Override
+    public boolean shouldDescendInto(@Nullable Object _element) {
+        return true;
+    }
+
+    @Override
+    public void contributeTo(AnalysisMetrics metrics) {
+        metrics.increment(AnalysisMetrics.elementsExcluded(EXTENSION_ID), excluded);
+    }
+
+    @Nullable
+    @Override
+    public Reader getJSONSchema() {
+        return null;
+    }
+
+    @Override
+    public void close() {}
+}
@@ -0,0 +1,120 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import com.natigbabayev.revapi.gradle.config.Justification;
+
+/**
+ * The breaks found in many projects, each one only once however many projects it was found in. Breaks are the same
+ * when they have the same code and old and new elements, as happens when a type many projects depend on changes.
+ */
+final class BreaksIndex {
+    private final Map<Key, Entry> entries = new TreeMap<>();
+    private final SortedSet<String> projectPaths = new TreeSet<>();
+    private long reported;
+
+    void add(String projectPath, AnalysisResult result) {
+        entries.computeIfAbsent(new Key(result), _key -> new Entry(result)).projectPaths.add(projectPath);
+        projectPaths.add(projectPath);
+        reported++;
+    }
+
+    boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    void writeTo(Writer writer) throws IOException {
+        writer.write(String.format(
+                "%d distinct breaks in %d projects (%d reported in total):%n%n",
+                entries.size(), projectPaths.size(), reported));
+
+        for (Entry entry : entries.values()) {
+            AnalysisResult result = entry.result;
+            writer.write(result.code());
+            if (result.description() != null) {
+                writer.write(": " + result.description());
+            }
+            writer.write(String.format(
+                    "%n  old: %s%n  new: %s%n  %s%n  in: %s%n%n",
+                    Objects.toString(result.oldElement(), "<none>"),
+                    Objects.toString(result.newElement(), "<none>"),
+                    result.classification().entrySet().stream()
+                            .map(classification -> classification.getKey() + ": " + classification.getValue())
+                            .collect(Collectors.joining(", ")),
+                    String.join(", ", entry.projectPaths)));
+        }
+
+        writer.write(String.format(
+                "If these are acceptable breaks that will not harm your users, you can ignore them in future runs "
+                        + "with:%n%n  ./gradlew %s --justification \"%s\"%n",
+                RevapiPlugin.ACCEPT_ALL_BREAKS_TASK_NAME,
+                Justification.YOU_MUST_ENTER_JUSTIFICATION));
+    }
+
+    private static final class Key implements Comparable<Key> {
+        private final String code;
+        private final String oldElement;
+        private final String newElement;
+
+        Key(AnalysisResult result) {
+            this.code = result.code();
+            this.oldElement = Objects.toString(result.oldElement(), "");
+            this.newElement = Objects.toString(result.newElement(), "");
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int byCode = code.compareTo(other.code);
+            if (byCode != 0) {
+                return byCode;
+            }
+            int byOldElement = oldElement.compareTo(other.oldElement);
+            return byOldElement != 0 ? byOldElement : newElement.compareTo(other.newElement);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && compareTo((Key) other) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(code, oldElement, newElement);
+        }
+    }
+
+    private static final class Entry {
+        private final AnalysisResult result;
+        private final SortedSet<String> projectPaths = new TreeSet<>();
+
+        Entry(AnalysisResult result) {
+            this.result = result;
+        }
+    }
+}
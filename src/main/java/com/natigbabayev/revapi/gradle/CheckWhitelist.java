@@ -28,13 +28,15 @@ import org.revapi.Difference;
 import org.revapi.DifferenceTransform;
 import org.revapi.java.spi.JavaElement;
 
-public final class CheckWhitelist implements DifferenceTransform<JavaElement> {
+public final class CheckWhitelist implements DifferenceTransform<JavaElement>, AnalysisMetrics.Source {
     public static final String EXTENSION_ID = "gradle-revapi.check.whitelist";
 
     private static final Pattern[] EVERYTHING = {Pattern.compile(".*")};
 
     private boolean enabled = false;
     private Set<String> whitelistedChecks;
+    private long suppressed = 0;
+    private final TransformResults results = new TransformResults();
 
     @Override
     public void initialize(@Nonnull AnalysisContext analysisContext) {
@@ -65,6 +67,11 @@ public final class CheckWhitelist implements DifferenceTransform<JavaElement> {
     public Difference transform(
             @Nullable JavaElement _oldElement, @Nullable JavaElement _newElement, @Nonnull Difference difference) {
 
+        return results.transformOnce(difference, this::suppressUnlessWhitelisted);
+    }
+
+    @Nullable
+    private Difference suppressUnlessWhitelisted(Difference difference) {
         if (!enabled) {
             return difference;
         }
@@ -73,9 +80,15 @@ public final class CheckWhitelist implements DifferenceTransform<JavaElement> {
             return difference;
         }
 
+        suppressed++;
         return null;
     }
 
+    @Override
+    public void contributeTo(AnalysisMetrics metrics) {
+        metrics.increment(AnalysisMetrics.differencesSuppressed(EXTENSION_ID), suppressed);
+    }
+
     @Nullable
     @Override
     public Reader getJSONSchema() {
@@ -83,5 +96,7 @@ public final class CheckWhitelist implements DifferenceTransform<JavaElement> {
     }
 
     @Override
-    public void close() {}
+    public void close() {
+        results.clear();
+    }
 }
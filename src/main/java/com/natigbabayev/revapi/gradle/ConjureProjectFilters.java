@@ -20,38 +20,55 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import java.util.Optional;
 import org.gradle.api.Project;
 
-final class ConjureProjectFilters {
-    private static final ArrayNode CHECKS_FOR_CLIENT_PROJECTS = RevapiConfig.createArrayNode()
-            .add("java.class.removed")
-            .add("java.method.removed")
-            .add("java.method.parameterTypeChanged");
-    private static final ArrayNode SKIP_ALL_CHECKS = RevapiConfig.createArrayNode();
-
-    private ConjureProjectFilters() {}
+/**
+ * Which of revapi's checks a project runs. Everything, apart from in the client and server projects generated by
+ * conjure, which only run a few or none. Worked out when the build is configured, as an input to the analysis.
+ */
+public enum ConjureProjectFilters {
+    ALL_CHECKS,
+    CLIENT_CHECKS,
+    NO_CHECKS;
 
-    public static RevapiConfig forProject(Project project) {
+    public static ConjureProjectFilters forProject(Project project) {
         boolean isConjure = Optional.ofNullable(project.getParent())
                 .map(parentProject -> parentProject.getPluginManager().hasPlugin("com.palantir.conjure"))
                 .orElse(false);
 
         if (!isConjure) {
-            return RevapiConfig.empty();
+            return ALL_CHECKS;
         }
 
-        return checksForProjectName(project.getName())
-                .map(checks -> RevapiConfig.empty().withExtension(CheckWhitelist.EXTENSION_ID, checks))
-                .orElseGet(RevapiConfig::empty);
+        return forProjectName(project.getName());
     }
 
-    private static Optional<ArrayNode> checksForProjectName(String projectName) {
+    public RevapiConfig config() {
+        switch (this) {
+            case CLIENT_CHECKS:
+                return checkWhitelist(RevapiConfig.createArrayNode()
+                        .add("java.class.removed")
+                        .add("java.method.removed")
+                        .add("java.method.parameterTypeChanged"));
+            case NO_CHECKS:
+                return checkWhitelist(RevapiConfig.createArrayNode());
+            case ALL_CHECKS:
+                return RevapiConfig.empty();
+        }
+        throw new IllegalStateException("Unknown checks: " + this);
+    }
+
+    private static ConjureProjectFilters forProjectName(String projectName) {
         if (projectName.endsWith("-jersey") || projectName.endsWith("-retrofit")) {
-            return Optional.of(CHECKS_FOR_CLIENT_PROJECTS);
+            return CLIENT_CHECKS;
         }
 
         if (projectName.endsWith("-undertow")) {
-            return Optional.of(SKIP_ALL_CHECKS);
+            return NO_CHECKS;
         }
 
-        return Optional.empty();
+        return ALL_CHECKS;
+    }
+
+    private static RevapiConfig checkWhitelist(ArrayNode checks) {
+        return RevapiConfig.empty().withExtension(CheckWhitelist.EXTENSION_ID, checks);
     }
 }
@@ -0,0 +1,164 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import java.io.Reader;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.jboss.dmr.ModelNode;
+import org.revapi.AnalysisContext;
+import org.revapi.Difference;
+import org.revapi.DifferenceTransform;
+import org.revapi.Element;
+import com.natigbabayev.revapi.gradle.config.AcceptedBreak;
+
+/**
+ * Counts the differences the analyzer found, before any transform has removed them, and how many of those are breaks
+ * accepted in {@code .revapi/revapi.yml}. It never changes a difference: accepted breaks are still removed by
+ * {@code revapi.ignore}, and each transform sees a difference as the analyzer reported it, so this one sees those
+ * {@code revapi.ignore} removes too. Accepted breaks are matched like {@code revapi.ignore} matches non-regex recipes
+ * (the code must be equal, and the old and new elements, when given, must equal the elements' full human readable
+ * strings), but looked up in hash sets rather than checked one by one.
+ */
+public final class DifferenceCounter implements DifferenceTransform<Element>, AnalysisMetrics.Source {
+    public static final String EXTENSION_ID = "gradle-revapi.difference.counter";
+
+    private static final Pattern[] ALL_DIFFERENCES = {Pattern.compile(".*")};
+
+    private Map<String, AcceptedBreaksForCode> acceptedBreaksByCode = Collections.emptyMap();
+    private long found = 0;
+    private long accepted = 0;
+    private long transformNanos = 0;
+    private final TransformResults results = new TransformResults();
+
+    static RevapiConfig configFor(Set<AcceptedBreak> acceptedBreaks) {
+        return RevapiConfig.empty().withExtension(EXTENSION_ID, RevapiConfig.toJsonNode(acceptedBreaks));
+    }
+
+    @Override
+    public String getExtensionId() {
+        return EXTENSION_ID;
+    }
+
+    @Override
+    public void initialize(@Nonnull AnalysisContext analysisContext) {
+        ModelNode configuration = analysisContext.getConfiguration();
+        if (!configuration.isDefined()) {
+            return;
+        }
+
+        Map<String, AcceptedBreaksForCode> byCode = new HashMap<>();
+        for (ModelNode acceptedBreak : configuration.asList()) {
+            byCode.computeIfAbsent(acceptedBreak.get("code").asString(), _code -> new AcceptedBreaksForCode())
+                    .add(stringOrNull(acceptedBreak, "old"), stringOrNull(acceptedBreak, "new"));
+        }
+
+        this.acceptedBreaksByCode = byCode;
+    }
+
+    @Nonnull
+    @Override
+    public Pattern[] getDifferenceCodePatterns() {
+        return ALL_DIFFERENCES;
+    }
+
+    @Nullable
+    @Override
+    public Difference transform(
+            @Nullable Element oldElement, @Nullable Element newElement, @Nonnull Difference difference) {
+        return results.transformOnce(difference, first -> transformFirst(oldElement, newElement, first));
+    }
+
+    @Nullable
+    private Difference transformFirst(
+            @Nullable Element oldElement, @Nullable Element newElement, @Nonnull Difference difference) {
+        found++;
+        AcceptedBreaksForCode acceptedBreaks = acceptedBreaksByCode.get(difference.code);
+        if (acceptedBreaks == null) {
+            return difference;
+        }
+
+        long start = System.nanoTime();
+        String oldString = oldElement == null ? null : oldElement.getFullHumanReadableString();
+        String newString = newElement == null ? null : newElement.getFullHumanReadableString();
+        if (acceptedBreaks.matches(oldString, newString)) {
+            accepted++;
+        }
+        transformNanos += System.nanoTime() - start;
+
+        return difference;
+    }
+
+    @Override
+    public void contributeTo(AnalysisMetrics metrics) {
+        metrics.increment(AnalysisMetrics.DIFFERENCES_FOUND, found);
+        metrics.increment(AnalysisMetrics.ACCEPTED_BREAKS_MATCHED, accepted);
+        metrics.addPhaseNanos(AnalysisMetrics.TRANSFORMS, transformNanos);
+    }
+
+    @Nullable
+    @Override
+    public Reader getJSONSchema() {
+        return null;
+    }
+
+    @Override
+    public void close() {
+        results.clear();
+    }
+
+    @Nullable
+    private static String stringOrNull(ModelNode node, String key) {
+        return node.has(key) && node.get(key).isDefined() ? node.get(key).asString() : null;
+    }
+
+    /** A missing old or new element in an accepted break matches anything, including no element at all. */
+    private static final class AcceptedBreaksForCode {
+        private boolean anyElements = false;
+        private final Set<String> oldOnly = new HashSet<>();
+        private final Set<String> newOnly = new HashSet<>();
+        private final Set<Map.Entry<String, String>> oldAndNew = new HashSet<>();
+
+        void add(@Nullable String oldElement, @Nullable String newElement) {
+            if (oldElement == null && newElement == null) {
+                anyElements = true;
+            } else if (newElement == null) {
+                oldOnly.add(oldElement);
+            } else if (oldElement == null) {
+                newOnly.add(newElement);
+            } else {
+                oldAndNew.add(new SimpleImmutableEntry<>(oldElement, newElement));
+            }
+        }
+
+        boolean matches(@Nullable String oldElement, @Nullable String newElement) {
+            return anyElements
+                    || (oldElement != null && oldOnly.contains(oldElement))
+                    || (newElement != null && newOnly.contains(newElement))
+                    || (oldElement != null
+                            && newElement != null
+                            && oldAndNew.contains(new SimpleImmutableEntry<>(oldElement, newElement)));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ModuleVisitor;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * The packages a jar exports, from its {@code module-info.class} or, failing that, the OSGi {@code Export-Package}
+ * header of its manifest. Packages are given with {@code /} separators, like the names of the class files in them.
+ */
+final class ExportedPackages {
+    private static final String MODULE_INFO = "module-info.class";
+    private static final Pattern VERSIONED_MODULE_INFO =
+            Pattern.compile("META-INF/versions/(\\d+)/module-info\\.class");
+    private static final String EXPORT_PACKAGE = "Export-Package";
+
+    private ExportedPackages() {}
+
+    /**
+     * The packages the jar exports to {@code release}, if given, or empty if it doesn't say, in which case every
+     * package is part of its api.
+     */
+    static Optional<Set<String>> of(JarFile jarFile, Optional<Integer> release) throws IOException {
+        Optional<JarEntry> moduleInfo = moduleInfo(jarFile, release);
+        if (moduleInfo.isPresent()) {
+            try (InputStream classFile = jarFile.getInputStream(moduleInfo.get())) {
+                return Optional.of(fromModuleInfo(ByteStreams.toByteArray(classFile)));
+            }
+        }
+
+        Manifest manifest = jarFile.getManifest();
+        String exportPackage = manifest == null ? null : manifest.getMainAttributes().getValue(EXPORT_PACKAGE);
+        if (exportPackage != null) {
+            return Optional.of(fromExportPackage(exportPackage));
+        }
+
+        return Optional.empty();
+    }
+
+    /** The packages exported to every module. Those only exported to named friend modules are not part of the api. */
+    static Set<String> fromModuleInfo(byte[] moduleInfo) {
+        ExportsVisitor exports = new ExportsVisitor();
+        new ClassReader(moduleInfo).accept(exports, ClassReader.SKIP_CODE);
+        return exports.exported;
+    }
+
+    /**
+     * The packages in an OSGi {@code Export-Package} header, like {@code a.b;c.d;version="1.0";uses:="e.f,g.h",i.j},
+     * which exports {@code a.b}, {@code c.d} and {@code i.j}.
+     */
+    static Set<String> fromExportPackage(String header) {
+        Set<String> exported = new TreeSet<>();
+        for (String clause : splitOutsideQuotes(header, ',')) {
+            for (String part : splitOutsideQuotes(clause, ';')) {
+                String trimmed = part.trim();
+                // Attributes and directives come after the packages they apply to
+                if (trimmed.contains("=")) {
+                    break;
+                }
+                if (!trimmed.isEmpty()) {
+                    exported.add(trimmed.replace('.', '/'));
+                }
+            }
+        }
+        return exported;
+    }
+
+    /**
+     * The module descriptor {@code release} loads: the one in {@code META-INF/versions} for the latest release up to
+     * it, or else the one at the root. Without a release, the root one or else that for the newest release, as that is
+     * the one the module is built around.
+     */
+    private static Optional<JarEntry> moduleInfo(JarFile jarFile, Optional<Integer> release) {
+        JarEntry moduleInfo = jarFile.getJarEntry(MODULE_INFO);
+        if (moduleInfo != null && !release.isPresent()) {
+            return Optional.of(moduleInfo);
+        }
+        Optional<JarEntry> versionedModuleInfo = jarFile.stream()
+                .filter(entry -> VERSIONED_MODULE_INFO.matcher(entry.getName()).matches())
+                .filter(entry -> release.map(maxRelease -> release(entry) <= maxRelease).orElse(true))
+                .max(Comparator.comparingInt(ExportedPackages::release));
+        return versionedModuleInfo.isPresent() ? versionedModuleInfo : Optional.ofNullable(moduleInfo);
+    }
+
+    private static int release(JarEntry versionedModuleInfo) {
+        Matcher matcher = VERSIONED_MODULE_INFO.matcher(versionedModuleInfo.getName());
+        matcher.matches();
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    private static List<String> splitOutsideQuotes(String value, char separator) {
+        List<String> parts = new ArrayList<>();
+        StringBuilder part = new StringBuilder();
+        boolean quoted = false;
+        for (char character : value.toCharArray()) {
+            if (character == '"') {
+                quoted = !quoted;
+            }
+            if (character == separator && !quoted) {
+                parts.add(part.toString());
+                part.setLength(0);
+            } else {
+                part.append(character);
+            }
+        }
+        parts.add(part.toString());
+        return parts;
+    }
+
+    private static final class ExportsVisitor extends ClassVisitor {
+        private final Set<String> exported = new TreeSet<>();
+
+        ExportsVisitor() {
+            super(Opcodes.ASM9);
+        }
+
+        @Override
+        public ModuleVisitor visitModule(String name, int access, String version) {
+            return new ModuleVisitor(Opcodes.ASM9) {
+                @Override
+                public void visitExport(String packaze, int exportAccess, String... modules) {
+                    if (modules == null || modules.length == 0) {
+                        exported.add(packaze);
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import org.jboss.dmr.ModelNode;
+import org.revapi.AnalysisContext;
+import org.revapi.Difference;
+import org.revapi.DifferenceTransform;
+import org.revapi.java.spi.JavaElement;
+import org.revapi.java.spi.JavaTypeElement;
+
+/**
+ * Suppresses differences in code produced by the generators declared through
+ * {@link RevapiExtension#generatedCode}. All profiles are indexed by difference code up front, so each difference
+ * costs one map lookup plus a check against the (cached) annotations and package of its enclosing type, however many
+ * profiles are configured.
+ */
+public final class GeneratedCodeFilter implements DifferenceTransform<JavaElement>, AnalysisMetrics.Source {
+    public static final String EXTENSION_ID = "gradle-revapi.generated.code";
+
+    private static final Pattern[] NOTHING = new Pattern[0];
+
+    private Map<String, List<Profile>> profilesByCode = Collections.emptyMap();
+    private Pattern[] differenceCodePatterns = NOTHING;
+    private final Map<TypeElement, GeneratedType> generatedTypes = new HashMap<>();
+    private long suppressed = 0;
+    private long transformNanos = 0;
+    private final TransformResults results = new TransformResults();
+
+    static RevapiConfig configFor(List<GeneratedCodeRule> rules) {
+        if (rules.isEmpty()) {
+            return RevapiConfig.empty();
+        }
+
+        ArrayNode profiles = RevapiConfig.createArrayNode();
+        rules.forEach(rule -> profiles.add(RevapiConfig.toJsonNode(rule)));
+        return RevapiConfig.empty().withExtension(EXTENSION_ID, profiles);
+    }
+
+    @Override
+    public String getExtensionId() {
+        return EXTENSION_ID;
+    }
+
+    @Override
+    public void initialize(@Nonnull AnalysisContext analysisContext) {
+        ModelNode configuration = analysisContext.getConfiguration();
+        if (!configuration.isDefined()) {
+            return;
+        }
+
+        Map<String, List<Profile>> byCode = new HashMap<>();
+        for (ModelNode profileNode : configuration.asList()) {
+            Profile profile = Profile.fromModelNode(profileNode);
+            for (ModelNode code : profileNode.get("codes").asList()) {
+                byCode.computeIfAbsent(code.asString(), _code -> new ArrayList<>()).add(profile);
+            }
+        }
+
+        this.profilesByCode = byCode;
+        this.differenceCodePatterns = byCode.keySet().stream()
+                .map(Pattern::quote)
+                .map(Pattern::compile)
+                .toArray(Pattern[]::new);
+    }
+
+    @Nonnull
+    @Override
+    public Pattern[] getDifferenceCodePatterns() {
+        return differenceCodePatterns;
+    }
+
+    @Nullable
+    @Override
+    public Difference transform(
+            @Nullable JavaElement oldElement, @Nullable JavaElement newElement, @Nonnull Difference difference) {
+        return results.transformOnce(difference, first -> transformFirst(oldElement, newElement, first));
+    }
+
+    @Nullable
+    private Difference transformFirst(
+            @Nullable JavaElement oldElement, @Nullable JavaElement newElement, @Nonnull Difference difference) {
+        List<Profile> profiles = profilesByCode.get(difference.code);
+        if (profiles == null) {
+            return difference;
+        }
+
+        long start = System.nanoTime();
+        boolean generated = isGenerated(oldElement, profiles) || isGenerated(newElement, profiles);
+        transformNanos += System.nanoTime() - start;
+
+        if (generated) {
+            suppressed++;
+            return null;
+        }
+
+        return difference;
+    }
+
+    private boolean isGenerated(@Nullable JavaElement javaElement, List<Profile> profiles) {
+        Optional<GeneratedType> generatedType = enclosingType(javaElement).map(this::generatedTypeFor);
+        if (!generatedType.isPresent()) {
+            return false;
+        }
+
+        return profiles.stream().anyMatch(profile -> profile.matches(generatedType.get()));
+    }
+
+    private GeneratedType generatedTypeFor(TypeElement typeElement) {
+        return generatedTypes.computeIfAbsent(typeElement, GeneratedType::of);
+    }
+
+    private static Optional<TypeElement> enclosingType(@Nullable org.revapi.Element element) {
+        org.revapi.Element current = element;
+        while (current != null) {
+            if (current instanceof JavaTypeElement) {
+                return Optional.of(((JavaTypeElement) current).getDeclaringElement());
+            }
+            current = current.getParent();
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void contributeTo(AnalysisMetrics metrics) {
+        metrics.increment(AnalysisMetrics.differencesSuppressed(EXTENSION_ID), suppressed);
+        metrics.addPhaseNanos(AnalysisMetrics.TRANSFORMS, transformNanos);
+    }
+
+    @Nullable
+    @Override
+    public Reader getJSONSchema() {
+        return null;
+    }
+
+    @Override
+    public void close() {
+        generatedTypes.clear();
+        results.clear();
+    }
+
+    /** The facts about a type that profiles match against: its package and annotations, including enclosing types'. */
+    private static final class GeneratedType {
+        private final String packageName;
+        private final Set<String> annotations;
+
+        private GeneratedType(String packageName, Set<String> annotations) {
+            this.packageName = packageName;
+            this.annotations = annotations;
+        }
+
+        static GeneratedType of(TypeElement typeElement) {
+            Set<String> annotations = new HashSet<>();
+            Element current = typeElement;
+            while (current instanceof TypeElement) {
+                for (AnnotationMirror annotationMirror : current.getAnnotationMirrors()) {
+                    annotations.add(((TypeElement) annotationMirror.getAnnotationType().asElement())
+                            .getQualifiedName()
+                            .toString());
+                }
+                current = current.getEnclosingElement();
+            }
+
+            String packageName = current instanceof PackageElement
+                    ? ((PackageElement) current).getQualifiedName().toString()
+                    : "";
+            return new GeneratedType(packageName, annotations);
+        }
+    }
+
+    private static final class Profile {
+        private final Optional<String> annotation;
+        private final Optional<Pattern> packagePattern;
+
+        private Profile(Optional<String> annotation, Optional<Pattern> packagePattern) {
+            this.annotation = annotation;
+            this.packagePattern = packagePattern;
+        }
+
+        static Profile fromModelNode(ModelNode profileNode) {
+            return new Profile(
+                    stringOrEmpty(profileNode, "annotation"),
+                    stringOrEmpty(profileNode, "packagePattern").map(Pattern::compile));
+        }
+
+        boolean matches(GeneratedType generatedType) {
+            return annotation.map(generatedType.annotations::contains).orElse(true)
+                    && packagePattern
+                            .map(pattern -> pattern.matcher(generatedType.packageName).matches())
+                            .orElse(true);
+        }
+
+        private static Optional<String> stringOrEmpty(ModelNode node, String key) {
+            return node.has(key) && node.get(key).isDefined()
+                    ? Optional.of(node.get(key).asString())
+                    : Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import java.util.Optional;
+import org.gradle.api.Named;
+import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.SetProperty;
+
+/**
+ * Describes the output of a code generator (AutoValue, Lombok, protobuf, ...) whose generated types should not have
+ * certain revapi differences reported against them. A type is considered generated when it (or a type enclosing it)
+ * carries {@link #getAnnotation()} and its package matches {@link #getPackagePattern()}; either may be omitted.
+ */
+@SuppressWarnings("DesignForExtension")
+public class GeneratedCodeProfile implements Named {
+    private final String name;
+    private final Property<String> annotation;
+    private final Property<String> packagePattern;
+    private final SetProperty<String> codes;
+
+    public GeneratedCodeProfile(String name, ObjectFactory objectFactory) {
+        this.name = name;
+        this.annotation = objectFactory.property(String.class);
+        this.packagePattern = objectFactory.property(String.class);
+        this.codes = objectFactory.setProperty(String.class);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /** Fully qualified name of the annotation marking generated types, eg {@code com.google.auto.value.AutoValue}. */
+    public Property<String> getAnnotation() {
+        return annotation;
+    }
+
+    /** Regex that the package of generated types must match in full. */
+    public Property<String> getPackagePattern() {
+        return packagePattern;
+    }
+
+    /** The revapi difference codes to suppress for generated types, eg {@code java.method.abstractMethodAdded}. */
+    public SetProperty<String> getCodes() {
+        return codes;
+    }
+
+    GeneratedCodeRule toRule() {
+        return GeneratedCodeRule.builder()
+                .name(name)
+                .annotation(Optional.ofNullable(annotation.getOrNull()))
+                .packagePattern(Optional.ofNullable(packagePattern.getOrNull()))
+                .codes(codes.get())
+                .build();
+    }
+}
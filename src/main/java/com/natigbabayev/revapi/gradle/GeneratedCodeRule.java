@@ -0,0 +1,60 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Optional;
+import java.util.SortedSet;
+import org.immutables.serial.Serial;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@ImmutableStyle
+@Serial.Structural
+public interface GeneratedCodeRule {
+    @JsonProperty("name")
+    String name();
+
+    @JsonProperty("annotation")
+    Optional<String> annotation();
+
+    @JsonProperty("packagePattern")
+    Optional<String> packagePattern();
+
+    @JsonProperty("codes")
+    @Value.NaturalOrder
+    SortedSet<String> codes();
+
+    @Value.Check
+    default void check() {
+        if (!annotation().isPresent() && !packagePattern().isPresent()) {
+            throw new IllegalArgumentException(
+                    "Generated code profile '" + name() + "' must set at least one of annotation or packagePattern");
+        }
+
+        if (codes().isEmpty()) {
+            throw new IllegalArgumentException(
+                    "Generated code profile '" + name() + "' must list at least one revapi code to suppress");
+        }
+    }
+
+    class Builder extends ImmutableGeneratedCodeRule.Builder {}
+
+    static Builder builder() {
+        return new Builder();
+    }
+}
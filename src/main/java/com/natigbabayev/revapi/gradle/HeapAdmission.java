@@ -0,0 +1,58 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+/**
+ * Lets analyses run while the heap they are estimated to need, added up, stays within a budget, and makes the rest
+ * wait for running ones to finish. An analysis estimated to need more than the whole budget is still let run, but only
+ * on its own.
+ */
+final class HeapAdmission {
+    private final long budgetBytes;
+    private long admittedBytes;
+    private int admittedCount;
+
+    HeapAdmission(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    /** Blocks until an analysis estimated to need {@code estimatedBytes} of heap fits in the budget. */
+    synchronized Admitted admit(long estimatedBytes) throws InterruptedException {
+        while (admittedCount > 0 && admittedBytes + estimatedBytes > budgetBytes) {
+            wait();
+        }
+
+        admittedBytes += estimatedBytes;
+        admittedCount++;
+        return () -> release(estimatedBytes);
+    }
+
+    synchronized long admittedBytes() {
+        return admittedBytes;
+    }
+
+    private synchronized void release(long estimatedBytes) {
+        admittedBytes -= estimatedBytes;
+        admittedCount--;
+        notifyAll();
+    }
+
+    interface Admitted extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
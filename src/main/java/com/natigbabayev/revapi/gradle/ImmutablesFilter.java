@@ -31,7 +31,7 @@ import org.revapi.java.model.MethodElement;
 import org.revapi.java.spi.Code;
 import org.revapi.java.spi.JavaElement;
 
-public final class ImmutablesFilter implements DifferenceTransform<JavaElement> {
+public final class ImmutablesFilter implements DifferenceTransform<JavaElement>, AnalysisMetrics.Source {
     private static final String EXTENSION_ID = "gradle-revapi.immutables";
     public static final RevapiConfig CONFIG = RevapiConfig.empty().withExtension(EXTENSION_ID);
 
@@ -45,6 +45,10 @@ public final class ImmutablesFilter implements DifferenceTransform<JavaElement>
             .map(Pattern::compile)
             .toArray(Pattern[]::new);
 
+    private long suppressed = 0;
+    private long transformNanos = 0;
+    private final TransformResults results = new TransformResults();
+
     @Override
     public String getExtensionId() {
         return EXTENSION_ID;
@@ -63,7 +67,18 @@ public final class ImmutablesFilter implements DifferenceTransform<JavaElement>
     @Override
     public Difference transform(
             @Nullable JavaElement oldElement, @Nullable JavaElement newElement, @Nonnull Difference difference) {
-        if (shouldIgnore(oldElement, newElement, difference)) {
+        return results.transformOnce(difference, first -> transformFirst(oldElement, newElement, first));
+    }
+
+    @Nullable
+    private Difference transformFirst(
+            @Nullable JavaElement oldElement, @Nullable JavaElement newElement, @Nonnull Difference difference) {
+        long start = System.nanoTime();
+        boolean ignore = shouldIgnore(oldElement, newElement, difference);
+        transformNanos += System.nanoTime() - start;
+
+        if (ignore) {
+            suppressed++;
             return null;
         }
 
@@ -122,6 +137,12 @@ public final class ImmutablesFilter implements DifferenceTransform<JavaElement>
                 .orElse(false);
     }
 
+    @Override
+    public void contributeTo(AnalysisMetrics metrics) {
+        metrics.increment(AnalysisMetrics.differencesSuppressed(EXTENSION_ID), suppressed);
+        metrics.addPhaseNanos(AnalysisMetrics.TRANSFORMS, transformNanos);
+    }
+
     @Nullable
     @Override
     public Reader getJSONSchema() {
@@ -129,5 +150,7 @@ public final class ImmutablesFilter implements DifferenceTransform<JavaElement>
     }
 
     @Override
-    public void close() {}
+    public void close() {
+        results.clear();
+    }
 }
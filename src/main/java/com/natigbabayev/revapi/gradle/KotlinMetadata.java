@@ -0,0 +1,563 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * What the {@code @kotlin.Metadata} annotation of a class compiled by kotlin says about which of its members are part
+ * of its api. Kotlin compiles {@code internal} declarations to public jvm members, with the names of functions and
+ * property accessors mangled by module, and adds synthetic classes and members, like {@code $WhenMappings} and
+ * {@code $default} methods, none of which can be used from outside the module.
+ *
+ * <p>The annotation holds protobuf messages, which are decoded here, rather than with kotlinx-metadata, for just the
+ * few fields needed: the visibility flags and jvm names of the class, its functions and its properties. Classes whose
+ * metadata can't be decoded, like that written by kotlin before 1.4, are treated as though they were all api.
+ */
+final class KotlinMetadata {
+    static final String ANNOTATION = "kotlin.Metadata";
+
+    /** Everything a class not compiled by kotlin has, including members whose names look like kotlin's. */
+    static final KotlinMetadata NOT_KOTLIN =
+            new KotlinMetadata(false, true, Collections.emptySet(), Collections.emptySet());
+
+    /** Everything a class compiled by kotlin has, apart from synthetic members, when its metadata says nothing else. */
+    private static final KotlinMetadata ALL_API =
+            new KotlinMetadata(true, true, Collections.emptySet(), Collections.emptySet());
+
+    // The kinds of class in the k field of the annotation
+    private static final int CLASS = 1;
+    private static final int FILE_FACADE = 2;
+    private static final int SYNTHETIC_CLASS = 3;
+    private static final int MULTI_FILE_CLASS_PART = 5;
+
+    // The visibilities in bits 1 to 3 of the flags of classes, functions, properties and accessors
+    private static final int PROTECTED = 2;
+    private static final int PUBLIC = 3;
+
+    // The flags a declaration has when its message leaves them out: a public final class, function or property
+    private static final int DEFAULT_FLAGS = 6;
+    private static final int DEFAULT_PROPERTY_FLAGS = 518;
+
+    // Since kotlin 1.4, the bytes are written one per char, following this marker
+    private static final char UTF8_MODE_MARKER = '\u0000';
+
+    private final boolean compiledByKotlin;
+    private final boolean isApi;
+    private final Set<String> hiddenMethods;
+    private final Set<String> hiddenFields;
+
+    private KotlinMetadata(
+            boolean compiledByKotlin, boolean isApi, Set<String> hiddenMethods, Set<String> hiddenFields) {
+        this.compiledByKotlin = compiledByKotlin;
+        this.isApi = isApi;
+        this.hiddenMethods = hiddenMethods;
+        this.hiddenFields = hiddenFields;
+    }
+
+    /** Whether the class is visible outside its module, or isn't a class compiled by kotlin. */
+    boolean isApi() {
+        return isApi;
+    }
+
+    /**
+     * Also hides the mangled names of hidden declarations, for metadata which leaves out their jvm names, and the
+     * names kotlin gives the synthetic methods it adds, in classes it compiled.
+     */
+    boolean isApiMethod(String jvmName) {
+        if (!compiledByKotlin) {
+            return true;
+        }
+
+        int mangled = jvmName.indexOf('$');
+        return !hiddenMethods.contains(jvmName)
+                && !(mangled > 0 && hiddenMethods.contains(jvmName.substring(0, mangled)))
+                && !jvmName.endsWith("$default")
+                && !jvmName.endsWith("$annotations")
+                && !jvmName.startsWith("access$");
+    }
+
+    boolean isApiField(String jvmName) {
+        return !hiddenFields.contains(jvmName);
+    }
+
+    static KotlinMetadata of(TypeElement typeElement) {
+        for (AnnotationMirror annotationMirror : typeElement.getAnnotationMirrors()) {
+            TypeElement annotation = (TypeElement) annotationMirror.getAnnotationType().asElement();
+            if (!annotation.getQualifiedName().contentEquals(ANNOTATION)) {
+                continue;
+            }
+
+            int kind = CLASS;
+            String[] data = new String[0];
+            String[] strings = new String[0];
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value :
+                    annotationMirror.getElementValues().entrySet()) {
+                String name = value.getKey().getSimpleName().toString();
+                if (name.equals("k")) {
+                    kind = (Integer) value.getValue().getValue();
+                } else if (name.equals("d1")) {
+                    data = stringsOf(value.getValue());
+                } else if (name.equals("d2")) {
+                    strings = stringsOf(value.getValue());
+                }
+            }
+
+            // Synthetic classes hold the default methods of interfaces, which java implementations call
+            if (kind == SYNTHETIC_CLASS && typeElement.getSimpleName().contentEquals("DefaultImpls")) {
+                return ALL_API;
+            }
+            return decode(kind, data, strings);
+        }
+        return NOT_KOTLIN;
+    }
+
+    static KotlinMetadata decode(int kind, String[] data, String[] strings) {
+        if (kind == SYNTHETIC_CLASS) {
+            return new KotlinMetadata(true, false, Collections.emptySet(), Collections.emptySet());
+        }
+        if (kind != CLASS && kind != FILE_FACADE && kind != MULTI_FILE_CLASS_PART) {
+            return ALL_API;
+        }
+        if (data.length == 0 || data[0].isEmpty() || data[0].charAt(0) != UTF8_MODE_MARKER) {
+            return ALL_API;
+        }
+
+        try {
+            ProtoReader reader = new ProtoReader(bytesOf(data));
+            Names names = Names.of(reader.message(), strings);
+            return kind == CLASS ? decodeClass(reader, names) : decodePackage(reader, names);
+        } catch (RuntimeException e) {
+            return ALL_API;
+        }
+    }
+
+    private static KotlinMetadata decodeClass(ProtoReader message, Names names) {
+        int flags = DEFAULT_FLAGS;
+        Members members = new Members();
+        while (message.hasNext()) {
+            int tag = message.tag();
+            switch (tag >>> 3) {
+                case 1:
+                    flags = message.int32();
+                    break;
+                case 9:
+                    members.addFunction(message.message(), names);
+                    break;
+                case 10:
+                    members.addProperty(message.message(), names);
+                    break;
+                default:
+                    message.skip(tag);
+            }
+        }
+        return members.toMetadata(isVisible(flags));
+    }
+
+    private static KotlinMetadata decodePackage(ProtoReader message, Names names) {
+        Members members = new Members();
+        while (message.hasNext()) {
+            int tag = message.tag();
+            switch (tag >>> 3) {
+                case 3:
+                    members.addFunction(message.message(), names);
+                    break;
+                case 4:
+                    members.addProperty(message.message(), names);
+                    break;
+                default:
+                    message.skip(tag);
+            }
+        }
+        return members.toMetadata(true);
+    }
+
+    private static boolean isVisible(int flags) {
+        int visibility = (flags >> 1) & 0b111;
+        return visibility == PUBLIC || visibility == PROTECTED;
+    }
+
+    private static String[] stringsOf(AnnotationValue value) {
+        @SuppressWarnings("unchecked")
+        List<? extends AnnotationValue> values = (List<? extends AnnotationValue>) value.getValue();
+        return values.stream().map(string -> (String) string.getValue()).toArray(String[]::new);
+    }
+
+    private static byte[] bytesOf(String[] data) {
+        int length = -1;
+        for (String string : data) {
+            length += string.length();
+        }
+
+        byte[] bytes = new byte[length];
+        int position = 0;
+        for (int i = 0; i < data.length; i++) {
+            for (int j = i == 0 ? 1 : 0; j < data[i].length(); j++) {
+                bytes[position++] = (byte) data[i].charAt(j);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * The jvm names of the methods and fields of hidden declarations. A hidden function can have the same name as a
+     * visible overload, so names any visible declaration has are never hidden.
+     */
+    private static final class Members {
+        private final Set<String> hiddenMethods = new HashSet<>();
+        private final Set<String> visibleMethods = new HashSet<>();
+        private final Set<String> hiddenFields = new HashSet<>();
+        private final Set<String> visibleFields = new HashSet<>();
+
+        void addFunction(ProtoReader function, Names names) {
+            int flags = DEFAULT_FLAGS;
+            int oldFlags = DEFAULT_FLAGS;
+            boolean hasFlags = false;
+            Optional<String> name = Optional.empty();
+            Optional<String> jvmName = Optional.empty();
+            while (function.hasNext()) {
+                int tag = function.tag();
+                switch (tag >>> 3) {
+                    case 1:
+                        oldFlags = function.int32();
+                        break;
+                    case 2:
+                        name = names.get(function.int32());
+                        break;
+                    case 9:
+                        flags = function.int32();
+                        hasFlags = true;
+                        break;
+                    case 100:
+                        jvmName = nameOfSignature(function.message(), names);
+                        break;
+                    default:
+                        function.skip(tag);
+                }
+            }
+
+            add(hasFlags ? flags : oldFlags, jvmName.isPresent() ? jvmName : name, hiddenMethods, visibleMethods);
+        }
+
+        void addProperty(ProtoReader property, Names names) {
+            int flags = DEFAULT_PROPERTY_FLAGS;
+            int oldFlags = DEFAULT_PROPERTY_FLAGS;
+            boolean hasFlags = false;
+            Optional<Integer> getterFlags = Optional.empty();
+            Optional<Integer> setterFlags = Optional.empty();
+            Optional<String> name = Optional.empty();
+            Optional<String> fieldName = Optional.empty();
+            Optional<String> getterName = Optional.empty();
+            Optional<String> setterName = Optional.empty();
+            while (property.hasNext()) {
+                int tag = property.tag();
+                switch (tag >>> 3) {
+                    case 1:
+                        oldFlags = property.int32();
+                        break;
+                    case 2:
+                        name = names.get(property.int32());
+                        break;
+                    case 7:
+                        getterFlags = Optional.of(property.int32());
+                        break;
+                    case 8:
+                        setterFlags = Optional.of(property.int32());
+                        break;
+                    case 11:
+                        flags = property.int32();
+                        hasFlags = true;
+                        break;
+                    case 101:
+                        ProtoReader signature = property.message();
+                        while (signature.hasNext()) {
+                            int signatureTag = signature.tag();
+                            switch (signatureTag >>> 3) {
+                                case 1:
+                                    fieldName = nameOfSignature(signature.message(), names);
+                                    break;
+                                case 3:
+                                    getterName = nameOfSignature(signature.message(), names);
+                                    break;
+                                case 4:
+                                    setterName = nameOfSignature(signature.message(), names);
+                                    break;
+                                default:
+                                    signature.skip(signatureTag);
+                            }
+                        }
+                        break;
+                    default:
+                        property.skip(tag);
+                }
+            }
+
+            int propertyFlags = hasFlags ? flags : oldFlags;
+            add(propertyFlags, fieldName.isPresent() ? fieldName : name, hiddenFields, visibleFields);
+            add(getterFlags.orElse(propertyFlags),
+                    getterName.isPresent() ? getterName : name.map(KotlinMetadata::getterName),
+                    hiddenMethods,
+                    visibleMethods);
+            add(setterFlags.orElse(propertyFlags),
+                    setterName.isPresent() ? setterName : name.map(KotlinMetadata::setterName),
+                    hiddenMethods,
+                    visibleMethods);
+        }
+
+        KotlinMetadata toMetadata(boolean isApi) {
+            hiddenMethods.removeAll(visibleMethods);
+            hiddenFields.removeAll(visibleFields);
+            return new KotlinMetadata(true, isApi, hiddenMethods, hiddenFields);
+        }
+
+        private static void add(int flags, Optional<String> name, Set<String> hidden, Set<String> visible) {
+            name.ifPresent(present -> (isVisible(flags) ? visible : hidden).add(present));
+        }
+    }
+
+    /** The name in a {@code JvmMethodSignature} or {@code JvmFieldSignature}. */
+    private static Optional<String> nameOfSignature(ProtoReader signature, Names names) {
+        Optional<String> name = Optional.empty();
+        while (signature.hasNext()) {
+            int tag = signature.tag();
+            if (tag >>> 3 == 1) {
+                name = names.get(signature.int32());
+            } else {
+                signature.skip(tag);
+            }
+        }
+        return name;
+    }
+
+    // As kotlin names property accessors, see JvmAbi
+    private static String getterName(String property) {
+        return startsWithIs(property) ? property : "get" + capitalize(property);
+    }
+
+    private static String setterName(String property) {
+        return "set" + (startsWithIs(property) ? property.substring(2) : capitalize(property));
+    }
+
+    private static boolean startsWithIs(String name) {
+        return name.startsWith("is") && name.length() > 2 && !(name.charAt(2) >= 'a' && name.charAt(2) <= 'z');
+    }
+
+    private static String capitalize(String name) {
+        char first = name.isEmpty() ? ' ' : name.charAt(0);
+        return first >= 'a' && first <= 'z' ? Character.toUpperCase(first) + name.substring(1) : name;
+    }
+
+    /**
+     * The strings the messages refer to by index, from the {@code d2} array of the annotation as changed by the
+     * records of its {@code StringTableTypes} message, which each apply to {@code range} consecutive strings.
+     */
+    private static final class Names {
+        private final List<Record> records;
+        private final String[] strings;
+
+        private Names(List<Record> records, String[] strings) {
+            this.records = records;
+            this.strings = strings;
+        }
+
+        static Names of(ProtoReader stringTable, String[] strings) {
+            List<Record> records = new ArrayList<>();
+            while (stringTable.hasNext()) {
+                int tag = stringTable.tag();
+                if (tag >>> 3 == 1) {
+                    Record record = Record.read(stringTable.message());
+                    for (int i = 0; i < record.range; i++) {
+                        records.add(record);
+                    }
+                } else {
+                    stringTable.skip(tag);
+                }
+            }
+            return new Names(records, strings);
+        }
+
+        /** Empty for the predefined strings, which are all names of kotlin classes rather than of members. */
+        Optional<String> get(int index) {
+            Record record = index < records.size() ? records.get(index) : Record.NONE;
+            if (record.predefined) {
+                return Optional.empty();
+            }
+
+            String string = record.string != null ? record.string : strings[index];
+            if (record.substring.size() >= 2) {
+                string = string.substring(record.substring.get(0), record.substring.get(1));
+            }
+            if (record.replaceChar.size() >= 2) {
+                string = string.replace((char) (int) record.replaceChar.get(0), (char) (int) record.replaceChar.get(1));
+            }
+            return Optional.of(string);
+        }
+    }
+
+    private static final class Record {
+        static final Record NONE = new Record();
+
+        private int range = 1;
+        private boolean predefined = false;
+        private String string = null;
+        private final List<Integer> substring = new ArrayList<>();
+        private final List<Integer> replaceChar = new ArrayList<>();
+
+        static Record read(ProtoReader message) {
+            Record record = new Record();
+            while (message.hasNext()) {
+                int tag = message.tag();
+                switch (tag >>> 3) {
+                    case 1:
+                        record.range = message.int32();
+                        break;
+                    case 2:
+                        message.int32();
+                        record.predefined = true;
+                        break;
+                    case 4:
+                        message.int32s(tag, record.substring);
+                        break;
+                    case 5:
+                        message.int32s(tag, record.replaceChar);
+                        break;
+                    case 6:
+                        record.string = message.string();
+                        break;
+                    default:
+                        message.skip(tag);
+                }
+            }
+            return record;
+        }
+    }
+
+    /** Reads the fields of a protobuf message one by one: each is a tag, followed by a value of the tag's wire type. */
+    private static final class ProtoReader {
+        private static final int VARINT = 0;
+        private static final int FIXED64 = 1;
+        private static final int LENGTH_DELIMITED = 2;
+        private static final int FIXED32 = 5;
+
+        private final byte[] bytes;
+        private final int end;
+        private int position;
+
+        ProtoReader(byte[] bytes) {
+            this(bytes, 0, bytes.length);
+        }
+
+        private ProtoReader(byte[] bytes, int position, int end) {
+            this.bytes = bytes;
+            this.position = position;
+            this.end = end;
+        }
+
+        boolean hasNext() {
+            return position < end;
+        }
+
+        int tag() {
+            return int32();
+        }
+
+        int int32() {
+            return (int) varint();
+        }
+
+        /** The values of a repeated field, which may or may not be packed into one length delimited value. */
+        void int32s(int tag, List<Integer> values) {
+            if ((tag & 0b111) != LENGTH_DELIMITED) {
+                values.add(int32());
+                return;
+            }
+
+            ProtoReader packed = message();
+            while (packed.hasNext()) {
+                values.add(packed.int32());
+            }
+        }
+
+        String string() {
+            int length = lengthOfNext();
+            String string = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return string;
+        }
+
+        ProtoReader message() {
+            int length = lengthOfNext();
+            ProtoReader message = new ProtoReader(bytes, position, position + length);
+            position += length;
+            return message;
+        }
+
+        void skip(int tag) {
+            switch (tag & 0b111) {
+                case VARINT:
+                    varint();
+                    return;
+                case FIXED64:
+                    position += 8;
+                    return;
+                case LENGTH_DELIMITED:
+                    int length = lengthOfNext();
+                    position += length;
+                    return;
+                case FIXED32:
+                    position += 4;
+                    return;
+                default:
+                    throw new IllegalArgumentException("Unknown protobuf wire type in tag " + tag);
+            }
+        }
+
+        private int lengthOfNext() {
+            int length = int32();
+            if (length < 0 || position + length > end) {
+                throw new IllegalArgumentException("Protobuf value runs past the end of its message");
+            }
+            return length;
+        }
+
+        private long varint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position >= end) {
+                    throw new IllegalArgumentException("Protobuf varint runs past the end of its message");
+                }
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7f) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed protobuf varint");
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import org.revapi.AnalysisContext;
+import org.revapi.ElementFilter;
+import org.revapi.java.spi.JavaFieldElement;
+import org.revapi.java.spi.JavaMethodElement;
+import org.revapi.java.spi.JavaModelElement;
+import org.revapi.java.spi.JavaTypeElement;
+
+/**
+ * Leaves out the classes and members of kotlin code that aren't part of its api, as told by {@link KotlinMetadata}:
+ * {@code internal} and synthetic declarations, which kotlin compiles to public jvm classes and members. The metadata
+ * of each class is decoded once, the first time one of its elements is looked at, and classes without any cost one
+ * lookup of their annotations. Declarations annotated with {@code @PublishedApi} are kept, as public inline functions
+ * call them.
+ */
+public final class KotlinMetadataFilter implements ElementFilter, AnalysisMetrics.Source {
+    private static final String EXTENSION_ID = "gradle-revapi.kotlin";
+    public static final RevapiConfig CONFIG = RevapiConfig.empty().withExtension(EXTENSION_ID);
+
+    private static final String PUBLISHED_API = "kotlin.PublishedApi";
+
+    private final Map<TypeElement, KotlinMetadata> metadataByType = new HashMap<>();
+    private long excluded = 0;
+
+    @Override
+    public String getExtensionId() {
+        return EXTENSION_ID;
+    }
+
+    @Override
+    public void initialize(@Nonnull AnalysisContext _analysisContext) {}
+
+    @Override
+    public boolean applies(@Nullable org.revapi.Element element) {
+        if (isApi(element)) {
+            return true;
+        }
+
+        excluded++;
+        return false;
+    }
+
+    @Override
+    public boolean shouldDescendInto(@Nullable Object element) {
+        return !(element instanceof JavaTypeElement) || isApi((JavaTypeElement) element);
+    }
+
+    private boolean isApi(@Nullable org.revapi.Element element) {
+        if (element instanceof JavaTypeElement) {
+            TypeElement typeElement = ((JavaTypeElement) element).getDeclaringElement();
+            return metadataFor(typeElement).isApi() || isPublishedApi(typeElement);
+        }
+
+        if (element instanceof JavaMethodElement || element instanceof JavaFieldElement) {
+            Element member = ((JavaModelElement) element).getDeclaringElement();
+            if (!(member.getEnclosingElement() instanceof TypeElement)) {
+                return true;
+            }
+
+            // Revapi still descends into hidden classes, including to their inherited members, when another filter asks
+            if (element.getParent() instanceof JavaTypeElement && !isApi(element.getParent())) {
+                return false;
+            }
+
+            KotlinMetadata metadata = metadataFor((TypeElement) member.getEnclosingElement());
+            String name = member.getSimpleName().toString();
+            return (element instanceof JavaMethodElement ? metadata.isApiMethod(name) : metadata.isApiField(name))
+                    || isPublishedApi(member);
+        }
+
+        return true;
+    }
+
+    private KotlinMetadata metadataFor(TypeElement typeElement) {
+        return metadataByType.computeIfAbsent(typeElement, KotlinMetadata::of);
+    }
+
+    private static boolean isPublishedApi(Element element) {
+        for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) annotationMirror.getAnnotationType().asElement())
+                    .getQualifiedName()
+                    .contentEquals(PUBLISHED_API)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void contributeTo(AnalysisMetrics metrics) {
+        metrics.increment(AnalysisMetrics.elementsExcluded(EXTENSION_ID), excluded);
+    }
+
+    @Nullable
+    @Override
+    public Reader getJSONSchema() {
+        return null;
+    }
+
+    @Override
+    public void close() {
+        metadataByType.clear();
+    }
+}
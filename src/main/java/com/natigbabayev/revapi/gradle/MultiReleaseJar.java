@@ -0,0 +1,123 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * The classes a multi-release jar has for one java release. Such a jar has a version of some of its classes for each
+ * release in {@code META-INF/versions/<release>/}, on top of those in its root, which revapi would otherwise model as
+ * separate, duplicate classes. The entries to keep are picked from the jar's central directory, so only they are ever
+ * read, and are written to a jar of their own, in the root, as though it had only ever been built for the release.
+ */
+final class MultiReleaseJar {
+    private static final String VERSIONS = "META-INF/versions/";
+    private static final Pattern VERSIONED_ENTRY = Pattern.compile(Pattern.quote(VERSIONS) + "(\\d+)/(.+)");
+    private static final Attributes.Name MULTI_RELEASE = new Attributes.Name("Multi-Release");
+
+    private MultiReleaseJar() {}
+
+    /** The jar as seen by {@code release}, or empty when it isn't a multi-release jar and is seen as it is. */
+    static Optional<byte[]> releaseView(File jar, int release) {
+        try (ZipFile zipFile = new ZipFile(jar)) {
+            Optional<Map<String, ZipEntry>> entries = entriesFor(zipFile, release);
+            if (!entries.isPresent()) {
+                return Optional.empty();
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ZipOutputStream output = new ZipOutputStream(bytes)) {
+                for (Map.Entry<String, ZipEntry> entry : entries.get().entrySet()) {
+                    output.putNextEntry(new ZipEntry(entry.getKey()));
+                    try (InputStream input = zipFile.getInputStream(entry.getValue())) {
+                        ByteStreams.copy(input, output);
+                    }
+                    output.closeEntry();
+                }
+            }
+            return Optional.of(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + jar, e);
+        }
+    }
+
+    /**
+     * The entry of the jar each path in its root resolves to for {@code release}, or empty when it isn't a
+     * multi-release jar and is seen as it is.
+     */
+    static Optional<Map<String, ZipEntry>> entriesFor(ZipFile zipFile, int release) throws IOException {
+        if (!isMultiRelease(zipFile)) {
+            return Optional.empty();
+        }
+
+        // The entry each path in the root resolves to, along with the release of the directory it is in
+        Map<String, ZipEntry> entries = new TreeMap<>();
+        Map<String, Integer> releases = new TreeMap<>();
+        Enumeration<? extends ZipEntry> allEntries = zipFile.entries();
+        while (allEntries.hasMoreElements()) {
+            ZipEntry entry = allEntries.nextElement();
+            if (entry.isDirectory()) {
+                continue;
+            }
+
+            Matcher versioned = VERSIONED_ENTRY.matcher(entry.getName());
+            if (!versioned.matches()) {
+                if (!entry.getName().startsWith(VERSIONS)) {
+                    entries.putIfAbsent(entry.getName(), entry);
+                    releases.putIfAbsent(entry.getName(), 0);
+                }
+                continue;
+            }
+
+            int entryRelease = Integer.parseInt(versioned.group(1));
+            String path = versioned.group(2);
+            if (entryRelease <= release && entryRelease > releases.getOrDefault(path, 0)) {
+                entries.put(path, entry);
+                releases.put(path, entryRelease);
+            }
+        }
+        return Optional.of(entries);
+    }
+
+    private static boolean isMultiRelease(ZipFile zipFile) throws IOException {
+        ZipEntry manifestEntry = zipFile.getEntry(JarFile.MANIFEST_NAME);
+        if (manifestEntry == null) {
+            return false;
+        }
+
+        try (InputStream input = zipFile.getInputStream(manifestEntry)) {
+            return "true".equalsIgnoreCase(new Manifest(input).getMainAttributes().getValue(MULTI_RELEASE));
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.natigbabayev.revapi.gradle;
 
 import java.io.File;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.gradle.api.Project;
@@ -44,6 +45,29 @@ final class OldApiConfigurations {
                 project, () -> resolveConfigurationUnlessMissingJars(groupNameVersion.version(), oldApiConfiguration));
     }
 
+    /**
+     * The {@link ApiSignaturesVariant} published alongside that version, if there is one. Releases made before it was
+     * published, or by builds without this plugin, only have the jar.
+     */
+    static Optional<File> resolveOldApiSignatures(Project project, GroupNameVersion groupNameVersion) {
+        Dependency signaturesDependency = project.getDependencies()
+                .create(groupNameVersion.asString() + ":" + ApiSignaturesVariant.CLASSIFIER + "@"
+                        + ApiSignaturesVariant.EXTENSION);
+
+        Configuration signaturesConfiguration = project.getConfigurations().detachedConfiguration();
+        signaturesConfiguration.getDependencies().add(signaturesDependency);
+        signaturesConfiguration.setTransitive(false);
+
+        // Lenient, as the version can exist without the signatures, in which case the jars are resolved as before
+        return PreviousVersionResolutionHelpers.withRenamedGroupForCurrentThread(project, () -> signaturesConfiguration
+                .getIncoming()
+                .artifactView(view -> view.lenient(true))
+                .getFiles()
+                .getFiles()
+                .stream()
+                .findFirst());
+    }
+
     private static Set<File> resolveConfigurationUnlessMissingJars(Version oldVersion, Configuration configuration)
             throws CouldNotResolveOldApiException {
 
@@ -57,7 +81,7 @@ final class OldApiConfigurations {
                 .collect(Collectors.toList());
 
         if (resolutionFailures.isEmpty()) {
-            return configuration.resolve();
+            return ApiModelTransform.apiModelsOf(configuration, _component -> true).getFiles();
         }
 
         throw new CouldNotResolveOldApiException(oldVersion, resolutionFailures);
@@ -0,0 +1,131 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decides whether dotted names (packages, classes, nested classes) are included or excluded based on lists of
+ * prefixes, where a prefix matches whole segments only: {@code com.foo} matches {@code com.foo.Bar} and
+ * {@code com.foo.bar.Baz} but not {@code com.foobar.Baz}. The deepest matching prefix wins, so an include nested
+ * inside an excluded package carves that subpackage back out. If there are any includes, names matching no prefix at
+ * all are excluded.
+ */
+final class PackagePrefixTrie {
+    private enum Decision {
+        INCLUDE,
+        EXCLUDE,
+        INHERIT
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private Decision decision = Decision.INHERIT;
+        private boolean includesBelow = false;
+
+        private Node child(String segment) {
+            return children.computeIfAbsent(segment, _segment -> new Node());
+        }
+    }
+
+    private final Node root;
+    private final Decision defaultDecision;
+
+    private PackagePrefixTrie(Node root, Decision defaultDecision) {
+        this.root = root;
+        this.defaultDecision = defaultDecision;
+    }
+
+    static PackagePrefixTrie of(Iterable<String> includes, Iterable<String> excludes) {
+        Node root = new Node();
+        boolean hasIncludes = false;
+
+        for (String exclude : excludes) {
+            insert(root, exclude).decision = Decision.EXCLUDE;
+        }
+
+        for (String include : includes) {
+            hasIncludes = true;
+            insert(root, include).decision = Decision.INCLUDE;
+            markIncludesBelow(root, include);
+        }
+
+        return new PackagePrefixTrie(root, hasIncludes ? Decision.EXCLUDE : Decision.INCLUDE);
+    }
+
+    boolean isEmpty() {
+        return root.children.isEmpty();
+    }
+
+    boolean isIncluded(String qualifiedName) {
+        return decide(qualifiedName, false) == Decision.INCLUDE;
+    }
+
+    /**
+     * Whether {@code qualifiedName} and everything nested under it is excluded, meaning a caller walking a tree of
+     * names need not look any deeper.
+     */
+    boolean isSubtreeExcluded(String qualifiedName) {
+        return decide(qualifiedName, true) == Decision.EXCLUDE;
+    }
+
+    private Decision decide(String qualifiedName, boolean wholeSubtree) {
+        Decision decision = defaultDecision;
+        Node node = root;
+        int start = 0;
+
+        while (node != null && start <= qualifiedName.length()) {
+            int end = qualifiedName.indexOf('.', start);
+            if (end == -1) {
+                end = qualifiedName.length();
+            }
+
+            node = node.children.get(qualifiedName.substring(start, end));
+            if (node != null && node.decision != Decision.INHERIT) {
+                decision = node.decision;
+            }
+
+            if (node != null && end == qualifiedName.length()) {
+                if (wholeSubtree && node.includesBelow) {
+                    return Decision.INCLUDE;
+                }
+                return decision;
+            }
+
+            start = end + 1;
+        }
+
+        return decision;
+    }
+
+    private static Node insert(Node root, String prefix) {
+        Node node = root;
+        for (String segment : prefix.split("\\.")) {
+            node = node.child(segment);
+        }
+        return node;
+    }
+
+    private static void markIncludesBelow(Node root, String include) {
+        Node node = root;
+        for (String segment : include.split("\\.")) {
+            node.includesBelow = true;
+            node = node.child(segment);
+        }
+    }
+}
@@ -41,12 +41,19 @@ final class ResolveOldApi {
     private ResolveOldApi() {}
 
     public static Provider<Optional<OldApi>> oldApiProvider(
-            Project project, RevapiExtension extension, ConfigManager configManager) {
-
-        return GradleUtils.memoisedProvider(
-                project,
-                () -> resolveOldApiAcrossAllOldVersions(
-                        project, extension, configManager.fromFileOrEmptyIfDoesNotExist()));
+            Project project,
+            RevapiExtension extension,
+            ConfigManager configManager,
+            Provider<RevapiMetricsService> metricsService) {
+
+        return GradleUtils.memoisedProvider(project, () -> {
+            AnalysisMetrics metrics =
+                    metricsService.get().forProject(project.getPath(), RevapiMetricsService.metricsFile(project));
+            try (AnalysisMetrics.Span _span = metrics.span(AnalysisMetrics.OLD_API_RESOLUTION)) {
+                return resolveOldApiAcrossAllOldVersions(
+                        project, extension, configManager.fromFileOrEmptyIfDoesNotExist());
+            }
+        });
     }
 
     private static Optional<OldApi> resolveOldApiAcrossAllOldVersions(
@@ -98,6 +105,11 @@ final class ResolveOldApi {
     private static OldApi resolveOldApiWithVersion(Project project, GroupNameVersion groupNameVersion)
             throws CouldNotResolveOldApiException {
 
+        Optional<File> oldApiSignatures = OldApiConfigurations.resolveOldApiSignatures(project, groupNameVersion);
+        if (oldApiSignatures.isPresent()) {
+            return OldApi.builder().signatures(oldApiSignatures).build();
+        }
+
         Set<File> oldOnlyJar = OldApiConfigurations.resolveOldConfiguration(project, groupNameVersion, false);
         Set<File> oldWithDeps = OldApiConfigurations.resolveOldConfiguration(project, groupNameVersion, true);
 
@@ -125,6 +137,12 @@ final class ResolveOldApi {
 
         Set<File> dependencyJars();
 
+        /**
+         * The {@link ApiSignaturesVariant} published with the old version. When present, it is compared against
+         * instead of the jars, which are then not resolved at all.
+         */
+        Optional<File> signatures();
+
         class Builder extends ImmutableOldApi.Builder {}
 
         static Builder builder() {
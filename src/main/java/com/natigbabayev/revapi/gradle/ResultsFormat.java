@@ -0,0 +1,235 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.revapi.CompatibilityType;
+import org.revapi.DifferenceSeverity;
+
+/**
+ * Formats, besides the json that revapi writes the {@link AnalysisResults} in, for tools to read them in. Each is
+ * written next to the results file by {@link ResultsFormatReporter}, which writes every result straight out as revapi
+ * reports it, so however many results there are, only one of them is ever in memory.
+ */
+public enum ResultsFormat {
+    /** Strict json with one result per line. */
+    JSON_LINES("jsonl") {
+        @Override
+        JsonGenerator generator(OutputStream out) throws IOException {
+            return JSON_FACTORY.createGenerator(out).setRootValueSeparator(null);
+        }
+
+        @Override
+        void start(JsonGenerator generator) {}
+
+        @Override
+        void writeResult(JsonGenerator generator, AnalysisResult result) throws IOException {
+            writeResultObject(generator, result);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void finish(JsonGenerator generator, String archiveNames) {}
+    },
+
+    /** The Static Analysis Results Interchange Format that code scanning tools read, version 2.1.0. */
+    SARIF("sarif") {
+        @Override
+        JsonGenerator generator(OutputStream out) throws IOException {
+            return JSON_FACTORY.createGenerator(out);
+        }
+
+        @Override
+        void start(JsonGenerator generator) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("$schema", "https://json.schemastore.org/sarif-2.1.0.json");
+            generator.writeStringField("version", "2.1.0");
+            generator.writeArrayFieldStart("runs");
+            generator.writeStartObject();
+            generator.writeObjectFieldStart("tool");
+            generator.writeObjectFieldStart("driver");
+            generator.writeStringField("name", "revapi");
+            generator.writeStringField("informationUri", "https://revapi.org");
+            generator.writeEndObject();
+            generator.writeEndObject();
+            generator.writeArrayFieldStart("results");
+        }
+
+        @Override
+        void writeResult(JsonGenerator generator, AnalysisResult result) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("ruleId", result.code());
+            generator.writeStringField("level", sarifLevel(result.classification()));
+            generator.writeObjectFieldStart("message");
+            generator.writeStringField("text", result.description() == null ? result.code() : result.description());
+            generator.writeEndObject();
+
+            String element = result.newElement() == null ? result.oldElement() : result.newElement();
+            if (element != null) {
+                generator.writeArrayFieldStart("locations");
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("logicalLocations");
+                generator.writeStartObject();
+                generator.writeStringField("fullyQualifiedName", element);
+                generator.writeEndObject();
+                generator.writeEndArray();
+                generator.writeEndObject();
+                generator.writeEndArray();
+            }
+
+            generator.writeFieldName("properties");
+            writeResultObject(generator, result);
+            generator.writeEndObject();
+        }
+
+        @Override
+        void finish(JsonGenerator generator, String archiveNames) throws IOException {
+            generator.writeEndArray();
+            generator.writeObjectFieldStart("properties");
+            generator.writeStringField("archiveNames", archiveNames);
+            generator.writeEndObject();
+            generator.writeEndObject();
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    },
+
+    /** The same as the json results, in the compact binary CBOR encoding. */
+    CBOR("cbor") {
+        @Override
+        JsonGenerator generator(OutputStream out) throws IOException {
+            return CBOR_FACTORY.createGenerator(out);
+        }
+
+        @Override
+        void start(JsonGenerator generator) throws IOException {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("results");
+        }
+
+        @Override
+        void writeResult(JsonGenerator generator, AnalysisResult result) throws IOException {
+            writeResultObject(generator, result);
+        }
+
+        @Override
+        void finish(JsonGenerator generator, String archiveNames) throws IOException {
+            generator.writeEndArray();
+            generator.writeStringField("archiveNames", archiveNames);
+            generator.writeEndObject();
+        }
+    };
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final CBORFactory CBOR_FACTORY = new CBORFactory();
+
+    private final String extension;
+
+    ResultsFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /** The format with the given file extension, which is how formats are named in {@link RevapiExtension}. */
+    static ResultsFormat fromExtension(String extension) {
+        return Arrays.stream(values())
+                .filter(format -> format.extension.equals(extension))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown results format '" + extension
+                        + "', expected one of "
+                        + Arrays.stream(values()).map(format -> format.extension).collect(Collectors.toList())));
+    }
+
+    /** Where results in this format are written, alongside {@code resultsFile}. */
+    final File fileFor(File resultsFile) {
+        String name = resultsFile.getName().replaceAll("\\.json$", "");
+        return new File(resultsFile.getParentFile(), name + "." + extension);
+    }
+
+    /** Starts writing results in this format next to {@code resultsFile}, which are complete once it is closed. */
+    final Writer open(File resultsFile, String archiveNames) throws IOException {
+        JsonGenerator generator =
+                generator(new BufferedOutputStream(Files.newOutputStream(fileFor(resultsFile).toPath())));
+        start(generator);
+        return new Writer(this, generator, archiveNames);
+    }
+
+    abstract JsonGenerator generator(OutputStream out) throws IOException;
+
+    abstract void start(JsonGenerator generator) throws IOException;
+
+    abstract void writeResult(JsonGenerator generator, AnalysisResult result) throws IOException;
+
+    abstract void finish(JsonGenerator generator, String archiveNames) throws IOException;
+
+    /** Writes the results of one analysis in one format, one at a time. */
+    static final class Writer implements Closeable {
+        private final ResultsFormat format;
+        private final JsonGenerator generator;
+        private final String archiveNames;
+
+        private Writer(ResultsFormat format, JsonGenerator generator, String archiveNames) {
+            this.format = format;
+            this.generator = generator;
+            this.archiveNames = archiveNames;
+        }
+
+        void write(AnalysisResult result) throws IOException {
+            format.writeResult(generator, result);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (JsonGenerator _generator = generator) {
+                format.finish(generator, archiveNames);
+            }
+        }
+    }
+
+    private static void writeResultObject(JsonGenerator generator, AnalysisResult result) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("code", result.code());
+        generator.writeStringField("oldElement", result.oldElement());
+        generator.writeStringField("newElement", result.newElement());
+        generator.writeStringField("description", result.description());
+        generator.writeStringField("oldArchiveName", result.oldArchiveName());
+        generator.writeStringField("newArchiveName", result.newArchiveName());
+        generator.writeObjectFieldStart("classification");
+        for (Map.Entry<CompatibilityType, DifferenceSeverity> entry : result.classification().entrySet()) {
+            generator.writeStringField(entry.getKey().name(), entry.getValue().name());
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private static String sarifLevel(Map<CompatibilityType, DifferenceSeverity> classification) {
+        if (classification.containsValue(DifferenceSeverity.BREAKING)) {
+            return "error";
+        }
+        return classification.containsValue(DifferenceSeverity.POTENTIALLY_BREAKING) ? "warning" : "note";
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.jboss.dmr.ModelNode;
+import org.revapi.AnalysisContext;
+import org.revapi.Archive;
+import org.revapi.Difference;
+import org.revapi.DifferenceSeverity;
+import org.revapi.Element;
+import org.revapi.Report;
+import org.revapi.Reporter;
+
+/**
+ * Writes the differences revapi reports in each of the {@link ResultsFormat}s asked for, as they are reported. The
+ * text reporter that writes the json results instead keeps every report until the analysis is closed, so that it can
+ * write them in order, which the extra formats don't promise to do.
+ */
+public final class ResultsFormatReporter implements Reporter {
+    private static final String EXTENSION_ID = "gradle-revapi.results-formats";
+
+    private final List<ResultsFormat.Writer> writers = new ArrayList<>();
+
+    static RevapiConfig configFor(File resultsFile, Set<ResultsFormat> formats) {
+        if (formats.isEmpty()) {
+            return RevapiConfig.empty();
+        }
+
+        ObjectNode config = RevapiConfig.createObjectNode().put("resultsFile", resultsFile.getAbsolutePath());
+        formats.forEach(format -> config.withArray("formats").add(format.name()));
+        return RevapiConfig.empty().withExtension(EXTENSION_ID, config);
+    }
+
+    @Override
+    public String getExtensionId() {
+        return EXTENSION_ID;
+    }
+
+    @Nullable
+    @Override
+    public Reader getJSONSchema() {
+        return null;
+    }
+
+    @Override
+    public void initialize(@Nonnull AnalysisContext analysisContext) {
+        ModelNode config = analysisContext.getConfiguration();
+        if (!config.isDefined()) {
+            return;
+        }
+
+        File resultsFile = new File(config.get("resultsFile").asString());
+        String archiveNames = StreamSupport.stream(analysisContext.getNewApi().getArchives().spliterator(), false)
+                .map(Archive::getName)
+                .collect(Collectors.joining(", "));
+
+        try {
+            for (ModelNode format : config.get("formats").asList()) {
+                writers.add(ResultsFormat.valueOf(format.asString()).open(resultsFile, archiveNames));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void report(@Nonnull Report report) {
+        // The same reports as the text reporter is configured to write, see RevapiConfig#withTextReporter
+        if (writers.isEmpty() || !isBreaking(report)) {
+            return;
+        }
+
+        try {
+            for (Difference difference : report.getDifferences()) {
+                AnalysisResult result = toResult(report, difference);
+                for (ResultsFormat.Writer writer : writers) {
+                    writer.write(result);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (ResultsFormat.Writer writer : writers) {
+            writer.close();
+        }
+        writers.clear();
+    }
+
+    private static boolean isBreaking(Report report) {
+        return report.getDifferences().stream()
+                .anyMatch(difference -> difference.classification.containsValue(DifferenceSeverity.BREAKING));
+    }
+
+    private static AnalysisResult toResult(Report report, Difference difference) {
+        return AnalysisResult.builder()
+                .code(difference.code)
+                .oldElement(nameOf(report.getOldElement()))
+                .newElement(nameOf(report.getNewElement()))
+                .description(difference.description)
+                .oldArchiveName(archiveNameOf(report.getOldElement()))
+                .newArchiveName(archiveNameOf(report.getNewElement()))
+                .putAllClassification(difference.classification)
+                .build();
+    }
+
+    @Nullable
+    private static String nameOf(@Nullable Element element) {
+        return element == null ? null : element.toString();
+    }
+
+    @Nullable
+    private static String archiveNameOf(@Nullable Element element) {
+        return element == null || element.getArchive() == null ? null : element.getArchive().getName();
+    }
+}
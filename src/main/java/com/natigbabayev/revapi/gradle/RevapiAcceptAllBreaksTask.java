@@ -16,12 +16,14 @@
 
 package com.natigbabayev.revapi.gradle;
 
+import java.io.File;
 import java.util.Set;
+import java.util.TreeSet;
 import org.gradle.api.DefaultTask;
-import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Input;
-import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.InputFiles;
 import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.options.Option;
@@ -37,8 +39,7 @@ public class RevapiAcceptAllBreaksTask extends DefaultTask {
     private final Property<GroupNameVersion> oldGroupNameVersion =
             getProject().getObjects().property(GroupNameVersion.class);
 
-    private final RegularFileProperty analysisResultsFile =
-            getProject().getObjects().fileProperty();
+    private final ConfigurableFileCollection analysisResultsFiles = getProject().files();
     private final Property<Justification> justification =
             getProject().getObjects().property(Justification.class);
 
@@ -56,9 +57,10 @@ public class RevapiAcceptAllBreaksTask extends DefaultTask {
         return oldGroupNameVersion;
     }
 
-    @InputFile
-    final RegularFileProperty getAnalysisResultsFile() {
-        return analysisResultsFile;
+    /** The results of every analysis of this project, which is one per variant for Android libraries. */
+    @InputFiles
+    final ConfigurableFileCollection getAnalysisResultsFiles() {
+        return analysisResultsFiles;
     }
 
     @Option(option = JUSTIFICATION, description = "Justification for why these breaks are ok")
@@ -72,8 +74,14 @@ public class RevapiAcceptAllBreaksTask extends DefaultTask {
             throw new RuntimeException("Please supply the --" + JUSTIFICATION + " param to this task");
         }
 
-        Set<AcceptedBreak> acceptedBreaks =
-                AnalysisResults.fromFile(analysisResultsFile.getAsFile().get()).toAcceptedBreaks(justification.get());
+        Set<AcceptedBreak> acceptedBreaks = new TreeSet<>();
+        for (File analysisResultsFile : analysisResultsFiles) {
+            // variants without an old api to compare against are not analysed
+            if (analysisResultsFile.isFile()) {
+                acceptedBreaks.addAll(
+                        AnalysisResults.fromFile(analysisResultsFile).toAcceptedBreaks(justification.get()));
+            }
+        }
 
         configManager
                 .get()
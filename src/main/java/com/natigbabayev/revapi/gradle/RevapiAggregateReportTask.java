@@ -0,0 +1,115 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.Project;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.TaskProvider;
+
+/**
+ * Reports the breaks found in every project applying this plugin together, failing once if there are any. A break
+ * found in many projects, as happens when a type they all depend on changes, is only reported once, along with the
+ * projects it was found in. The report is also written to {@code build/revapi/revapi-report.txt} in the root project.
+ */
+public class RevapiAggregateReportTask extends DefaultTask {
+    public static final String NAME = "revapiReport";
+
+    private final Map<String, File> analysisResultsFiles = new LinkedHashMap<>();
+    // Only resolved once the task runs, as finding out whether a project has an old api can mean resolving it
+    private final Map<String, Provider<Boolean>> analysed = new LinkedHashMap<>();
+    private final RegularFileProperty reportFile =
+            getProject().getObjects().fileProperty();
+
+    /** The analysis results file of each project that was analysed, by project path. */
+    @Internal
+    public final Provider<Map<String, File>> getAnalysisResultsFiles() {
+        return getProject().provider(() -> analysisResultsFiles.entrySet().stream()
+                .filter(entry -> analysed.get(entry.getKey()).get())
+                .collect(Collectors.toMap(
+                        Map.Entry::getKey, Map.Entry::getValue, (first, _second) -> first, LinkedHashMap::new)));
+    }
+
+    @Input
+    public final Provider<Set<String>> getProjectPaths() {
+        return getAnalysisResultsFiles().map(Map::keySet);
+    }
+
+    @InputFiles
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public final Provider<Collection<File>> getAnalysisResultsFilesToReport() {
+        return getAnalysisResultsFiles().map(Map::values);
+    }
+
+    @OutputFile
+    public final RegularFileProperty getReportFile() {
+        return reportFile;
+    }
+
+    /**
+     * Adds the results of a project's analysis, unless it has no old api to compare against, in which case it was not
+     * analysed and any results file is left over from an earlier build.
+     */
+    final void addAnalysis(String projectPath, File analysisResultsFile, Provider<Boolean> hasOldApi, Object analysis) {
+        analysisResultsFiles.put(projectPath, analysisResultsFile);
+        analysed.put(projectPath, hasOldApi);
+        dependsOn(analysis);
+    }
+
+    @TaskAction
+    public final void report() throws Exception {
+        BreaksIndex breaks = new BreaksIndex();
+        for (Map.Entry<String, File> entry : getAnalysisResultsFiles().get().entrySet()) {
+            AnalysisResults.forEachResult(entry.getValue(), result -> breaks.add(entry.getKey(), result));
+        }
+
+        StringWriter report = new StringWriter();
+        if (!breaks.isEmpty()) {
+            breaks.writeTo(report);
+        }
+        Files.write(reportFile.getAsFile().get().toPath(), report.toString().getBytes(StandardCharsets.UTF_8));
+
+        if (!breaks.isEmpty()) {
+            throw new RuntimeException("There were Java public API/ABI breaks reported by revapi:\n\n" + report);
+        }
+    }
+
+    static TaskProvider<RevapiAggregateReportTask> registerOn(Project rootProject) {
+        return rootProject.getTasks().register(NAME, RevapiAggregateReportTask.class, task -> {
+            task.setDescription("Reports the api breaks found by revapi in all projects, each only once");
+            task.getReportFile().set(new File(rootProject.getBuildDir(), "revapi/revapi-report.txt"));
+            RevapiRootPlugin.revapiPlugins(rootProject).forEach(plugin -> plugin.addAggregateReportAnalyses(task));
+        });
+    }
+}
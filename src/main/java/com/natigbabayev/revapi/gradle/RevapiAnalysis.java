@@ -0,0 +1,172 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.zip.ZipFile;
+import org.revapi.API;
+import org.revapi.AnalysisContext;
+import org.revapi.AnalysisResult;
+import org.revapi.Revapi;
+import org.revapi.java.JavaApiAnalyzer;
+import org.revapi.reporter.text.TextReporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Runs the analysis of a project's {@link AnalysisInputs}, independently of the gradle task running it. */
+final class RevapiAnalysis {
+    private static final Logger log = LoggerFactory.getLogger(RevapiAnalysis.class);
+
+    private RevapiAnalysis() {}
+
+    /** The java analyzer, the reporters and all of this plugin's own filters and transforms. */
+    static Revapi.Builder revapiBuilder() {
+        return Revapi.builder()
+                .withAllExtensionsFromThreadContextClassLoader()
+                .withAnalyzers(JavaApiAnalyzer.class)
+                .withReporters(TextReporter.class, ResultsFormatReporter.class)
+                .withFilters(ArchiveSelectionFilter.class, ApiElementFilter.class, KotlinMetadataFilter.class)
+                .withTransforms(
+                        CheckWhitelist.class,
+                        DifferenceCounter.class,
+                        ImmutablesFilter.class,
+                        GeneratedCodeFilter.class);
+    }
+
+    /**
+     * Analyses one project, writing its results to its {@link AnalysisInputs#analysisResultsFile()}. The same
+     * {@link Revapi} can be used for any number of analyses, one after another.
+     */
+    static void run(Revapi revapi, AnalysisInputs projectInputs, ArchiveCache sharedArchives, AnalysisMetrics metrics)
+            throws Exception {
+        AnalysisInputs inputs = projectInputs;
+        ArchiveCache archiveCache = sharedArchives.forRelease(inputs.targetRelease());
+        API oldApi;
+        API newApi;
+        try (AnalysisMetrics.Span _span = metrics.span(AnalysisMetrics.ARCHIVES)) {
+            if (projectInputs.oldApiBaseline().isPresent()) {
+                ApiBaseline.Contents baseline = ApiBaseline.read(projectInputs.oldApiBaseline().get());
+                oldApi = API.builder()
+                        .addArchives(baseline.apiArchives())
+                        .addSupportArchives(baseline.dependencyArchives())
+                        .build();
+                // Breaks are reported in the archives the baseline was written from, as well as in the new api's
+                inputs = AnalysisInputs.builder()
+                        .from(projectInputs)
+                        .addAllArchiveNamesToReportBreaks(baseline.apiArchiveNames())
+                        .build();
+                newApi = api(archiveCache, inputs.newApiJars(), inputs.newApiDependencyJars());
+            } else if (inputs.pruneUnreachableClasses() || inputs.exportedPackagesOnly()) {
+                ApiReachability.PrunedApis pruned = ApiReachability.prune(inputs, isRoot(inputs));
+                metrics.increment(AnalysisMetrics.REACHABLE_CLASSES, pruned.reachableClasses());
+                metrics.increment(AnalysisMetrics.PRUNED_CLASSES, pruned.classes() - pruned.reachableClasses());
+                metrics.increment(AnalysisMetrics.NON_EXPORTED_CLASSES, pruned.nonExportedClasses());
+                oldApi = pruned.oldApi();
+                newApi = pruned.newApi();
+            } else {
+                ArchiveCache.SupportArchives supportArchives = archiveCache.supportArchivesFor(
+                        inputs.oldApiDependencyJars(), inputs.newApiDependencyJars());
+                oldApi = API.builder()
+                        .addArchives(archiveCache.archivesFor(inputs.oldApiJars()))
+                        .addSupportArchives(supportArchives.oldArchives())
+                        .build();
+                newApi = API.builder()
+                        .addArchives(archiveCache.archivesFor(inputs.newApiJars()))
+                        .addSupportArchives(supportArchives.newArchives())
+                        .build();
+            }
+        }
+        archiveCache.contributeTo(metrics);
+        metrics.increment(
+                AnalysisMetrics.CLASSES_SCANNED, classFiles(inputs.oldApiJars()) + classFiles(inputs.newApiJars()));
+
+        log.info("Old API: {}", oldApi);
+        log.info("New API: {}", newApi);
+
+        RevapiConfig revapiConfig = inputs.revapiConfig();
+
+        if (log.isInfoEnabled()) {
+            log.info("revapi config:\n{}", revapiConfig.configAsString());
+        }
+
+        AnalysisResult analysisResult;
+        try (AnalysisMetrics.Span _span = metrics.span(AnalysisMetrics.ANALYSIS)) {
+            analysisResult = revapi.analyze(AnalysisContext.builder()
+                    .withOldAPI(oldApi)
+                    .withNewAPI(newApi)
+                    // https://revapi.org/modules/revapi-java/extensions/java.html
+                    .withConfiguration(revapiConfig.asModelNode())
+                    .build());
+        }
+
+        try (AnalysisResult _closed = analysisResult) {
+            analysisResult.throwIfFailed();
+
+            // Our extensions are closed along with the result, so have to be asked for their counts before that
+            contributeMetrics(analysisResult.getExtensions().getFilters().keySet(), metrics);
+            contributeMetrics(analysisResult.getExtensions().getTransforms().keySet(), metrics);
+        }
+    }
+
+    /**
+     * The public classes to look for the api from: those that would be analysed at all, given the {@link ApiFilters}
+     * and the classes the java analyzer is configured to leave out. Any of them reachable from the others are
+     * analysed anyway.
+     */
+    private static Predicate<String> isRoot(AnalysisInputs inputs) {
+        PackagePrefixTrie apiFilters =
+                PackagePrefixTrie.of(inputs.apiFilters().include(), inputs.apiFilters().exclude());
+        List<Pattern> excludedClasses = inputs.revapiConfig().excludedClasses();
+        return className -> apiFilters.isIncluded(className.replace('$', '.'))
+                && excludedClasses.stream().noneMatch(excluded -> excluded.matcher(className).matches());
+    }
+
+    private static void contributeMetrics(
+            Set<? extends AnalysisResult.ExtensionInstance<?>> extensions, AnalysisMetrics metrics) {
+        extensions.stream()
+                .map(AnalysisResult.ExtensionInstance::getInstance)
+                .filter(AnalysisMetrics.Source.class::isInstance)
+                .map(AnalysisMetrics.Source.class::cast)
+                .forEach(source -> source.contributeTo(metrics));
+    }
+
+    /**
+     * The class files in an api's own jars, every one of which revapi reads, unlike its support archives. Counted from
+     * the central directory of each jar, without inflating anything.
+     */
+    private static long classFiles(List<File> apiJars) throws IOException {
+        long classFiles = 0;
+        for (File jar : apiJars) {
+            try (ZipFile zip = new ZipFile(jar)) {
+                classFiles += zip.stream().filter(entry -> entry.getName().endsWith(".class")).count();
+            }
+        }
+        return classFiles;
+    }
+
+    private static API api(ArchiveCache archiveCache, List<File> apiJars, List<File> dependencyJars) {
+        return API.builder()
+                .addArchives(archiveCache.archivesFor(apiJars))
+                .addSupportArchives(archiveCache.archivesFor(dependencyJars))
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+
+/**
+ * Runs the analysis of a {@link RevapiAnalyzeTask} in a worker, so that the analyses of several variants of the same
+ * project, which gradle would otherwise run one after another, run at once.
+ */
+public abstract class RevapiAnalysisWork implements WorkAction<RevapiAnalysisWork.Params> {
+    public interface Params extends WorkParameters {
+        Property<AnalysisInputs> getInputs();
+
+        Property<RevapiMetricsService> getMetricsService();
+
+        Property<RevapiAnalyzerPool> getAnalyzerPool();
+
+        /** Whether to share the archives read with the other analyses of the project, see {@link ArchiveCache}. */
+        Property<Boolean> getShareArchives();
+    }
+
+    @Override
+    public final void execute() {
+        AnalysisInputs inputs = getParameters().getInputs().get();
+        RevapiAnalyzerPool analyzerPool = getParameters().getAnalyzerPool().get();
+        AnalysisMetrics metrics =
+                getParameters().getMetricsService().get().forProject(inputs.projectPath(), inputs.metricsFile());
+
+        // Taken before waiting to be admitted, so the archives of the project's running analyses are kept for this one
+        try (RevapiAnalyzerPool.ArchiveCacheLease archives =
+                        analyzerPool.archiveCacheFor(inputs.projectPath(), getParameters().getShareArchives().get());
+                HeapAdmission.Admitted _admitted = analyzerPool.admit(inputs, metrics);
+                RevapiAnalyzerPool.Lease lease = analyzerPool.acquire()) {
+            lease.contributeTo(metrics);
+            RevapiAnalysis.run(lease.revapi(), inputs, archives.archiveCache(), metrics);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to analyse the api of " + inputs.projectPath(), e);
+        }
+    }
+}
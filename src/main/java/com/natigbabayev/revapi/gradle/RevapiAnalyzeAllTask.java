@@ -0,0 +1,169 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.Project;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFiles;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.TaskProvider;
+import org.revapi.Revapi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Analyses the apis of every project applying this plugin in one go, writing each project's results where its own
+ * {@code revapiAnalyze} task would. All the analyses share one {@link Revapi} instance, so extensions are only
+ * looked up once, and one {@link ArchiveCache}, so jars that many projects depend on are only read once per build.
+ *
+ * <p>Setting the {@value #ANALYZE_ALL_PROPERTY} gradle property to {@code true} makes each project's {@code revapi}
+ * report task use the results of this task rather than of its own project's {@code revapiAnalyze}.
+ */
+public class RevapiAnalyzeAllTask extends DefaultTask {
+    public static final String NAME = "revapiAnalyzeAll";
+    public static final String ANALYZE_ALL_PROPERTY = "com.natigbabayev.revapi.analyzeAll";
+
+    private static final Logger log = LoggerFactory.getLogger(RevapiAnalyzeAllTask.class);
+
+    private final ListProperty<AnalysisInputs> analyses =
+            getProject().getObjects().listProperty(AnalysisInputs.class);
+    private final ConfigurableFileCollection analysedJars = getProject().files();
+    private final ConfigurableFileCollection analysisResultsFiles = getProject().files();
+    private final Property<RevapiMetricsService> metricsService =
+            getProject().getObjects().property(RevapiMetricsService.class);
+    private final Property<RevapiAnalyzerPool> analyzerPool =
+            getProject().getObjects().property(RevapiAnalyzerPool.class);
+
+    @Internal
+    final ListProperty<AnalysisInputs> getAnalyses() {
+        return analyses;
+    }
+
+    /**
+     * Everything about the analyses apart from the contents of the jars and baselines, which {@link #getAnalysedJars}
+     * tracks.
+     */
+    @Input
+    public final Provider<String> getAnalysesFingerprint() {
+        return analyses.map(RevapiAnalyzeAllTask::fingerprint);
+    }
+
+    @Classpath
+    public final ConfigurableFileCollection getAnalysedJars() {
+        return analysedJars;
+    }
+
+    @OutputFiles
+    public final ConfigurableFileCollection getAnalysisResultsFiles() {
+        return analysisResultsFiles;
+    }
+
+    @Internal
+    public final Property<RevapiMetricsService> getMetricsService() {
+        return metricsService;
+    }
+
+    @Internal
+    public final Property<RevapiAnalyzerPool> getAnalyzerPool() {
+        return analyzerPool;
+    }
+
+    final void addAnalysis(RevapiAnalyzeTask analyzeTask) {
+        analyses.add(getProject().provider(analyzeTask::analysisInputs));
+        analysedJars.from(
+                analyzeTask.getOldApiJars(),
+                analyzeTask.getOldApiDependencyJars(),
+                analyzeTask.getNewApiJars(),
+                analyzeTask.getNewApiDependencyJars());
+        // Through a callable, which can return null, as only some projects compare against a baseline
+        analysedJars.from((Callable<File>) () -> analyzeTask.getOldApiBaseline().getAsFile().getOrNull());
+        // Not the property itself, which would make this task depend on the analyze task producing it
+        analysisResultsFiles.from(analyzeTask.getAnalysisResultsFile().getAsFile().get());
+        analysisResultsFiles.from(analyzeTask.getFormattedResultsFiles().get().values());
+    }
+
+    @TaskAction
+    public final void analyzeAll() throws Exception {
+        ArchiveCache archiveCache = ArchiveCache.caching();
+
+        try (RevapiAnalyzerPool.Lease lease = analyzerPool.get().acquire()) {
+            for (AnalysisInputs inputs : analyses.get()) {
+                if (!inputs.hasOldApi()) {
+                    log.info("Skipping {} as it has no old api to compare against", inputs.projectPath());
+                    continue;
+                }
+
+                AnalysisMetrics metrics = metricsService.get().forProject(inputs.projectPath(), inputs.metricsFile());
+                lease.contributeTo(metrics);
+                try (HeapAdmission.Admitted _admitted = analyzerPool.get().admit(inputs, metrics)) {
+                    RevapiAnalysis.run(lease.revapi(), inputs, archiveCache, metrics);
+                }
+            }
+        }
+    }
+
+    static TaskProvider<RevapiAnalyzeAllTask> registerOn(
+            Project rootProject,
+            Provider<RevapiMetricsService> metricsService,
+            Provider<RevapiAnalyzerPool> analyzerPool) {
+        return rootProject.getTasks().register(NAME, RevapiAnalyzeAllTask.class, task -> {
+            task.setDescription("Analyses the apis of all projects using revapi, sharing the work between them");
+            task.getMetricsService().set(metricsService);
+            task.usesService(metricsService);
+            task.getAnalyzerPool().set(analyzerPool);
+            task.usesService(analyzerPool);
+            RevapiRootPlugin.revapiPlugins(rootProject).forEach(plugin -> plugin.analyzeAllAnalysis()
+                    .ifPresent(task::addAnalysis));
+        });
+    }
+
+    private static String fingerprint(List<AnalysisInputs> analyses) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        for (AnalysisInputs inputs : analyses) {
+            hasher.putString(inputs.projectPath(), StandardCharsets.UTF_8)
+                    .putString(inputs.revapiConfig().configAsString(), StandardCharsets.UTF_8)
+                    .putInt(inputs.targetRelease().orElse(0))
+                    .putBoolean(inputs.pruneUnreachableClasses())
+                    .putBoolean(inputs.exportedPackagesOnly());
+            putPaths(hasher, inputs.oldApiBaseline().map(Collections::singletonList).orElseGet(Collections::emptyList));
+            putPaths(hasher, inputs.oldApiJars());
+            putPaths(hasher, inputs.oldApiDependencyJars());
+            putPaths(hasher, inputs.newApiJars());
+            putPaths(hasher, inputs.newApiDependencyJars());
+        }
+        return hasher.hash().toString();
+    }
+
+    private static void putPaths(Hasher hasher, List<File> files) {
+        hasher.putInt(files.size());
+        files.forEach(file -> hasher.putString(file.getAbsolutePath(), StandardCharsets.UTF_8));
+    }
+}
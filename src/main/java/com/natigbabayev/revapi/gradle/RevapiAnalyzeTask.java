@@ -17,36 +17,60 @@
 package com.natigbabayev.revapi.gradle;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
+import javax.inject.Inject;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.file.FileCollection;
 import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.provider.SetProperty;
 import org.gradle.api.tasks.CacheableTask;
-import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.ClasspathNormalizer;
+import org.gradle.api.tasks.CompileClasspathNormalizer;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.OutputFiles;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
-import org.revapi.API;
-import org.revapi.AnalysisContext;
-import org.revapi.AnalysisResult;
-import org.revapi.Revapi;
+import org.gradle.workers.WorkerExecutor;
 import com.natigbabayev.revapi.gradle.config.AcceptedBreak;
-import org.revapi.java.JavaApiAnalyzer;
-import org.revapi.reporter.text.TextReporter;
-import org.revapi.simple.FileArchive;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
+/**
+ * Analyses the api of a project, or of one variant of an Android library, in a worker, so that the analyses of the
+ * variants of one project run at once.
+ */
 @CacheableTask
 public class RevapiAnalyzeTask extends DefaultTask {
-    private static final Logger log = LoggerFactory.getLogger(RevapiAnalyzeTask.class);
-
+    private final WorkerExecutor workerExecutor;
+    private final String projectPath = getProject().getPath();
+    private final FileCollection noFiles = getProject().files();
     private final SetProperty<AcceptedBreak> acceptedBreaks =
             getProject().getObjects().setProperty(AcceptedBreak.class);
+    private final ListProperty<GeneratedCodeRule> generatedCodeRules =
+            getProject().getObjects().listProperty(GeneratedCodeRule.class);
+    private final Property<ApiFilters> apiFilters =
+            getProject().getObjects().property(ApiFilters.class);
+    private final Property<ConjureProjectFilters> conjureProjectFilters =
+            getProject().getObjects().property(ConjureProjectFilters.class);
+    private final Property<Boolean> ignoreImplementationChanges =
+            getProject().getObjects().property(Boolean.class);
+    private final Property<Boolean> pruneUnreachableClasses =
+            getProject().getObjects().property(Boolean.class);
+    private final Property<Boolean> exportedPackagesOnly =
+            getProject().getObjects().property(Boolean.class);
+    private final Property<Integer> targetRelease =
+            getProject().getObjects().property(Integer.class);
     private final Property<FileCollection> newApiJars =
             getProject().getObjects().property(FileCollection.class);
     private final Property<FileCollection> newApiDependencyJars =
@@ -57,95 +81,213 @@ public class RevapiAnalyzeTask extends DefaultTask {
             getProject().getObjects().property(FileCollection.class);
     private final Property<FileCollection> oldApiDependencyJars =
             getProject().getObjects().property(FileCollection.class);
+    private final RegularFileProperty oldApiBaseline =
+            getProject().getObjects().fileProperty();
     private final RegularFileProperty analysisResultsFile =
             getProject().getObjects().fileProperty();
+    private final SetProperty<ResultsFormat> resultsFormats =
+            getProject().getObjects().setProperty(ResultsFormat.class);
+    private final Property<RevapiMetricsService> metricsService =
+            getProject().getObjects().property(RevapiMetricsService.class);
+    private final RegularFileProperty metricsFile =
+            getProject().getObjects().fileProperty();
+    private final Property<RevapiAnalyzerPool> analyzerPool =
+            getProject().getObjects().property(RevapiAnalyzerPool.class);
+    private final Property<Boolean> shareArchives =
+            getProject().getObjects().property(Boolean.class).convention(false);
+
+    @Inject
+    public RevapiAnalyzeTask(WorkerExecutor workerExecutor) {
+        this.workerExecutor = workerExecutor;
+        trackJars("newApiJar", newApiJars);
+        trackJars("newApiDependencyJar", newApiDependencyJars);
+        trackJars("oldApiJar", oldApiJars);
+        trackJars("oldApiDependencyJar", oldApiDependencyJars);
+    }
+
+    /**
+     * Tracks the contents of {@code jars} like a runtime classpath, or just their signatures like a compile classpath
+     * when ignoring implementation changes. Which one is only known once {@link #getIgnoreImplementationChanges} is
+     * set, so both are registered and the other is left empty.
+     */
+    private void trackJars(String propertyName, Property<FileCollection> jars) {
+        getInputs()
+                .files(trackedBy(false, jars))
+                .withPropertyName(propertyName + "Contents")
+                .withNormalizer(ClasspathNormalizer.class);
+        getInputs()
+                .files(trackedBy(true, jars))
+                .withPropertyName(propertyName + "Signatures")
+                .withNormalizer(CompileClasspathNormalizer.class);
+    }
 
     @Input
     public final SetProperty<AcceptedBreak> getAcceptedBreaks() {
         return acceptedBreaks;
     }
 
-    @Classpath
+    @Input
+    public final ListProperty<GeneratedCodeRule> getGeneratedCodeRules() {
+        return generatedCodeRules;
+    }
+
+    @Input
+    public final Property<ApiFilters> getApiFilters() {
+        return apiFilters;
+    }
+
+    @Input
+    public final Property<ConjureProjectFilters> getConjureProjectFilters() {
+        return conjureProjectFilters;
+    }
+
+    /**
+     * Whether only changes to the signatures in the jars, rather than to anything in them, make the analysis rerun.
+     * The jars are inputs either way, registered by {@code trackJars}: when this is set they are tracked with the
+     * {@link CompileClasspathNormalizer}, which ignores method bodies, private members and resources, and otherwise
+     * with the {@link ClasspathNormalizer}.
+     */
+    @Input
+    public final Property<Boolean> getIgnoreImplementationChanges() {
+        return ignoreImplementationChanges;
+    }
+
+    @Input
+    public final Property<Boolean> getPruneUnreachableClasses() {
+        return pruneUnreachableClasses;
+    }
+
+    @Input
+    public final Property<Boolean> getExportedPackagesOnly() {
+        return exportedPackagesOnly;
+    }
+
+    @org.gradle.api.tasks.Optional
+    @Input
+    public final Property<Integer> getTargetRelease() {
+        return targetRelease;
+    }
+
+    @Internal
     public final Property<FileCollection> getNewApiJars() {
         return newApiJars;
     }
 
-    @Classpath
+    @Internal
     public final Property<FileCollection> getNewApiDependencyJars() {
         return newApiDependencyJars;
     }
 
-    @Classpath
+    /** Tracked as {@link #getArchiveNamesToReportBreaks}, as their contents are among those of the other jars. */
+    @Internal
     public final Property<FileCollection> getJarsToReportBreaks() {
         return jarsToReportBreaks;
     }
 
-    @Classpath
+    @Input
+    public final Provider<SortedSet<String>> getArchiveNamesToReportBreaks() {
+        return jarsToReportBreaks.map(jars -> jars.getFiles().stream()
+                .map(File::getName)
+                .collect(Collectors.toCollection(TreeSet::new)));
+    }
+
+    @Internal
     public final Property<FileCollection> getOldApiJars() {
         return oldApiJars;
     }
 
-    @Classpath
+    @Internal
     public final Property<FileCollection> getOldApiDependencyJars() {
         return oldApiDependencyJars;
     }
 
+    /** When set, compared against instead of the old api jars. */
+    @org.gradle.api.tasks.Optional
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public final RegularFileProperty getOldApiBaseline() {
+        return oldApiBaseline;
+    }
+
     @OutputFile
     public final RegularFileProperty getAnalysisResultsFile() {
         return analysisResultsFile;
     }
 
-    @TaskAction
-    protected final void runRevapi() throws Exception {
-        API oldApi = api(oldApiJars, oldApiDependencyJars);
-        API newApi = api(newApiJars, newApiDependencyJars);
-
-        log.info("Old API: {}", oldApi);
-        log.info("New API: {}", newApi);
-
-        Revapi revapi = Revapi.builder()
-                .withAllExtensionsFromThreadContextClassLoader()
-                .withAnalyzers(JavaApiAnalyzer.class)
-                .withReporters(TextReporter.class)
-                .withTransforms(CheckWhitelist.class, ImmutablesFilter.class)
-                .build();
+    @Input
+    public final SetProperty<ResultsFormat> getResultsFormats() {
+        return resultsFormats;
+    }
+
+    @OutputFiles
+    public final Provider<Map<String, File>> getFormattedResultsFiles() {
+        return resultsFormats.map(formats -> formats.stream()
+                .collect(Collectors.toMap(
+                        ResultsFormat::name, format -> format.fileFor(analysisResultsFile.getAsFile().get()))));
+    }
 
-        RevapiConfig revapiConfig = RevapiConfig.mergeAll(
-                RevapiConfig.defaults(jarsToReportBreaks.get()),
-                RevapiConfig.empty()
-                        .withTextReporter(
-                                "gradle-revapi-results.ftl",
-                                analysisResultsFile.getAsFile().get()),
-                revapiIgnores(),
-                ConjureProjectFilters.forProject(getProject()),
-                ImmutablesFilter.CONFIG);
+    @Internal
+    public final Property<RevapiMetricsService> getMetricsService() {
+        return metricsService;
+    }
 
-        log.info("revapi config:\n{}", revapiConfig.configAsString());
+    @Internal
+    public final RegularFileProperty getMetricsFile() {
+        return metricsFile;
+    }
 
-        try (AnalysisResult analysisResult = revapi.analyze(AnalysisContext.builder()
-                .withOldAPI(oldApi)
-                .withNewAPI(newApi)
-                // https://revapi.org/modules/revapi-java/extensions/java.html
-                .withConfigurationFromJSON(revapiConfig.configAsString())
-                .build())) {
-            analysisResult.throwIfFailed();
-        }
+    @Internal
+    public final Property<RevapiAnalyzerPool> getAnalyzerPool() {
+        return analyzerPool;
     }
 
-    private RevapiConfig revapiIgnores() {
-        return RevapiConfig.empty().withIgnoredBreaks(acceptedBreaks.get());
+    /**
+     * Whether the jars read are kept in memory for the project's other analyses running at the same time, which for
+     * the variants of an Android library mostly depend on the same jars.
+     */
+    @Internal
+    public final Property<Boolean> getShareArchives() {
+        return shareArchives;
     }
 
-    private API api(Provider<FileCollection> apiJars, Provider<FileCollection> dependencyJars) {
-        return API.builder()
-                .addArchives(toFileArchives(apiJars))
-                .addSupportArchives(toFileArchives(dependencyJars))
+    @TaskAction
+    protected final void runRevapi() {
+        AnalysisInputs inputs = analysisInputs();
+        workerExecutor.noIsolation().submit(RevapiAnalysisWork.class, parameters -> {
+            parameters.getInputs().set(inputs);
+            parameters.getMetricsService().set(metricsService);
+            parameters.getAnalyzerPool().set(analyzerPool);
+            parameters.getShareArchives().set(shareArchives);
+        });
+    }
+
+    final AnalysisInputs analysisInputs() {
+        return AnalysisInputs.builder()
+                .projectPath(projectPath)
+                .oldApiJars(files(oldApiJars))
+                .oldApiDependencyJars(files(oldApiDependencyJars))
+                .oldApiBaseline(Optional.ofNullable(oldApiBaseline.getAsFile().getOrNull()))
+                .newApiJars(files(newApiJars))
+                .newApiDependencyJars(files(newApiDependencyJars))
+                .archiveNamesToReportBreaks(getArchiveNamesToReportBreaks().get())
+                .acceptedBreaks(acceptedBreaks.get())
+                .generatedCodeRules(generatedCodeRules.get())
+                .apiFilters(apiFilters.get())
+                .projectConfig(conjureProjectFilters.get().config())
+                .analysisResultsFile(analysisResultsFile.getAsFile().get())
+                .resultsFormats(resultsFormats.get())
+                .metricsFile(metricsFile.getAsFile().get())
+                .pruneUnreachableClasses(pruneUnreachableClasses.get())
+                .exportedPackagesOnly(exportedPackagesOnly.get())
+                .targetRelease(Optional.ofNullable(targetRelease.getOrNull()))
                 .build();
     }
 
-    private static List<FileArchive> toFileArchives(Provider<FileCollection> property) {
-        return property.get().filter(File::isFile).getFiles().stream()
-                .map(FileArchive::new)
-                .collect(Collectors.toList());
+    private Provider<FileCollection> trackedBy(boolean signatures, Property<FileCollection> jars) {
+        return jars.map(files -> ignoreImplementationChanges.get() == signatures ? files : noFiles);
+    }
+
+    private static List<File> files(Provider<FileCollection> property) {
+        return new ArrayList<>(property.get().filter(File::isFile).getFiles());
     }
 }
@@ -0,0 +1,186 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.gradle.api.Project;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.revapi.Revapi;
+
+/**
+ * Hands out ready built {@link Revapi} instances to the tasks analysing apis, and limits how many analyses run at once
+ * to {@link Params#getMaxConcurrentAnalyses()}, which defaults to the number of processors and can be set with the
+ * {@value #MAX_CONCURRENT_ANALYSES_PROPERTY} gradle property. On top of that, analyses only start while the heap they
+ * are estimated to need, all together, fits in {@link Params#getHeapBudgetBytes()}: half the maximum heap unless set in
+ * megabytes with the {@value #HEAP_BUDGET_MB_PROPERTY} gradle property. This lets many small projects be analysed at
+ * once without a handful of huge ones running the build out of memory.
+ *
+ * <p>Building a {@link Revapi} means looking up all its extensions, so instances are given back to the pool once an
+ * analysis is done with them, and reused by later analyses in the same build. They are dropped when the build ends,
+ * so they don't keep this plugin's classes loaded once its classloader is done with.
+ *
+ * <p>The analyses of the variants of an Android library run at once and mostly read the same dependency jars, so the
+ * pool also keeps an {@link ArchiveCache} for each such project, holding those jars in memory until the last of its
+ * analyses is done with them.
+ */
+public abstract class RevapiAnalyzerPool implements BuildService<RevapiAnalyzerPool.Params>, AutoCloseable {
+    public static final String MAX_CONCURRENT_ANALYSES_PROPERTY = "com.natigbabayev.revapi.maxConcurrentAnalyses";
+    public static final String HEAP_BUDGET_MB_PROPERTY = "com.natigbabayev.revapi.analysisHeapBudgetMb";
+
+    private static final String NAME = "revapiAnalyzers";
+
+    private final Queue<Revapi> idle = new ConcurrentLinkedQueue<>();
+    private final HeapAdmission heapAdmission;
+    // Guarded by itself, as a cache is dropped when its last lease is closed
+    private final Map<String, SharedArchiveCache> archiveCaches = new HashMap<>();
+
+    public interface Params extends BuildServiceParameters {
+        Property<Integer> getMaxConcurrentAnalyses();
+
+        Property<Long> getHeapBudgetBytes();
+    }
+
+    public RevapiAnalyzerPool() {
+        this.heapAdmission = new HeapAdmission(getParameters().getHeapBudgetBytes().get());
+    }
+
+    static Provider<RevapiAnalyzerPool> register(Project project) {
+        int maxConcurrentAnalyses = project.getProviders()
+                .gradleProperty(MAX_CONCURRENT_ANALYSES_PROPERTY)
+                .map(Integer::parseInt)
+                .getOrElse(Runtime.getRuntime().availableProcessors());
+        long heapBudgetBytes = project.getProviders()
+                .gradleProperty(HEAP_BUDGET_MB_PROPERTY)
+                .map(megabytes -> Long.parseLong(megabytes) * 1024 * 1024)
+                .getOrElse(Runtime.getRuntime().maxMemory() / 2);
+
+        return project.getGradle()
+                .getSharedServices()
+                .registerIfAbsent(NAME, RevapiAnalyzerPool.class, spec -> {
+                    spec.getParameters().getMaxConcurrentAnalyses().set(maxConcurrentAnalyses);
+                    spec.getParameters().getHeapBudgetBytes().set(heapBudgetBytes);
+                    spec.getMaxParallelUsages().set(maxConcurrentAnalyses);
+                });
+    }
+
+    /** A {@link Revapi} for the caller to use on its own until it closes the returned lease. */
+    final Lease acquire() {
+        Revapi revapi = idle.poll();
+        return revapi == null ? new Lease(RevapiAnalysis.revapiBuilder().build(), false) : new Lease(revapi, true);
+    }
+
+    /**
+     * Waits until there is room in the heap budget for {@code inputs} to be analysed, which the caller must do before
+     * closing the returned value.
+     */
+    final HeapAdmission.Admitted admit(AnalysisInputs inputs, AnalysisMetrics metrics) throws InterruptedException {
+        try (AnalysisMetrics.Span _span = metrics.span(AnalysisMetrics.HEAP_ADMISSION)) {
+            return heapAdmission.admit(inputs.estimatedHeapBytes());
+        }
+    }
+
+    /**
+     * An {@link ArchiveCache} for one analysis of {@code projectPath}, for the caller to use until it closes the
+     * returned lease. When {@code share}, it shares the archives it reads with the other analyses of the project that
+     * hold a lease, and they are dropped once the last of those leases is closed.
+     */
+    final ArchiveCacheLease archiveCacheFor(String projectPath, boolean share) {
+        if (!share) {
+            return new ArchiveCacheLease(Optional.empty(), ArchiveCache.uncached());
+        }
+
+        synchronized (archiveCaches) {
+            SharedArchiveCache shared =
+                    archiveCaches.computeIfAbsent(projectPath, _projectPath -> new SharedArchiveCache());
+            shared.leases++;
+            return new ArchiveCacheLease(Optional.of(projectPath), shared.archiveCache.sharingArchives());
+        }
+    }
+
+    @Override
+    public final void close() {
+        idle.clear();
+        synchronized (archiveCaches) {
+            archiveCaches.clear();
+        }
+    }
+
+    private static final class SharedArchiveCache {
+        private final ArchiveCache archiveCache = ArchiveCache.caching();
+        private int leases = 0;
+    }
+
+    final class ArchiveCacheLease implements AutoCloseable {
+        private final Optional<String> sharedBy;
+        private final ArchiveCache archiveCache;
+
+        private ArchiveCacheLease(Optional<String> sharedBy, ArchiveCache archiveCache) {
+            this.sharedBy = sharedBy;
+            this.archiveCache = archiveCache;
+        }
+
+        ArchiveCache archiveCache() {
+            return archiveCache;
+        }
+
+        @Override
+        public void close() {
+            sharedBy.ifPresent(projectPath -> {
+                synchronized (archiveCaches) {
+                    SharedArchiveCache shared = archiveCaches.get(projectPath);
+                    // the pool may have been closed under a running analysis, dropping every cache already
+                    if (shared != null && --shared.leases == 0) {
+                        archiveCaches.remove(projectPath);
+                    }
+                }
+            });
+        }
+    }
+
+    final class Lease implements AutoCloseable {
+        private final Revapi revapi;
+        private final boolean reused;
+
+        private Lease(Revapi revapi, boolean reused) {
+            this.revapi = revapi;
+            this.reused = reused;
+        }
+
+        Revapi revapi() {
+            return revapi;
+        }
+
+        void contributeTo(AnalysisMetrics metrics) {
+            metrics.increment(reused ? AnalysisMetrics.ANALYZERS_REUSED : AnalysisMetrics.ANALYZERS_CREATED, 1);
+        }
+
+        @Override
+        public void close() {
+            // Anything beyond the most that can be in use at once would never be handed out again
+            if (idle.size() < getParameters().getMaxConcurrentAnalyses().get()) {
+                idle.offer(revapi);
+            }
+        }
+    }
+}
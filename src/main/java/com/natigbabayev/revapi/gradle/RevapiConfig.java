@@ -16,39 +16,81 @@
 
 package com.natigbabayev.revapi.gradle;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.Streams;
 import java.io.File;
 import java.io.IOException;
-import java.util.Arrays;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
-import org.gradle.api.file.FileCollection;
+import org.immutables.serial.Serial;
 import org.immutables.value.Value;
+import org.jboss.dmr.ModelNode;
 import com.natigbabayev.revapi.gradle.config.AcceptedBreak;
 
+/**
+ * The configuration for each revapi extension taking part in an analysis. It is handed to revapi as a
+ * {@link ModelNode} built directly from the json trees, rather than being printed to a string for revapi to parse
+ * back in.
+ */
 @Value.Immutable
 @ImmutableStyle
+@Serial.Structural
 abstract class RevapiConfig {
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new Jdk8Module());
+    private static final String DEFAULTS_RESOURCE = "revapi-configuration.json";
+
+    // The defaults never change, so are only read and parsed once for each time this plugin's classes are loaded
+    private static final Supplier<RevapiConfig> DEFAULTS = Suppliers.memoize(RevapiConfig::readDefaults);
 
-    protected abstract List<JsonNode> config();
+    protected abstract List<ExtensionConfig> extensions();
 
+    @Value.Lazy
     public String configAsString() {
         try {
-            return OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(config());
+            return OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(extensions());
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /** A fresh {@link ModelNode} in the list of {@code {"extension": ..., "configuration": ...}} format. */
+    public ModelNode asModelNode() {
+        ModelNode modelNode = new ModelNode().setEmptyList();
+        for (ExtensionConfig extension : extensions()) {
+            ModelNode extensionNode = new ModelNode().setEmptyObject();
+            extensionNode.get("extension").set(extension.extension());
+            extensionNode.get("configuration").set(toModelNode(extension.configuration()));
+            modelNode.add(extensionNode);
+        }
+        return modelNode;
+    }
+
+    /** The classes the java analyzer is configured not to analyse, to be matched against their whole binary names. */
+    List<Pattern> excludedClasses() {
+        return extensions().stream()
+                .filter(extension -> extension.extension().equals("revapi.java"))
+                .map(extension -> extension.configuration().path("filter").path("classes"))
+                .flatMap(classes -> {
+                    boolean regex = classes.path("regex").asBoolean(false);
+                    return Streams.stream(classes.path("exclude"))
+                            .map(JsonNode::asText)
+                            .map(exclude -> Pattern.compile(regex ? exclude : Pattern.quote(exclude)));
+                })
+                .collect(Collectors.toList());
+    }
+
     public RevapiConfig withTextReporter(String templateName, File outputPath) {
         return withExtension(
                 "revapi.reporter.text",
@@ -69,48 +111,119 @@ abstract class RevapiConfig {
     }
 
     public RevapiConfig withExtension(String extensionId, JsonNode configuration) {
-        JsonNode extension =
-                OBJECT_MAPPER.createObjectNode().put("extension", extensionId).set("configuration", configuration);
-
-        return fromJsonNodes(
-                Stream.concat(config().stream(), Stream.of(extension)).collect(Collectors.toList()));
+        return new Builder()
+                .from(this)
+                .addExtensions(ExtensionConfig.of(extensionId, configuration))
+                .build();
     }
 
     public RevapiConfig mergeWith(RevapiConfig other) {
-        return new Builder().from(this).addAllConfig(other.config()).build();
+        return mergeAll(this, other);
     }
 
-    public static RevapiConfig defaults(FileCollection jarsToReportBreaks) {
-        String template = Utils.resourceToString(RevapiConfig.class, "revapi-configuration.json");
-
-        return fromString(template.replace(
-                "{{ARCHIVE_INCLUDE_REGEXES}}",
-                jarsToReportBreaks.getFiles().stream().map(File::getName).collect(Collectors.joining("\", \""))));
+    public static RevapiConfig defaults() {
+        return DEFAULTS.get();
     }
 
     public static RevapiConfig mergeAll(RevapiConfig... revapiConfigs) {
-        return Arrays.stream(revapiConfigs).reduce(empty(), RevapiConfig::mergeWith);
+        Builder builder = new Builder();
+        for (RevapiConfig revapiConfig : revapiConfigs) {
+            builder.addAllExtensions(revapiConfig.extensions());
+        }
+        return builder.build();
     }
 
     static final class Builder extends ImmutableRevapiConfig.Builder {}
 
     public static RevapiConfig empty() {
-        return fromJsonNodes(Collections.emptyList());
+        return new Builder().build();
     }
 
-    private static RevapiConfig fromString(String configJson) {
-        try {
-            return fromJsonNodes(OBJECT_MAPPER.readValue(configJson, new TypeReference<List<JsonNode>>() {}));
+    private static RevapiConfig readDefaults() {
+        try (InputStream defaults = RevapiConfig.class.getClassLoader().getResourceAsStream(DEFAULTS_RESOURCE)) {
+            if (defaults == null) {
+                throw new IllegalArgumentException(String.format(
+                        "Could not load resource '%s' for class '%s'",
+                        DEFAULTS_RESOURCE, RevapiConfig.class.getCanonicalName()));
+            }
+
+            Builder builder = new Builder();
+            for (JsonNode extension : OBJECT_MAPPER.readTree(defaults)) {
+                builder.addExtensions(ExtensionConfig.of(
+                        extension.get("extension").asText(), extension.get("configuration")));
+            }
+            return builder.build();
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private static RevapiConfig fromJsonNodes(List<JsonNode> jsonNodes) {
-        return new Builder().config(jsonNodes).build();
+    private static ModelNode toModelNode(JsonNode json) {
+        switch (json.getNodeType()) {
+            case OBJECT:
+                ModelNode object = new ModelNode().setEmptyObject();
+                json.fields().forEachRemaining(field -> object.get(field.getKey())
+                        .set(toModelNode(field.getValue())));
+                return object;
+            case ARRAY:
+                ModelNode list = new ModelNode().setEmptyList();
+                json.forEach(element -> list.add(toModelNode(element)));
+                return list;
+            case BOOLEAN:
+                return new ModelNode(json.booleanValue());
+            case NUMBER:
+                if (json.isInt()) {
+                    return new ModelNode(json.intValue());
+                }
+                if (json.isIntegralNumber() && json.canConvertToLong()) {
+                    return new ModelNode(json.longValue());
+                }
+                if (json.isIntegralNumber()) {
+                    return new ModelNode(json.bigIntegerValue());
+                }
+                return new ModelNode(json.decimalValue());
+            case NULL:
+            case MISSING:
+                return new ModelNode();
+            default:
+                return new ModelNode(json.asText());
+        }
+    }
+
+    static JsonNode toJsonNode(Object value) {
+        return OBJECT_MAPPER.valueToTree(value);
     }
 
     public static ArrayNode createArrayNode() {
         return OBJECT_MAPPER.createArrayNode();
     }
+
+    public static ObjectNode createObjectNode() {
+        return OBJECT_MAPPER.createObjectNode();
+    }
+
+    /** One entry of the configuration: the id of the extension and its (not to be mutated) json configuration. */
+    @Value.Immutable
+    @ImmutableStyle
+    @Serial.Structural
+    interface ExtensionConfig {
+        @Value.Parameter
+        @JsonProperty("extension")
+        String extension();
+
+        @Value.Parameter
+        @JsonProperty("configuration")
+        JsonNode configuration();
+
+        @Value.Check
+        default void check() {
+            if (extension().isEmpty()) {
+                throw new IllegalArgumentException("Revapi extension ids must not be empty");
+            }
+        }
+
+        static ExtensionConfig of(String extension, JsonNode configuration) {
+            return ImmutableExtensionConfig.of(extension, configuration);
+        }
+    }
 }
@@ -17,11 +17,17 @@
 package com.natigbabayev.revapi.gradle;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.gradle.api.Action;
+import org.gradle.api.NamedDomainObjectContainer;
 import org.gradle.api.Project;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
+import org.gradle.api.provider.SetProperty;
 import com.natigbabayev.revapi.gradle.config.GroupAndName;
 import com.natigbabayev.revapi.gradle.config.GroupNameVersion;
 import com.natigbabayev.revapi.gradle.config.Version;
@@ -34,6 +40,19 @@ public class RevapiExtension {
     private final Provider<GroupAndName> oldGroupAndName;
     private final RegularFileProperty oldJar;
     private final RegularFileProperty newJar;
+    private final NamedDomainObjectContainer<GeneratedCodeProfile> generatedCode;
+    private final ListProperty<String> includePackages;
+    private final ListProperty<String> excludePackages;
+    private final ListProperty<String> includeClasses;
+    private final ListProperty<String> excludeClasses;
+    private final ListProperty<String> excludeAnnotatedWith;
+    private final Property<Boolean> ignoreImplementationChanges;
+    private final SetProperty<String> resultsFormats;
+    private final Property<Boolean> useBaseline;
+    private final Property<Boolean> publishApiSignatures;
+    private final Property<Boolean> pruneUnreachableClasses;
+    private final Property<Boolean> exportedPackagesOnly;
+    private final Property<Integer> targetRelease;
 
     public RevapiExtension(Project project) {
         this.oldGroup = project.getObjects().property(String.class);
@@ -51,6 +70,35 @@ public class RevapiExtension {
 
         this.oldJar = project.getObjects().fileProperty();
         this.newJar = project.getObjects().fileProperty();
+
+        this.generatedCode = project.getObjects()
+                .domainObjectContainer(
+                        GeneratedCodeProfile.class, name -> new GeneratedCodeProfile(name, project.getObjects()));
+
+        this.includePackages = project.getObjects().listProperty(String.class);
+        this.excludePackages = project.getObjects().listProperty(String.class);
+        this.includeClasses = project.getObjects().listProperty(String.class);
+        this.excludeClasses = project.getObjects().listProperty(String.class);
+        this.excludeAnnotatedWith = project.getObjects().listProperty(String.class);
+
+        this.ignoreImplementationChanges = project.getObjects().property(Boolean.class);
+        this.ignoreImplementationChanges.set(false);
+
+        this.resultsFormats = project.getObjects().setProperty(String.class);
+
+        this.useBaseline = project.getObjects().property(Boolean.class);
+        this.useBaseline.set(false);
+
+        this.publishApiSignatures = project.getObjects().property(Boolean.class);
+        this.publishApiSignatures.set(false);
+
+        this.pruneUnreachableClasses = project.getObjects().property(Boolean.class);
+        this.pruneUnreachableClasses.set(false);
+
+        this.exportedPackagesOnly = project.getObjects().property(Boolean.class);
+        this.exportedPackagesOnly.set(false);
+
+        this.targetRelease = project.getObjects().property(Integer.class);
     }
 
     public Property<String> getOldGroup() {
@@ -91,4 +139,113 @@ public class RevapiExtension {
     public RegularFileProperty getNewJar() {
         return newJar;
     }
+
+    public NamedDomainObjectContainer<GeneratedCodeProfile> getGeneratedCode() {
+        return generatedCode;
+    }
+
+    public void generatedCode(Action<? super NamedDomainObjectContainer<GeneratedCodeProfile>> action) {
+        action.execute(generatedCode);
+    }
+
+    List<GeneratedCodeRule> generatedCodeRules() {
+        return generatedCode.stream().map(GeneratedCodeProfile::toRule).collect(Collectors.toList());
+    }
+
+    /** Packages to analyse, including their subpackages. When no packages or classes are included, all are. */
+    public ListProperty<String> getIncludePackages() {
+        return includePackages;
+    }
+
+    /** Packages not to analyse, including their subpackages, eg {@code com.example.internal}. */
+    public ListProperty<String> getExcludePackages() {
+        return excludePackages;
+    }
+
+    /** Classes to analyse, including their nested classes. */
+    public ListProperty<String> getIncludeClasses() {
+        return includeClasses;
+    }
+
+    /** Classes not to analyse, including their nested classes. */
+    public ListProperty<String> getExcludeClasses() {
+        return excludeClasses;
+    }
+
+    /** Annotations, such as Guava's {@code @Beta}, marking classes or whole packages that should not be analysed. */
+    public ListProperty<String> getExcludeAnnotatedWith() {
+        return excludeAnnotatedWith;
+    }
+
+    /**
+     * Only rerun the analysis when the signatures in the jars change, not when just method bodies, private members or
+     * resources do. Off by default.
+     */
+    public Property<Boolean> getIgnoreImplementationChanges() {
+        return ignoreImplementationChanges;
+    }
+
+    /**
+     * Formats to write the results of the analysis in, besides {@code build/revapi/revapi-results.json}: any of
+     * {@code jsonl} (json lines), {@code sarif} and {@code cbor}.
+     */
+    public SetProperty<String> getResultsFormats() {
+        return resultsFormats;
+    }
+
+    /**
+     * Compare against the api baseline in {@code .revapi/api-baseline.json}, written by the
+     * {@value RevapiWriteBaselineTask#NAME} task, rather than resolving the old version's jars. Off by default.
+     */
+    public Property<Boolean> getUseBaseline() {
+        return useBaseline;
+    }
+
+    /**
+     * Publish the api baseline of each release as a variant of the {@code java} component, with the classifier
+     * {@code api-signatures}, so that later versions compare against it rather than resolving the released jars. Read
+     * once the project has been evaluated. Off by default.
+     */
+    public Property<Boolean> getPublishApiSignatures() {
+        return publishApiSignatures;
+    }
+
+    /**
+     * Only analyse the public classes, and the classes reachable from their public and protected signatures, leaving
+     * out implementation classes that can't break the api. Off by default.
+     */
+    public Property<Boolean> getPruneUnreachableClasses() {
+        return pruneUnreachableClasses;
+    }
+
+    /**
+     * Only treat the packages jars export, in their {@code module-info.class} or OSGi {@code Export-Package} manifest
+     * header, as their api. Jars declaring neither keep all their packages. Off by default.
+     */
+    public Property<Boolean> getExportedPackagesOnly() {
+        return exportedPackagesOnly;
+    }
+
+    /**
+     * The java release, like {@code 11}, to analyse multi-release jars as seen by: each class is the one in the
+     * highest {@code META-INF/versions} directory up to this release, or else in the root of the jar. When not set,
+     * multi-release jars are analysed with every version of their classes.
+     */
+    public Property<Integer> getTargetRelease() {
+        return targetRelease;
+    }
+
+    Set<ResultsFormat> resultsFormats() {
+        return resultsFormats.get().stream().map(ResultsFormat::fromExtension).collect(Collectors.toSet());
+    }
+
+    ApiFilters apiFilters() {
+        return ApiFilters.builder()
+                .addAllInclude(includePackages.get())
+                .addAllInclude(includeClasses.get())
+                .addAllExclude(excludePackages.get())
+                .addAllExclude(excludeClasses.get())
+                .addAllExcludeAnnotatedWith(excludeAnnotatedWith.get())
+                .build();
+    }
 }
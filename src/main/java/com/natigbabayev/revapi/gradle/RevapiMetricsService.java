@@ -0,0 +1,98 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import org.gradle.api.Project;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * Collects the {@link AnalysisMetrics} of every project's revapi tasks during a build. When the build finishes, each
+ * project's metrics are written to {@code build/revapi/revapi-metrics.json} in that project, and a summary of all of
+ * them (per project, plus totals) to {@code build/revapi/revapi-metrics-summary.json} in the root project.
+ */
+public abstract class RevapiMetricsService implements BuildService<RevapiMetricsService.Params>, AutoCloseable {
+    private static final String NAME = "revapiMetrics";
+    private static final ObjectWriter WRITER = new ObjectMapper().writerWithDefaultPrettyPrinter();
+
+    private final ConcurrentMap<String, AnalysisMetrics> metricsByProject = new ConcurrentSkipListMap<>();
+
+    public interface Params extends BuildServiceParameters {
+        RegularFileProperty getSummaryFile();
+    }
+
+    static Provider<RevapiMetricsService> register(Project project) {
+        File summaryFile = new File(project.getRootProject().getBuildDir(), "revapi/revapi-metrics-summary.json");
+        return project.getGradle()
+                .getSharedServices()
+                .registerIfAbsent(NAME, RevapiMetricsService.class, spec -> spec.getParameters()
+                        .getSummaryFile()
+                        .set(summaryFile));
+    }
+
+    static File metricsFile(Project project) {
+        return new File(project.getBuildDir(), "revapi/revapi-metrics.json");
+    }
+
+    AnalysisMetrics forProject(String projectPath, File metricsFile) {
+        return metricsByProject.computeIfAbsent(projectPath, path -> new AnalysisMetrics(path, metricsFile));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (metricsByProject.isEmpty()) {
+            return;
+        }
+
+        ObjectNode summary = new ObjectMapper().createObjectNode();
+        ObjectNode projects = summary.putObject("projects");
+        SortedMap<String, Long> totalPhaseMillis = new TreeMap<>();
+        SortedMap<String, Long> totalCounters = new TreeMap<>();
+
+        for (Map.Entry<String, AnalysisMetrics> entry : metricsByProject.entrySet()) {
+            AnalysisMetrics metrics = entry.getValue();
+            write(metrics.metricsFile(), metrics);
+
+            projects.putPOJO(entry.getKey(), metrics);
+            AnalysisMetrics.sumInto(totalPhaseMillis, metrics.phaseMillis());
+            AnalysisMetrics.sumInto(totalCounters, metrics.counters());
+        }
+
+        ObjectNode totals = summary.putObject("totals");
+        totals.putPOJO("phaseMillis", totalPhaseMillis);
+        totals.putPOJO("counters", totalCounters);
+
+        write(getParameters().getSummaryFile().getAsFile().get(), summary);
+    }
+
+    private static void write(File file, Object value) throws IOException {
+        file.getParentFile().mkdirs();
+        WRITER.writeValue(file, value);
+    }
+}
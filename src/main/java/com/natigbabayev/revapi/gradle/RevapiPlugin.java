@@ -17,9 +17,16 @@
 package com.natigbabayev.revapi.gradle;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import org.gradle.api.Action;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
 import org.gradle.api.Task;
@@ -28,6 +35,7 @@ import org.gradle.api.artifacts.component.ProjectComponentIdentifier;
 import org.gradle.api.artifacts.result.ComponentResult;
 import org.gradle.api.attributes.Usage;
 import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.RegularFile;
 import org.gradle.api.plugins.JavaPlugin;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.specs.Spec;
@@ -43,6 +51,11 @@ public final class RevapiPlugin implements Plugin<Project> {
     public static final String ACCEPT_BREAK_TASK_NAME = "revapiAcceptBreak";
     public static final String ACCEPT_ALL_BREAKS_TASK_NAME = "revapiAcceptAllBreaks";
 
+    // Set on applying, for the root project's tasks to pick up
+    private TaskProvider<RevapiAnalyzeTask> analyzeTask;
+    private Provider<Boolean> hasVariantApis;
+    private final List<Action<RevapiAggregateReportTask>> aggregateReportAnalyses = new ArrayList<>();
+
     @Override
     public void apply(Project project) {
         project.getPluginManager().apply(LifecycleBasePlugin.class);
@@ -53,22 +66,100 @@ public final class RevapiPlugin implements Plugin<Project> {
             project.getPluginManager().apply(JavaPlugin.class);
         }
 
+        ApiModelTransform.registerOn(project);
+
         RevapiExtension extension = project.getExtensions().create("revapi", RevapiExtension.class, project);
 
         ConfigManager configManager = new ConfigManager(configFile(project));
 
-        Provider<Optional<OldApi>> maybeOldApi = ResolveOldApi.oldApiProvider(project, extension, configManager);
-        Spec<Task> oldApiIsPresent =
-                _task -> extension.getOldJar().isPresent() || maybeOldApi.get().isPresent();
+        Provider<RevapiMetricsService> metricsService = RevapiMetricsService.register(project);
+        File metricsFile = RevapiMetricsService.metricsFile(project);
+        Provider<RevapiAnalyzerPool> analyzerPool = RevapiAnalyzerPool.register(project);
+
+        File analysisResultsFile = new File(project.getBuildDir(), "revapi/revapi-results.json");
+        boolean analyzeAll = project.getProviders()
+                .gradleProperty(RevapiAnalyzeAllTask.ANALYZE_ALL_PROPERTY)
+                .map(Boolean::parseBoolean)
+                .getOrElse(false);
+
+        Provider<Optional<OldApi>> maybeOldApi =
+                ResolveOldApi.oldApiProvider(project, extension, configManager, metricsService);
+        File baselineFile = new File(project.getProjectDir(), ".revapi/api-baseline.json");
+        Function<File, Provider<Boolean>> hasOldApiAgainst = baseline -> project.provider(() ->
+                extension.getUseBaseline().get()
+                        ? baseline.isFile()
+                        : extension.getOldJar().isPresent() || maybeOldApi.get().isPresent());
+        Provider<Boolean> hasOldApi = hasOldApiAgainst.apply(baselineFile);
+        Spec<Task> oldApiIsPresent = _task -> hasOldApi.get();
+        FileCollection androidPlatformJars = AndroidSdk.bootClasspath(project);
+        // Android libraries have an api for each variant, analysed by the variant's own tasks, unless it is given
+        boolean androidLibrary = AndroidVariants.isLibrary(project);
+        Provider<Boolean> hasVariantApis =
+                project.provider(() -> androidLibrary && !extension.getNewJar().isPresent());
+        this.hasVariantApis = hasVariantApis;
+        Spec<Task> hasDefaultApi = _task -> !hasVariantApis.get();
+
+        BiConsumer<RevapiAnalyzeTask, File> configureAnalysis = (task, taskBaselineFile) -> {
+            task.getAcceptedBreaks().set(acceptedBreaks(project, configManager, extension.oldGroupAndName()));
+            task.getGeneratedCodeRules().set(project.provider(extension::generatedCodeRules));
+            task.getApiFilters().set(project.provider(extension::apiFilters));
+            task.getIgnoreImplementationChanges().set(extension.getIgnoreImplementationChanges());
+            task.getPruneUnreachableClasses().set(extension.getPruneUnreachableClasses());
+            task.getExportedPackagesOnly().set(extension.getExportedPackagesOnly());
+            task.getTargetRelease().set(extension.getTargetRelease());
+            task.getConjureProjectFilters()
+                    .set(project.provider(() -> ConjureProjectFilters.forProject(project)));
+
+            if (extension.getUseBaseline().get()) {
+                task.getOldApiBaseline().set(taskBaselineFile);
+                task.getOldApiJars().set(project.files());
+                task.getOldApiDependencyJars().set(project.files());
+            } else if (extension.getOldJar().isPresent()) {
+                task.getOldApiJars()
+                        .set(AarClassesTransform.jarsOf(project, project.files(extension.getOldJar())));
+                // just the android platform, if any, for explicit JARs
+                task.getOldApiDependencyJars().set(androidPlatformJars);
+            } else {
+                task.getOldApiBaseline()
+                        .fileProvider(maybeOldApi.map(
+                                oldApi -> oldApi.flatMap(OldApi::signatures).orElse(null)));
+                task.getOldApiJars().set(maybeOldApi.map(oldApi -> oldApi.map(OldApi::jars)
+                        .map(project::files)
+                        .orElseGet(project::files)));
+                task.getOldApiDependencyJars().set(maybeOldApi.map(oldApi -> oldApi.map(OldApi::dependencyJars)
+                        .map(project::files)
+                        .orElseGet(project::files)
+                        .plus(androidPlatformJars)));
+            }
+
+            task.getJarsToReportBreaks().set(project.provider(() -> task.getNewApiJars()
+                    .get()
+                    .plus(task.getOldApiJars().get())));
+
+            task.getResultsFormats().set(project.provider(extension::resultsFormats));
+            task.getMetricsService().set(metricsService);
+            task.getMetricsFile().set(metricsFile);
+            task.usesService(metricsService);
+            task.getAnalyzerPool().set(analyzerPool);
+            task.usesService(analyzerPool);
+
+            Provider<Boolean> taskHasOldApi = hasOldApiAgainst.apply(taskBaselineFile);
+            task.onlyIf(_task -> taskHasOldApi.get());
+        };
 
         TaskProvider<RevapiAnalyzeTask> analyzeTask = project.getTasks()
                 .register("revapiAnalyze", RevapiAnalyzeTask.class, task -> {
-                    task.getAcceptedBreaks().set(acceptedBreaks(project, configManager, extension.oldGroupAndName()));
+                    configureAnalysis.accept(task, baselineFile);
 
                     // Configure JAR inputs - explicit JARs take precedence and skip Java plugin dependencies
                     if (extension.getNewJar().isPresent()) {
-                        task.getNewApiJars().set(project.files(extension.getNewJar()));
-                        task.getNewApiDependencyJars().set(project.files()); // empty for explicit JARs
+                        task.getNewApiJars()
+                                .set(AarClassesTransform.jarsOf(project, project.files(extension.getNewJar())));
+                        // just the android platform, if any, for explicit JARs
+                        task.getNewApiDependencyJars().set(androidPlatformJars);
+                    } else if (androidLibrary) {
+                        task.getNewApiJars().set(project.files());
+                        task.getNewApiDependencyJars().set(project.files());
                     } else {
                         // Only create configurations when we need them (not using explicit JARs)
                         Configuration revapiNewApi = project.getConfigurations().create("revapiNewApi", conf -> {
@@ -103,49 +194,155 @@ public final class RevapiPlugin implements Plugin<Project> {
 
                         // Note: this should propagate the dependency on the necessary tasks to build the other projects
                         task.getNewApiJars().set(thisJarFile.plus(otherProjectsOutputs));
+                        FileCollection externalDependencies = ApiModelTransform.apiModelsOf(
+                                revapiNewApi, ci -> !(ci instanceof ProjectComponentIdentifier));
+                        FileCollection projectDependencies = revapiNewApi
+                                .getIncoming()
+                                .artifactView(vc -> vc.componentFilter(ci -> ci instanceof ProjectComponentIdentifier))
+                                .getFiles();
                         task.getNewApiDependencyJars()
-                                .set(revapiNewApi.minus(task.getNewApiJars().get()));
-                    }
-
-                    if (extension.getOldJar().isPresent()) {
-                        task.getOldApiJars().set(project.files(extension.getOldJar()));
-                        task.getOldApiDependencyJars().set(project.files()); // empty for explicit JARs
-                    } else {
-                        task.getOldApiJars().set(maybeOldApi.map(oldApi -> oldApi.map(OldApi::jars)
-                                .map(project::files)
-                                .orElseGet(project::files)));
-                        task.getOldApiDependencyJars().set(maybeOldApi.map(oldApi -> oldApi.map(OldApi::dependencyJars)
-                                .map(project::files)
-                                .orElseGet(project::files)));
+                                .set(externalDependencies
+                                        .plus(projectDependencies.minus(task.getNewApiJars().get()))
+                                        .plus(androidPlatformJars));
                     }
 
-                    task.getJarsToReportBreaks().set(project.provider(() -> task.getNewApiJars()
-                            .get()
-                            .plus(task.getOldApiJars().get())));
-
-                    task.getAnalysisResultsFile().set(new File(project.getBuildDir(), "revapi/revapi-results.json"));
-
-                    task.onlyIf(oldApiIsPresent);
+                    task.getAnalysisResultsFile().set(analysisResultsFile);
+                    task.onlyIf(hasDefaultApi);
                 });
 
+        this.analyzeTask = analyzeTask;
+        project.getRootProject().getPluginManager().apply(RevapiRootPlugin.class);
+        TaskProvider<RevapiAnalyzeAllTask> analyzeAllTask = project.getRootProject()
+                .getTasks()
+                .named(RevapiAnalyzeAllTask.NAME, RevapiAnalyzeAllTask.class);
+
         TaskProvider<RevapiReportTask> reportTask = project.getTasks()
                 .register("revapi", RevapiReportTask.class, task -> {
-                    task.dependsOn(analyzeTask);
-                    task.getAnalysisResultsFile().set(analyzeTask.flatMap(RevapiAnalyzeTask::getAnalysisResultsFile));
-                    task.getJunitOutputFile().set(junitOutput(project));
+                    if (analyzeAll) {
+                        task.dependsOn(analyzeAllTask);
+                        task.getAnalysisResultsFile().set(analysisResultsFile);
+                    } else {
+                        task.dependsOn(analyzeTask);
+                        task.getAnalysisResultsFile()
+                                .set(analyzeTask.flatMap(RevapiAnalyzeTask::getAnalysisResultsFile));
+                    }
+                    task.getJunitOutputFile().set(junitOutput(project, project.getName()));
+                    task.getMetricsService().set(metricsService);
+                    task.getMetricsFile().set(metricsFile);
+                    task.usesService(metricsService);
 
                     task.onlyIf(oldApiIsPresent);
+                    task.onlyIf(hasDefaultApi);
                 });
 
         project.getTasks().findByName(LifecycleBasePlugin.CHECK_TASK_NAME).dependsOn(reportTask);
 
-        project.getTasks().register(ACCEPT_ALL_BREAKS_TASK_NAME, RevapiAcceptAllBreaksTask.class, task -> {
-            task.dependsOn(analyzeTask);
+        aggregateReportAnalyses.add(task -> task.addAnalysis(
+                project.getPath(),
+                analysisResultsFile,
+                hasOldApi.map(present -> present && !hasVariantApis.get()),
+                analyzeAll ? analyzeAllTask : analyzeTask));
 
+        // filled in as the android plugin creates variants, so only read when building the task graph
+        List<TaskProvider<RevapiAnalyzeTask>> variantAnalyzeTasks = new ArrayList<>();
+        Callable<List<Provider<RegularFile>>> analysisResultsFiles = () ->
+                (hasVariantApis.get() ? variantAnalyzeTasks : Collections.singletonList(analyzeTask))
+                        .stream()
+                        .map(analysis -> analysis.flatMap(RevapiAnalyzeTask::getAnalysisResultsFile))
+                        .collect(Collectors.toList());
+
+        project.getTasks().register(ACCEPT_ALL_BREAKS_TASK_NAME, RevapiAcceptAllBreaksTask.class, task -> {
             task.getOldGroupNameVersion().set(project.getProviders().provider(extension::oldGroupNameVersion));
             task.getConfigManager().set(configManager);
-            task.getAnalysisResultsFile().set(analyzeTask.flatMap(RevapiAnalyzeTask::getAnalysisResultsFile));
-            task.onlyIf(oldApiIsPresent);
+            // the providers carry the dependencies on the analyze tasks producing them
+            task.getAnalysisResultsFiles().from(analysisResultsFiles);
+            task.onlyIf(_task -> hasVariantApis.get() || hasOldApi.get());
+        });
+
+        TaskProvider<RevapiWriteBaselineTask> writeBaselineTask = project.getTasks()
+                .register(RevapiWriteBaselineTask.NAME, RevapiWriteBaselineTask.class, task -> {
+                    task.setDescription("Writes the api of this project to .revapi/api-baseline.json");
+                    task.getApiJars().set(analyzeTask.flatMap(RevapiAnalyzeTask::getNewApiJars));
+                    task.getApiDependencyJars()
+                            .set(analyzeTask.flatMap(RevapiAnalyzeTask::getNewApiDependencyJars));
+                    task.getBaselineFile().set(baselineFile);
+                    task.onlyIf(hasDefaultApi);
+                });
+
+        if (androidLibrary) {
+            AndroidVariants.all(project, variant -> {
+                String variantSuffix = AndroidVariants.taskSuffix(variant);
+                File variantResultsFile = new File(project.getBuildDir(), "revapi/" + variant + "/revapi-results.json");
+                // each variant can have a different api, so is compared against a baseline of its own
+                File variantBaselineFile =
+                        new File(project.getProjectDir(), ".revapi/" + variant + "/api-baseline.json");
+                Provider<Boolean> variantHasOldApi = hasOldApiAgainst.apply(variantBaselineFile);
+
+                TaskProvider<RevapiAnalyzeTask> variantAnalyzeTask = project.getTasks()
+                        .register("revapiAnalyze" + variantSuffix, RevapiAnalyzeTask.class, task -> {
+                            task.setDescription("Analyses the api of the " + variant + " variant using revapi");
+                            configureAnalysis.accept(task, variantBaselineFile);
+                            FileCollection variantJars = AndroidVariants.apiJars(project, variant);
+                            task.getNewApiJars().set(variantJars);
+                            task.getNewApiDependencyJars()
+                                    .set(AndroidVariants.dependencyJars(project, variant, variantJars)
+                                            .plus(androidPlatformJars));
+                            task.getAnalysisResultsFile().set(variantResultsFile);
+                            task.getShareArchives().set(true);
+                            task.onlyIf(_task -> hasVariantApis.get());
+                        });
+                variantAnalyzeTasks.add(variantAnalyzeTask);
+
+                TaskProvider<RevapiReportTask> variantReportTask = project.getTasks()
+                        .register("revapi" + variantSuffix, RevapiReportTask.class, task -> {
+                            task.dependsOn(variantAnalyzeTask);
+                            task.getAnalysisResultsFile()
+                                    .set(variantAnalyzeTask.flatMap(RevapiAnalyzeTask::getAnalysisResultsFile));
+                            task.getJunitOutputFile().set(junitOutput(project, project.getName() + "-" + variant));
+                            task.getMetricsService().set(metricsService);
+                            task.getMetricsFile().set(metricsFile);
+                            task.usesService(metricsService);
+
+                            task.onlyIf(_task -> variantHasOldApi.get());
+                            task.onlyIf(_task -> hasVariantApis.get());
+                        });
+
+                reportTask.configure(task -> task.dependsOn(variantReportTask));
+                project.getTasks().named(LifecycleBasePlugin.CHECK_TASK_NAME)
+                        .configure(task -> task.dependsOn(variantReportTask));
+
+                aggregateReportAnalyses.add(task -> task.addAnalysis(
+                        project.getPath() + " (" + variant + ")",
+                        variantResultsFile,
+                        variantHasOldApi.map(present -> present && hasVariantApis.get()),
+                        variantAnalyzeTask));
+
+                TaskProvider<RevapiWriteBaselineTask> variantWriteBaselineTask = project.getTasks()
+                        .register(RevapiWriteBaselineTask.NAME + variantSuffix, RevapiWriteBaselineTask.class, task -> {
+                            task.setDescription("Writes the api of the " + variant + " variant to .revapi/" + variant
+                                    + "/api-baseline.json");
+                            task.getApiJars().set(variantAnalyzeTask.flatMap(RevapiAnalyzeTask::getNewApiJars));
+                            task.getApiDependencyJars()
+                                    .set(variantAnalyzeTask.flatMap(RevapiAnalyzeTask::getNewApiDependencyJars));
+                            task.getBaselineFile().set(variantBaselineFile);
+                            task.onlyIf(_task -> hasVariantApis.get());
+                        });
+                writeBaselineTask.configure(task -> task.dependsOn(variantWriteBaselineTask));
+            });
+        }
+
+        TaskProvider<RevapiWriteBaselineTask> apiSignaturesTask = project.getTasks()
+                .register(ApiSignaturesVariant.TASK_NAME, RevapiWriteBaselineTask.class, task -> {
+                    task.setDescription("Writes the api of this project to be published alongside its jar");
+                    task.getApiJars().set(analyzeTask.flatMap(RevapiAnalyzeTask::getNewApiJars));
+                    task.getApiDependencyJars().set(analyzeTask.flatMap(RevapiAnalyzeTask::getNewApiDependencyJars));
+                    task.getBaselineFile().set(new File(project.getBuildDir(), "revapi/api-signatures.json"));
+                });
+        // Components can't be lazy about their variants, so this waits until the build script has set the flag
+        project.afterEvaluate(_project -> {
+            if (extension.getPublishApiSignatures().get()) {
+                ApiSignaturesVariant.publishFrom(project, apiSignaturesTask);
+            }
         });
 
         project.getTasks().register(VERSION_OVERRIDE_TASK_NAME, RevapiVersionOverrideTask.class, task -> {
@@ -157,6 +354,16 @@ public final class RevapiPlugin implements Plugin<Project> {
         });
     }
 
+    /** This project's analysis for {@link RevapiAnalyzeAllTask}, which leaves out the variants of Android libraries. */
+    Optional<RevapiAnalyzeTask> analyzeAllAnalysis() {
+        return hasVariantApis.get() ? Optional.empty() : Optional.of(analyzeTask.get());
+    }
+
+    /** Adds this project's analyses, including those of each variant of an Android library, to the aggregate report. */
+    void addAggregateReportAnalyses(RevapiAggregateReportTask task) {
+        aggregateReportAnalyses.forEach(analysis -> analysis.execute(task));
+    }
+
     /** In order to ensure we resolve the right variants with usage {@link Usage.JAVA_API}. */
     private static void configureApiUsage(Project project, Configuration conf) {
         conf.attributes(attrs ->
@@ -194,9 +401,9 @@ public final class RevapiPlugin implements Plugin<Project> {
         return new File(project.getRootDir(), ".revapi/revapi.yml");
     }
 
-    private File junitOutput(Project project) {
+    private File junitOutput(Project project, String name) {
         Optional<String> circleReportsDir = Optional.ofNullable(System.getenv("CIRCLE_TEST_REPORTS"));
         File reportsDir = circleReportsDir.map(File::new).orElseGet(project::getBuildDir);
-        return new File(reportsDir, "junit-reports/revapi/revapi-" + project.getName() + ".xml");
+        return new File(reportsDir, "junit-reports/revapi/revapi-" + name + ".xml");
     }
 }
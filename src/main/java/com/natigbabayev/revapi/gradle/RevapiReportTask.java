@@ -16,67 +16,123 @@
 
 package com.natigbabayev.revapi.gradle;
 
+import com.google.common.base.Suppliers;
+import com.google.common.xml.XmlEscapers;
 import freemarker.cache.ClassTemplateLoader;
 import freemarker.template.Configuration;
 import freemarker.template.DefaultObjectWrapperBuilder;
 import freemarker.template.Template;
+import java.io.File;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
 import com.natigbabayev.revapi.gradle.config.Justification;
 
+@CacheableTask
 public class RevapiReportTask extends DefaultTask {
+    // Shared by every project's report task, so each template is only loaded and parsed once per build
+    private static final Supplier<Configuration> FREEMARKER_CONFIGURATION =
+            Suppliers.memoize(RevapiReportTask::createFreeMarkerConfiguration);
+
+    private final String projectPath = getProject().getPath();
+    private final String acceptBreakTaskPath = getProject().absoluteProjectPath(RevapiPlugin.ACCEPT_BREAK_TASK_NAME);
+    private final String acceptAllBreaksProjectTaskPath =
+            getProject().absoluteProjectPath(RevapiPlugin.ACCEPT_ALL_BREAKS_TASK_NAME);
+
     private final RegularFileProperty analysisResultsFile =
             getProject().getObjects().fileProperty();
     private final RegularFileProperty junitOutputFile =
             getProject().getObjects().fileProperty();
+    private final Property<RevapiMetricsService> metricsService =
+            getProject().getObjects().property(RevapiMetricsService.class);
+    private final RegularFileProperty metricsFile =
+            getProject().getObjects().fileProperty();
 
     @InputFile
+    @PathSensitive(PathSensitivity.NONE)
     public final RegularFileProperty getAnalysisResultsFile() {
         return analysisResultsFile;
     }
 
+    /** Part of how to accept breaks, which is printed along with them. */
+    @Input
+    public final String getAcceptBreakTaskPath() {
+        return acceptBreakTaskPath;
+    }
+
+    @Input
+    public final String getAcceptAllBreaksProjectTaskPath() {
+        return acceptAllBreaksProjectTaskPath;
+    }
+
     @OutputFile
     public final RegularFileProperty getJunitOutputFile() {
         return junitOutputFile;
     }
 
+    @Internal
+    public final Property<RevapiMetricsService> getMetricsService() {
+        return metricsService;
+    }
+
+    @Internal
+    public final RegularFileProperty getMetricsFile() {
+        return metricsFile;
+    }
+
     @TaskAction
     public final void reportBreaks() throws Exception {
+        AnalysisMetrics metrics = metricsService.get().forProject(projectPath, metricsFile.getAsFile().get());
+        try (AnalysisMetrics.Span _span = metrics.span(AnalysisMetrics.REPORT)) {
+            reportBreaks(metrics);
+        }
+    }
+
+    private void reportBreaks(AnalysisMetrics metrics) throws Exception {
+        File junitOutput = junitOutputFile.getAsFile().get();
+
+        // Nearly every time there is nothing to report, which needs neither the results parsing nor the templates
+        Optional<String> archiveNamesIfNoResults =
+                AnalysisResults.archiveNamesIfNoResults(analysisResultsFile.getAsFile().get());
+        if (archiveNamesIfNoResults.isPresent()) {
+            metrics.increment(AnalysisMetrics.DIFFERENCES_REPORTED, 0);
+            String junitReport = emptyJunitReport(archiveNamesIfNoResults.get());
+            Files.write(junitOutput.toPath(), junitReport.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+
         AnalysisResults results =
                 AnalysisResults.fromFile(analysisResultsFile.getAsFile().get());
+        metrics.increment(AnalysisMetrics.DIFFERENCES_REPORTED, results.results().size());
 
-        Configuration freeMarkerConfiguration = createFreeMarkerConfiguration();
+        Configuration freeMarkerConfiguration = FREEMARKER_CONFIGURATION.get();
         Map<String, Object> templateData = new HashMap<>();
         templateData.put("results", results);
-        templateData.put(
-                "acceptBreakTask",
-                getProject()
-                        .getTasks()
-                        .withType(RevapiAcceptBreakTask.class)
-                        .getByName(RevapiPlugin.ACCEPT_BREAK_TASK_NAME)
-                        .getPath());
-        templateData.put(
-                "acceptAllBreaksProjectTask",
-                getProject()
-                        .getTasks()
-                        .withType(RevapiAcceptAllBreaksTask.class)
-                        .getByName(RevapiPlugin.ACCEPT_ALL_BREAKS_TASK_NAME)
-                        .getPath());
+        templateData.put("acceptBreakTask", acceptBreakTaskPath);
+        templateData.put("acceptAllBreaksProjectTask", acceptAllBreaksProjectTaskPath);
         templateData.put("acceptAllBreaksEverywhereTask", RevapiPlugin.ACCEPT_ALL_BREAKS_TASK_NAME);
         templateData.put("explainWhy", Justification.YOU_MUST_ENTER_JUSTIFICATION);
 
         Template junitTemplate = freeMarkerConfiguration.getTemplate("gradle-revapi-junit-template.ftl");
-        junitTemplate.process(
-                templateData,
-                Files.newBufferedWriter(junitOutputFile.getAsFile().get().toPath(), StandardCharsets.UTF_8));
+        try (Writer junitWriter = Files.newBufferedWriter(junitOutput.toPath(), StandardCharsets.UTF_8)) {
+            junitTemplate.process(templateData, junitWriter);
+        }
 
         Template textTemplate = freeMarkerConfiguration.getTemplate("gradle-revapi-text-template.ftl");
         StringWriter textOutputWriter = new StringWriter();
@@ -89,13 +145,23 @@ public class RevapiReportTask extends DefaultTask {
         }
     }
 
-    private Configuration createFreeMarkerConfiguration() {
+    private static String emptyJunitReport(String archiveNames) {
+        String escapedArchiveNames = XmlEscapers.xmlAttributeEscaper().escape(archiveNames);
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n"
+                + "<testsuites failures=\"0\" id=\"project-name\" name=\"project-name\" tests=\"0\" time=\"0.000\">\n"
+                + "    <testsuite failures=\"0\" id=\"" + escapedArchiveNames + "\" name=\"" + escapedArchiveNames
+                + "\" tests=\"0\" time=\"0.000\">\n"
+                + "    </testsuite>\n"
+                + "</testsuites>\n";
+    }
+
+    private static Configuration createFreeMarkerConfiguration() {
         DefaultObjectWrapperBuilder objectWrapper = new DefaultObjectWrapperBuilder(Configuration.VERSION_2_3_23);
         Configuration freeMarker = new Configuration(Configuration.VERSION_2_3_23);
 
         freeMarker.setObjectWrapper(objectWrapper.build());
         freeMarker.setAPIBuiltinEnabled(true);
-        freeMarker.setTemplateLoader(new ClassTemplateLoader(getClass(), "/META-INF"));
+        freeMarker.setTemplateLoader(new ClassTemplateLoader(RevapiReportTask.class, "/META-INF"));
 
         return freeMarker;
     }
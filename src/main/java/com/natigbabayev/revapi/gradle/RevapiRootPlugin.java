@@ -0,0 +1,48 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+
+/**
+ * Registers the tasks working on every project that applies {@link RevapiPlugin} at once. Each of those projects
+ * applies this to the root project, so the tasks are registered once, and they find those projects' analyses
+ * themselves when they are configured, rather than every project configuring the root project's tasks.
+ */
+public final class RevapiRootPlugin implements Plugin<Project> {
+    @Override
+    public void apply(Project rootProject) {
+        RevapiAnalyzeAllTask.registerOn(
+                rootProject, RevapiMetricsService.register(rootProject), RevapiAnalyzerPool.register(rootProject));
+        RevapiAggregateReportTask.registerOn(rootProject);
+    }
+
+    /**
+     * The plugins of the projects applying {@link RevapiPlugin}. Only called while configuring a task, which happens
+     * once every project has been evaluated.
+     */
+    static List<RevapiPlugin> revapiPlugins(Project rootProject) {
+        return rootProject.getAllprojects().stream()
+                .map(project -> project.getPlugins().findPlugin(RevapiPlugin.class))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ * Writes the {@link ApiBaseline} of the api this project builds, to be committed so that later versions can be
+ * compared against it with {@code revapi { useBaseline = true }}, rather than against the released jars.
+ */
+public class RevapiWriteBaselineTask extends DefaultTask {
+    public static final String NAME = "revapiWriteBaseline";
+
+    private final Property<FileCollection> apiJars =
+            getProject().getObjects().property(FileCollection.class);
+    private final Property<FileCollection> apiDependencyJars =
+            getProject().getObjects().property(FileCollection.class);
+    private final RegularFileProperty baselineFile =
+            getProject().getObjects().fileProperty();
+
+    @Classpath
+    public final Property<FileCollection> getApiJars() {
+        return apiJars;
+    }
+
+    @Classpath
+    public final Property<FileCollection> getApiDependencyJars() {
+        return apiDependencyJars;
+    }
+
+    @OutputFile
+    public final RegularFileProperty getBaselineFile() {
+        return baselineFile;
+    }
+
+    @TaskAction
+    public final void writeBaseline() throws Exception {
+        ApiBaseline.write(files(apiJars.get()), files(apiDependencyJars.get()), baselineFile.getAsFile().get());
+    }
+
+    private static List<File> files(FileCollection fileCollection) {
+        return new ArrayList<>(fileCollection.filter(File::isFile).getFiles());
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nullable;
+import org.revapi.Difference;
+
+/**
+ * What a transform made of each difference it has been given. Whenever a transform changes or removes any difference
+ * of a report, revapi passes every difference of that report through all the transforms again, so without this a
+ * transform would count, and time, the same difference several times. Differences are told apart by identity, as
+ * revapi passes the same instances again.
+ */
+final class TransformResults {
+    private final Map<Difference, Difference> results = new IdentityHashMap<>();
+
+    /** Transforms the difference the first time it is given, and returns what that gave every time after. */
+    @Nullable
+    Difference transformOnce(Difference difference, UnaryOperator<Difference> transform) {
+        if (results.containsKey(difference)) {
+            return results.get(difference);
+        }
+
+        Difference result = transform.apply(difference);
+        results.put(difference, result);
+        return result;
+    }
+
+    void clear() {
+        results.clear();
+    }
+}
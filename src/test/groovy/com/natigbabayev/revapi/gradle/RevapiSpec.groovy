@@ -18,7 +18,10 @@ package com.natigbabayev.revapi.gradle
 
 import spock.lang.Ignore
 
+import java.util.jar.JarEntry
+import java.util.jar.JarOutputStream
 import java.util.regex.Pattern
+import javax.tools.ToolProvider
 import nebula.test.IntegrationSpec
 import nebula.test.functional.ExecutionResult
 import spock.util.environment.RestoreSystemProperties
@@ -575,6 +578,70 @@ class RevapiSpec extends IntegrationSpec {
         println runTasksSuccessfully("revapi").standardOutput
     }
 
+    def 'analyses every project at once and reports all their breaks together'() {
+        when:
+        buildFile << """
+            allprojects {
+                apply plugin: 'java-library'
+                apply plugin: 'maven-publish'
+
+                group = 'revapi.test'
+                version = '1.0.0'
+                ${mavenRepoGradle()}
+
+                ${testMavenPublication()}
+            }
+
+            subprojects {
+                apply plugin: '${TestConstants.PLUGIN_NAME}'
+
+                revapi {
+                    oldVersion = project.version
+                }
+            }
+        """.stripIndent()
+
+        def one = addSubproject 'one'
+        def oneJavaFile = writeToFile one, 'src/main/java/one/One.java', '''
+            package one;
+            public interface One {
+                void oneWillBeRemoved();
+            }
+        '''.stripIndent()
+
+        def two = addSubproject 'two'
+        def twoJavaFile = writeToFile two, 'src/main/java/two/Two.java', '''
+            package two;
+            public interface Two {
+                void twoWillBeRemoved();
+            }
+        '''.stripIndent()
+
+        and:
+        runTasksSuccessfully('publish')
+        oneJavaFile.text = oneJavaFile.text.replace('void oneWillBeRemoved();', '')
+        twoJavaFile.text = twoJavaFile.text.replace('void twoWillBeRemoved();', '')
+
+        def result = runTasksWithFailure('revapiReport', "-P${RevapiAnalyzeAllTask.ANALYZE_ALL_PROPERTY}=true")
+
+        then:
+        result.wasExecuted(':revapiAnalyzeAll')
+        !result.wasExecuted(':one:revapiAnalyze')
+        !result.wasExecuted(':two:revapiAnalyze')
+        result.standardError.contains('oneWillBeRemoved')
+        result.standardError.contains('twoWillBeRemoved')
+
+        file('build/revapi/revapi-report.txt').text.contains('2 distinct breaks in 2 projects')
+
+        when:
+        def projectResult = runTasksWithFailure(':one:revapi', "-P${RevapiAnalyzeAllTask.ANALYZE_ALL_PROPERTY}=true")
+
+        then:
+        projectResult.wasExecuted(':revapiAnalyzeAll')
+        projectResult.standardError.contains('oneWillBeRemoved')
+        !projectResult.standardError.contains('twoWillBeRemoved')
+    }
+
     def 'should not say there are breaks in api dependencies when nothing has changed'() {
         when:
         rootProjectNameIs('test')
@@ -616,6 +683,153 @@ class RevapiSpec extends IntegrationSpec {
         println runTasksSuccessfully("revapi").standardOutput
     }
 
+    def 'writes an api baseline and then compares against it without resolving the old version'() {
+        when:
+        rootProjectNameIs('test')
+
+        buildFile << """
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+            apply plugin: 'java-library'
+
+            repositories {
+                mavenCentral()
+            }
+
+            dependencies {
+                api 'junit:junit:4.13'
+            }
+
+            revapi {
+                useBaseline = true
+            }
+        """.stripIndent()
+
+        def javaFile = 'src/main/java/foo/Foo.java'
+        writeToFile javaFile, '''
+            package foo;
+            public interface Foo extends org.junit.rules.TestRule {
+                String willBeRemoved();
+            }
+        '''.stripIndent()
+
+        and:
+        runTasksSuccessfully('revapiWriteBaseline')
+        def baseline = file('.revapi/api-baseline.json').text
+
+        then:
+        baseline.contains('willBeRemoved')
+        baseline.contains('org/junit/rules/TestRule')
+        runTasksSuccessfully('revapi').wasExecuted(':revapiAnalyze')
+
+        when:
+        writeToFile javaFile, '''
+            package foo;
+            public interface Foo extends org.junit.rules.TestRule { }
+        '''.stripIndent()
+
+        then:
+        runTasksWithFailure('revapi').standardError.contains('willBeRemoved')
+    }
+
+    def 'publishes api signatures and compares against them without the old jar'() {
+        when:
+        rootProjectNameIs('test')
+
+        buildFile << """
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+            apply plugin: 'java-library'
+            apply plugin: 'maven-publish'
+
+            group = 'revapi'
+            version = '1.0.0'
+
+            ${mavenRepoGradle()}
+
+            ${testMavenPublication()}
+
+            revapi {
+                oldVersion = '1.0.0'
+                publishApiSignatures = true
+            }
+        """.stripIndent()
+
+        def javaFile = 'src/main/java/foo/Foo.java'
+        writeToFile javaFile, '''
+            package foo;
+            public interface Foo {
+                String willBeRemoved();
+            }
+        '''.stripIndent()
+
+        and:
+        runTasksSuccessfully('publish')
+        def publishedDir = new File(projectDir, 'mavenRepo/revapi/test/1.0.0')
+
+        then:
+        new File(publishedDir, 'test-1.0.0-api-signatures.json').text.contains('willBeRemoved')
+
+        when:
+        new File(publishedDir, 'test-1.0.0.jar').delete()
+        buildFile << """
+            version = '1.1.0'
+        """.stripIndent()
+        writeToFile javaFile, '''
+            package foo;
+            public interface Foo { }
+        '''.stripIndent()
+
+        then:
+        runTasksWithFailure('revapi').standardError.contains('willBeRemoved')
+    }
+
+    def 'analyses each published variant of an android library against its aar and android.jar'() {
+        when:
+        rootProjectNameIs('library')
+        androidPlatformJar()
+        fakeAndroidLibraryPlugin()
+
+        buildFile << """
+            apply plugin: 'com.android.library'
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+
+            revapi {
+                useBaseline = true
+            }
+        """.stripIndent()
+
+        def javaFile = 'src/main/java/foo/Foo.java'
+        writeToFile javaFile, '''
+            package foo;
+            public class Foo extends android.view.View {
+                public void willBeRemoved() {}
+            }
+        '''.stripIndent()
+
+        then:
+        def tasks = runTasksSuccessfully('tasks', '--all').standardOutput
+        tasks.contains('revapiAnalyzeRelease')
+        tasks.contains('revapiWriteBaselineRelease')
+        !tasks.contains('revapiAnalyzeDebug')
+
+        when:
+        runTasksSuccessfully('revapiWriteBaseline')
+
+        then:
+        file('.revapi/release/api-baseline.json').text.contains('willBeRemoved')
+        !file('.revapi/debug/api-baseline.json').exists()
+
+        when:
+        writeToFile javaFile, '''
+            package foo;
+            public class Foo extends android.view.View { }
+        '''.stripIndent()
+        def standardError = runTasksWithFailure('revapi').standardError
+
+        then:
+        standardError.contains('willBeRemoved')
+        !standardError.contains('java.missing')
+    }
+
     def 'ignores scala classes'() {
         when:
         buildFile << """
@@ -772,6 +986,37 @@ class RevapiSpec extends IntegrationSpec {
         runTasksSuccessfully('revapi').wasUpToDate('revapiAnalyze')
     }
 
+    def 'is loaded from the build cache once its outputs have been deleted'() {
+        when:
+        settingsFile << """
+            buildCache {
+                local {
+                    directory = new File(rootDir, 'build-cache')
+                }
+            }
+        """.stripIndent()
+
+        buildFile << """
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+            apply plugin: 'java-library'
+            
+            repositories {
+                mavenCentral()
+            }
+            
+            revapi {
+                oldGroup = 'org.codehaus.cargo'
+                oldName = 'empty-jar'
+                oldVersion = '1.7.7'
+            }
+        """.stripIndent()
+
+        then:
+        runTasksSuccessfully('revapi', '--build-cache').wasExecuted('revapiAnalyze')
+        new File(projectDir, 'build/revapi').deleteDir()
+        runTasksSuccessfully('revapi', '--build-cache').standardOutput.contains(':revapiAnalyze FROM-CACHE')
+    }
+
     @Ignore("Test environment issue - Maven resolution fails before API comparison")
     def 'is not up to date when public (not private) api has changed'() {
         when:
@@ -820,6 +1065,51 @@ class RevapiSpec extends IntegrationSpec {
         runTasksSuccessfully('revapi').wasExecuted('revapiAnalyze')
     }
 
+    def 'is up to date when only method bodies have changed and implementation changes are ignored'() {
+        when:
+        buildFile << """
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+            apply plugin: 'java-library'
+            
+            repositories {
+                mavenCentral()
+            }
+            
+            revapi {
+                oldGroup = 'org.codehaus.cargo'
+                oldName = 'empty-jar'
+                oldVersion = '1.7.7'
+                ignoreImplementationChanges = true
+            }
+        """.stripIndent()
+
+        String javaFile = 'src/main/java/foo/Foo.java'
+        writeToFile javaFile, '''
+            public class Foo {
+                public int publicMethod() { return 1; }
+            }
+        '''.stripIndent()
+
+        then:
+        runTasksSuccessfully('revapi').wasExecuted('revapiAnalyze')
+
+        writeToFile javaFile, '''
+            public class Foo {
+                public int publicMethod() { return 2; }
+            }
+        '''.stripIndent()
+
+        runTasksSuccessfully('revapi').wasUpToDate('revapiAnalyze')
+
+        writeToFile javaFile, '''
+            public class Foo {
+                public long publicMethod() { return 2; }
+            }
+        '''.stripIndent()
+
+        runTasksSuccessfully('revapi').wasExecuted('revapiAnalyze')
+    }
+
     def 'compatible with gradle-shadow-jar'() {
         when:
         rootProjectNameIs('root')
@@ -985,6 +1275,76 @@ class RevapiSpec extends IntegrationSpec {
         }
     }
 
+    def 'does not report suppressed codes in types matched by a generated code profile'() {
+        when:
+        rootProjectNameIs('root')
+
+        buildFile << """
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+            apply plugin: 'java-library'
+            apply plugin: 'maven-publish'
+            
+            allprojects {
+                group = 'revapi.test'
+                ${mavenRepoGradle()}
+            }
+            
+            version = '1.0.0'
+            
+            revapi {
+                oldVersion = project.version
+                generatedCode {
+                    ourGenerator {
+                        annotation = 'foo.Generated'
+                        codes = ['java.method.removed']
+                    }
+                }
+            }
+            
+            ${testMavenPublication()}
+        """.stripIndent()
+
+        writeToFile 'src/main/java/foo/Generated.java', '''
+            package foo;
+            public @interface Generated {}
+        '''.stripIndent()
+
+        writeToFile 'src/main/java/foo/GeneratedFoo.java', '''
+            package foo;
+            @Generated
+            public class GeneratedFoo {
+                public void removed() {}
+            }
+        '''.stripIndent()
+
+        writeToFile 'src/main/java/foo/HandWrittenFoo.java', '''
+            package foo;
+            public class HandWrittenFoo {
+                public void removed() {}
+            }
+        '''.stripIndent()
+
+        runTasksSuccessfully("publish")
+
+        and:
+        writeToFile 'src/main/java/foo/GeneratedFoo.java', '''
+            package foo;
+            @Generated
+            public class GeneratedFoo {}
+        '''.stripIndent()
+
+        writeToFile 'src/main/java/foo/HandWrittenFoo.java', '''
+            package foo;
+            public class HandWrittenFoo {}
+        '''.stripIndent()
+
+        then:
+        def stderr = runRevapiExpectingFailure()
+
+        assert stderr.contains('method void foo.HandWrittenFoo::removed()')
+        assert !stderr.contains('method void foo.GeneratedFoo::removed()')
+    }
+
     @RestoreSystemProperties
     @Ignore("doesn't work with latest Gradle version and needs to be fixed")
     def 'breaks detected in conjure projects should be limited to those which break java but are not caught by conjure-backcompat'() {
@@ -1162,6 +1522,100 @@ class RevapiSpec extends IntegrationSpec {
         """
     }
 
+    /** Builds an Android sdk platform, whose {@code android.jar} holds just {@code android.view.View}. */
+    private File androidPlatformJar() {
+        File source = writeToFile('android-sources/android/view/View.java', '''
+            package android.view;
+            public class View { }
+        '''.stripIndent())
+        File classes = new File(projectDir, 'android-classes')
+        classes.mkdirs()
+        assert ToolProvider.getSystemJavaCompiler().run(null, null, null, '-d', classes.path, source.path) == 0
+
+        File jar = new File(projectDir, 'sdk/platforms/android-30/android.jar')
+        jar.parentFile.mkdirs()
+        new JarOutputStream(new FileOutputStream(jar)).withCloseable { out ->
+            out.putNextEntry(new JarEntry('android/view/View.class'))
+            out.write(new File(classes, 'android/view/View.class').bytes)
+            out.closeEntry()
+        }
+        return jar
+    }
+
+    /**
+     * A stand-in for the {@code com.android.library} plugin, with a debug and a release variant that each publish an
+     * aar of the project's classes, compiled against the {@code android.jar} of {@link #androidPlatformJar}.
+     */
+    private void fakeAndroidLibraryPlugin() {
+        writeToFile 'buildSrc/src/main/resources/META-INF/gradle-plugins/com.android.library.properties',
+                'implementation-class=FakeAndroidLibraryPlugin\n'
+        writeToFile 'buildSrc/src/main/groovy/FakeAndroidLibraryPlugin.groovy', '''
+            import org.gradle.api.DomainObjectSet
+            import org.gradle.api.Plugin
+            import org.gradle.api.Project
+            import org.gradle.api.tasks.bundling.Zip
+
+            class FakeAndroidLibraryPlugin implements Plugin<Project> {
+                void apply(Project project) {
+                    project.pluginManager.apply('java-library')
+                    def android = new FakeAndroidExtension(project)
+                    project.extensions.add('android', android)
+                    project.tasks.named('compileJava') { it.classpath += project.files(android.bootClasspath) }
+
+                    android.libraryVariants.all { variant ->
+                        def aar = project.tasks.register("bundle${variant.name.capitalize()}Aar", Zip) {
+                            it.from(project.tasks.named('jar')) { it.rename { 'classes.jar' } }
+                            it.archiveFileName.set("${project.name}-${variant.name}.aar")
+                            it.destinationDirectory.set(project.layout.buildDirectory.dir('outputs/aar'))
+                        }
+                        def compileClasspath = project.configurations.compileClasspath
+                        project.configurations.create("${variant.name}CompileClasspath") {
+                            it.extendsFrom(compileClasspath)
+                            it.canBeConsumed = false
+                            compileClasspath.attributes.keySet().each { key ->
+                                it.attributes.attribute(key, compileClasspath.attributes.getAttribute(key))
+                            }
+                        }
+                        project.configurations.create("${variant.name}RuntimeElements") {
+                            it.canBeResolved = false
+                            it.outgoing.artifact(aar)
+                        }
+                    }
+                    android.libraryVariants.add(new FakeVariant('debug', new FakeBuildType(true)))
+                    android.libraryVariants.add(new FakeVariant('release', new FakeBuildType(false)))
+                }
+            }
+
+            class FakeAndroidExtension {
+                final DomainObjectSet<FakeVariant> libraryVariants
+                final List<File> bootClasspath
+
+                FakeAndroidExtension(Project project) {
+                    libraryVariants = project.objects.domainObjectSet(FakeVariant)
+                    bootClasspath = [project.rootProject.file('sdk/platforms/android-30/android.jar')]
+                }
+            }
+
+            class FakeVariant {
+                final String name
+                final FakeBuildType buildType
+
+                FakeVariant(String name, FakeBuildType buildType) {
+                    this.name = name
+                    this.buildType = buildType
+                }
+            }
+
+            class FakeBuildType {
+                final boolean debuggable
+
+                FakeBuildType(boolean debuggable) {
+                    this.debuggable = debuggable
+                }
+            }
+        '''.stripIndent()
+    }
+
     private File writeToFile(String filename, String content) {
         writeToFile(projectDir, filename, content)
     }
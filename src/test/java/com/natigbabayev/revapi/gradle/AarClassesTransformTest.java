@@ -0,0 +1,74 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticApiGenerator;
+
+class AarClassesTransformTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void unpacks_the_classes_named_after_the_library_and_the_jars_it_bundles() throws Exception {
+        File classesJar = SyntheticApiGenerator.compileToJar(
+                tempDir.resolve("classes"),
+                "classes.jar",
+                ImmutableMap.of("foo/Api.java", "package foo;\npublic interface Api {}\n"));
+        byte[] bundledJar = "a bundled jar".getBytes(StandardCharsets.UTF_8);
+
+        File aar = aar(ImmutableMap.of(
+                "AndroidManifest.xml", "<manifest/>".getBytes(StandardCharsets.UTF_8),
+                "classes.jar", Files.readAllBytes(classesJar.toPath()),
+                "libs/bundled.jar", bundledJar,
+                "res/values/values.xml", "<resources/>".getBytes(StandardCharsets.UTF_8)));
+
+        Path unpacked = tempDir.resolve("unpacked");
+        List<File> jars = AarClassesTransform.extractJars(aar, name -> unpacked.resolve(name).toFile());
+
+        assertThat(jars)
+                .containsExactly(
+                        unpacked.resolve("library-1.0.jar").toFile(),
+                        unpacked.resolve("libs/bundled.jar").toFile());
+        assertThat(jars.get(0)).hasBinaryContent(Files.readAllBytes(classesJar.toPath()));
+        assertThat(jars.get(1)).hasBinaryContent(bundledJar);
+    }
+
+    private File aar(Map<String, byte[]> entries) throws Exception {
+        File aar = tempDir.resolve("library-1.0.aar").toFile();
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(aar.toPath()))) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue());
+                zip.closeEntry();
+            }
+        }
+        return aar;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AnalysisInputsTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void estimates_the_heap_for_each_jar_once_leaving_out_the_android_platform() throws Exception {
+        File androidJar = write("sdk/platforms/android-34/android.jar", 1000);
+        File guava = write("guava.jar", 10);
+
+        AnalysisInputs inputs = AnalysisInputs.builder()
+                .projectPath(":lib")
+                .oldApiJars(ImmutableList.of(write("old/lib.jar", 5)))
+                .oldApiDependencyJars(ImmutableList.of(guava, androidJar))
+                .newApiJars(ImmutableList.of(write("new/lib.jar", 6)))
+                .newApiDependencyJars(ImmutableList.of(guava, androidJar))
+                .apiFilters(ApiFilters.builder().build())
+                .projectConfig(RevapiConfig.empty())
+                .analysisResultsFile(tempDir.resolve("results.json").toFile())
+                .metricsFile(tempDir.resolve("metrics.json").toFile())
+                .build();
+
+        assertThat(inputs.estimatedHeapBytes()).isEqualTo((5 + 6 + 10) * AnalysisInputs.HEAP_BYTES_PER_JAR_BYTE);
+    }
+
+    @Test
+    void only_recognises_jars_in_an_sdk_platform_as_platform_jars() {
+        assertThat(AndroidSdk.isPlatformJar(new File("/sdk/platforms/android-34/android.jar"))).isTrue();
+        assertThat(AndroidSdk.isPlatformJar(new File("/sdk/platforms/android-34/optional/org.apache.http.legacy.jar")))
+                .isTrue();
+        assertThat(AndroidSdk.isPlatformJar(new File("/repo/android-34/android.jar"))).isFalse();
+        assertThat(AndroidSdk.isPlatformJar(new File("/repo/platforms/guava.jar"))).isFalse();
+    }
+
+    private File write(String path, int length) throws Exception {
+        Path file = tempDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        return Files.write(file, new byte[length]).toFile();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AnalysisResultsTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void finds_archive_names_when_there_are_no_results() throws IOException {
+        Path results = write("{\n"
+                + "    \"archiveNames\": \"foo-1.0.jar, bar-1.0.jar\",\n"
+                + "    \"results\": [\n"
+                + "    ]\n"
+                + "}\n");
+
+        assertThat(AnalysisResults.archiveNamesIfNoResults(results.toFile())).hasValue("foo-1.0.jar, bar-1.0.jar");
+        assertThat(AnalysisResults.fromFile(results.toFile()).results()).isEmpty();
+    }
+
+    @Test
+    void finds_nothing_when_there_are_results() throws IOException {
+        Path results = write("{\n"
+                + "    \"archiveNames\": \"foo-1.0.jar\",\n"
+                + "    \"results\": [\n"
+                + "        {\n"
+                + "            \"code\": \"java.class.removed\",\n"
+                + "            \"oldElement\": \"class foo.Foo\",\n"
+                + "            \"newElement\": null,\n"
+                + "            \"description\": \"Class was removed.\",\n"
+                + "            \"oldArchiveName\": \"foo-1.0.jar\",\n"
+                + "            \"newArchiveName\": null,\n"
+                + "            \"classification\": {\n"
+                + "                \"BINARY\": \"BREAKING\",\n"
+                + "            }\n"
+                + "        },\n"
+                + "    ]\n"
+                + "}\n");
+
+        assertThat(AnalysisResults.archiveNamesIfNoResults(results.toFile())).isEmpty();
+        assertThat(AnalysisResults.fromFile(results.toFile()).results()).hasSize(1);
+    }
+
+    private Path write(String json) throws IOException {
+        Path file = tempDir.resolve("revapi-results.json");
+        Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
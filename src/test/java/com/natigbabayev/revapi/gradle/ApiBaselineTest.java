@@ -0,0 +1,159 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticApi;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticApiGenerator;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticApiSpec;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticChange;
+
+class ApiBaselineTest {
+    private static final SyntheticApiSpec SPEC = SyntheticApiSpec.builder()
+            .classCount(200)
+            .inheritanceDepth(2)
+            .genericsDensity(0.3)
+            .immutablesRate(0.2)
+            .putChangeRates(SyntheticChange.CLASS_REMOVED, 0.1)
+            .putChangeRates(SyntheticChange.CLASS_NOW_FINAL, 0.1)
+            .putChangeRates(SyntheticChange.FIELD_REMOVED, 0.1)
+            .putChangeRates(SyntheticChange.METHOD_REMOVED, 0.1)
+            .putChangeRates(SyntheticChange.METHOD_RETURN_TYPE_CHANGED, 0.1)
+            .putChangeRates(SyntheticChange.METHOD_PARAMETER_TYPE_CHANGED, 0.1)
+            .putChangeRates(SyntheticChange.METHOD_VISIBILITY_REDUCED, 0.1)
+            .putChangeRates(SyntheticChange.METHOD_ADDED_TO_INTERFACE, 0.1)
+            .build();
+
+    @TempDir
+    Path tempDir;
+
+    private SyntheticApi api;
+    private File baseline;
+
+    @BeforeEach
+    void before() throws Exception {
+        api = SyntheticApiGenerator.generate(SPEC, tempDir.resolve("api"));
+        baseline = tempDir.resolve("api-baseline.json").toFile();
+        ApiBaseline.write(ImmutableList.of(api.oldJar()), api.supportJars(), baseline);
+    }
+
+    @Test
+    void finds_the_same_differences_as_comparing_against_the_jars() throws Exception {
+        File fromJars = analyse("jars", Optional.empty());
+        File fromBaseline = analyse("baseline", Optional.of(baseline));
+
+        assertThat(AnalysisResults.fromFile(fromBaseline).results())
+                .hasSameSizeAs(api.expectedDifferences())
+                .containsExactlyInAnyOrderElementsOf(AnalysisResults.fromFile(fromJars).results());
+    }
+
+    @Test
+    void is_written_the_same_way_every_time() throws Exception {
+        File again = tempDir.resolve("again.json").toFile();
+        ApiBaseline.write(ImmutableList.of(api.oldJar()), api.supportJars(), again);
+
+        assertThat(Files.readAllBytes(again.toPath())).isEqualTo(Files.readAllBytes(baseline.toPath()));
+    }
+
+    @Test
+    void keeps_the_classes_of_the_api_apart_from_those_it_depends_on() throws Exception {
+        ApiBaseline.Contents contents = ApiBaseline.read(baseline);
+
+        assertThat(contents.apiArchiveNames()).containsExactly(api.oldJar().getName());
+        assertThat(contents.dependencyArchives())
+                .as("the immutables annotations the api uses come from a dependency")
+                .hasSize(1);
+    }
+
+    @Test
+    void keeps_the_package_info_of_packages_with_classes_in_the_api() throws Exception {
+        File oldJar =
+                SyntheticApiGenerator.compileToJar(tempDir.resolve("old"), "api.jar", packageSources("int one();"));
+        File newJar = SyntheticApiGenerator.compileToJar(tempDir.resolve("new"), "api.jar", packageSources(""));
+        File packageBaseline = tempDir.resolve("package-baseline.json").toFile();
+        ApiBaseline.write(ImmutableList.of(oldJar), ImmutableList.of(), packageBaseline);
+
+        assertThat(new String(Files.readAllBytes(packageBaseline.toPath()), StandardCharsets.UTF_8))
+                .as("foo.impl has no public classes, so is left out, annotation and all")
+                .contains("\"foo/internal/package-info\"", "\"desc\" : \"Lfoo/Internal;\"")
+                .doesNotContain("foo/impl/");
+
+        File fromJars = analyse("package-jars", Optional.empty(), oldJar, newJar);
+        File fromBaseline = analyse("package-baseline", Optional.of(packageBaseline), oldJar, newJar);
+        assertThat(AnalysisResults.fromFile(fromBaseline).results())
+                .hasSize(2)
+                .containsExactlyInAnyOrderElementsOf(AnalysisResults.fromFile(fromJars).results());
+    }
+
+    /** Packages annotated {@code @Internal}, with and without public classes, which have {@code members}. */
+    private static Map<String, String> packageSources(String members) {
+        return ImmutableMap.of(
+                "foo/Internal.java",
+                "package foo;\n@java.lang.annotation.Target(java.lang.annotation.ElementType.PACKAGE)\n"
+                        + "public @interface Internal {}\n",
+                "foo/Api.java",
+                "package foo;\npublic interface Api { " + members + " }\n",
+                "foo/internal/package-info.java",
+                "@foo.Internal\npackage foo.internal;\n",
+                "foo/internal/Impl.java",
+                "package foo.internal;\npublic interface Impl { " + members + " }\n",
+                "foo/impl/package-info.java",
+                "@foo.Internal\npackage foo.impl;\n",
+                "foo/impl/Hidden.java",
+                "package foo.impl;\ninterface Hidden { " + members + " }\n");
+    }
+
+    private File analyse(String name, Optional<File> oldApiBaseline) throws Exception {
+        return analyse(name, oldApiBaseline, api.oldJar(), api.newJar());
+    }
+
+    private File analyse(String name, Optional<File> oldApiBaseline, File oldJar, File newJar) throws Exception {
+        File resultsFile = tempDir.resolve(name + "-results.json").toFile();
+        AnalysisInputs inputs = AnalysisInputs.builder()
+                .projectPath(":" + name)
+                .oldApiJars(oldApiBaseline.isPresent() ? ImmutableList.of() : ImmutableList.of(oldJar))
+                .oldApiDependencyJars(oldApiBaseline.isPresent() ? ImmutableList.of() : api.supportJars())
+                .oldApiBaseline(oldApiBaseline)
+                .newApiJars(ImmutableList.of(newJar))
+                .newApiDependencyJars(api.supportJars())
+                .addArchiveNamesToReportBreaks(newJar.getName())
+                .apiFilters(ApiFilters.builder().build())
+                .projectConfig(RevapiConfig.empty())
+                .analysisResultsFile(resultsFile)
+                .metricsFile(tempDir.resolve(name + "-metrics.json").toFile())
+                .build();
+
+        RevapiAnalysis.run(
+                RevapiAnalysis.revapiBuilder().build(),
+                inputs,
+                ArchiveCache.uncached(),
+                new AnalysisMetrics(inputs.projectPath(), inputs.metricsFile()));
+        return resultsFile;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticApi;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticApiGenerator;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticApiSpec;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticChange;
+
+class ApiModelTransformTest {
+    private static final SyntheticApiSpec SPEC = SyntheticApiSpec.builder()
+            .classCount(200)
+            .inheritanceDepth(2)
+            .genericsDensity(0.3)
+            .immutablesRate(0.2)
+            .putChangeRates(SyntheticChange.CLASS_REMOVED, 0.1)
+            .putChangeRates(SyntheticChange.CLASS_NOW_FINAL, 0.1)
+            .putChangeRates(SyntheticChange.FIELD_REMOVED, 0.1)
+            .putChangeRates(SyntheticChange.METHOD_REMOVED, 0.1)
+            .putChangeRates(SyntheticChange.METHOD_RETURN_TYPE_CHANGED, 0.1)
+            .putChangeRates(SyntheticChange.METHOD_PARAMETER_TYPE_CHANGED, 0.1)
+            .putChangeRates(SyntheticChange.METHOD_VISIBILITY_REDUCED, 0.1)
+            .putChangeRates(SyntheticChange.METHOD_ADDED_TO_INTERFACE, 0.1)
+            .build();
+
+    @TempDir
+    Path tempDir;
+
+    private SyntheticApi api;
+
+    @BeforeEach
+    void before() throws Exception {
+        api = SyntheticApiGenerator.generate(SPEC, tempDir.resolve("api"));
+    }
+
+    @Test
+    void finds_the_same_differences_as_the_jars_themselves() throws Exception {
+        File fromJars = analyse("jars", api.oldJar(), api.supportJars());
+        File fromModels = analyse("models", apiModelOf(api.oldJar()), apiModelsOf(api.supportJars()));
+
+        assertThat(AnalysisResults.fromFile(fromModels).results())
+                .hasSameSizeAs(api.expectedDifferences())
+                .containsExactlyInAnyOrderElementsOf(AnalysisResults.fromFile(fromJars).results());
+    }
+
+    @Test
+    void keeps_the_name_of_the_jar_but_not_its_code() throws Exception {
+        File model = apiModelOf(api.oldJar());
+
+        assertThat(model).hasName(api.oldJar().getName());
+        assertThat(model.length()).isLessThan(api.oldJar().length());
+    }
+
+    private File apiModelOf(File jar) throws Exception {
+        File modelDir = tempDir.resolve("models").resolve(jar.getParentFile().getName()).toFile();
+        modelDir.mkdirs();
+        File model = new File(modelDir, jar.getName());
+        ApiModelTransform.writeApiModel(jar, model);
+        return model;
+    }
+
+    private List<File> apiModelsOf(List<File> jars) throws Exception {
+        ImmutableList.Builder<File> models = ImmutableList.builder();
+        for (File jar : jars) {
+            models.add(apiModelOf(jar));
+        }
+        return models.build();
+    }
+
+    private File analyse(String name, File oldJar, List<File> oldDependencyJars) throws Exception {
+        File resultsFile = tempDir.resolve(name + "-results.json").toFile();
+        AnalysisInputs inputs = AnalysisInputs.builder()
+                .projectPath(":" + name)
+                .oldApiJars(ImmutableList.of(oldJar))
+                .oldApiDependencyJars(oldDependencyJars)
+                .newApiJars(ImmutableList.of(api.newJar()))
+                .newApiDependencyJars(api.supportJars())
+                .addArchiveNamesToReportBreaks(api.newJar().getName(), oldJar.getName())
+                .apiFilters(ApiFilters.builder().build())
+                .projectConfig(RevapiConfig.empty())
+                .analysisResultsFile(resultsFile)
+                .metricsFile(tempDir.resolve(name + "-metrics.json").toFile())
+                .build();
+
+        RevapiAnalysis.run(
+                RevapiAnalysis.revapiBuilder().build(),
+                inputs,
+                ArchiveCache.uncached(),
+                new AnalysisMetrics(inputs.projectPath(), inputs.metricsFile()));
+        return resultsFile;
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.revapi.API;
+import org.revapi.Archive;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticApi;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticApiGenerator;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticApiSpec;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticChange;
+
+class ApiReachabilityTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void finds_the_same_differences_as_analysing_every_class() throws Exception {
+        SyntheticApi api = SyntheticApiGenerator.generate(
+                SyntheticApiSpec.builder()
+                        .classCount(200)
+                        .inheritanceDepth(2)
+                        .genericsDensity(0.3)
+                        .immutablesRate(0.2)
+                        .putChangeRates(SyntheticChange.CLASS_REMOVED, 0.1)
+                        .putChangeRates(SyntheticChange.CLASS_NOW_FINAL, 0.1)
+                        .putChangeRates(SyntheticChange.METHOD_REMOVED, 0.1)
+                        .putChangeRates(SyntheticChange.METHOD_RETURN_TYPE_CHANGED, 0.1)
+                        .putChangeRates(SyntheticChange.METHOD_VISIBILITY_REDUCED, 0.1)
+                        .build(),
+                tempDir.resolve("api"));
+
+        List<AnalysisResult> everyClass = analyse("every", api.oldJar(), api.newJar(), api.supportJars(), false);
+        List<AnalysisResult> pruned = analyse("pruned", api.oldJar(), api.newJar(), api.supportJars(), true);
+
+        assertThat(pruned)
+                .hasSameSizeAs(api.expectedDifferences())
+                .containsExactlyInAnyOrderElementsOf(everyClass);
+    }
+
+    @Test
+    void leaves_out_implementation_classes_but_not_classes_made_non_public() throws Exception {
+        File oldJar = SyntheticApiGenerator.compileToJar(tempDir.resolve("old"), "api.jar", ImmutableMap.of(
+                "foo/Api.java", "package foo;\n"
+                        + "public class Api {\n"
+                        + "    private final Engine engine = new Engine();\n"
+                        + "    public Result run() { return engine.run(new Helper()); }\n"
+                        + "}\n",
+                "foo/Result.java", "package foo;\npublic class Result {}\n",
+                "foo/Hidden.java", "package foo;\npublic class Hidden {}\n",
+                "foo/Engine.java", "package foo;\n"
+                        + "class Engine { Result run(Helper helper) { return new Result(); } }\n",
+                "foo/Helper.java", "package foo;\nclass Helper {}\n"));
+        File newJar = SyntheticApiGenerator.compileToJar(tempDir.resolve("new"), "api.jar", ImmutableMap.of(
+                "foo/Api.java", "package foo;\n"
+                        + "public class Api {\n"
+                        + "    private final Engine engine = new Engine();\n"
+                        + "    public void run() { engine.run(new Helper()); }\n"
+                        + "}\n",
+                "foo/Result.java", "package foo;\npublic class Result {}\n",
+                "foo/Hidden.java", "package foo;\nclass Hidden {}\n",
+                "foo/Engine.java", "package foo;\n"
+                        + "class Engine { Result run(Helper helper) { return new Result(); } }\n",
+                "foo/Helper.java", "package foo;\nclass Helper {}\n"));
+
+        ApiReachability.PrunedApis pruned = ApiReachability.prune(
+                inputs("classes", oldJar, newJar, ImmutableList.of(), true), _className -> true);
+
+        assertThat(pruned.classes()).isEqualTo(10);
+        assertThat(pruned.reachableClasses())
+                .as("Api, Result and Hidden on each side")
+                .isEqualTo(6);
+        List<AnalysisResult> results = analyse("classes", oldJar, newJar, ImmutableList.of(), true);
+        assertThat(results)
+                .containsExactlyInAnyOrderElementsOf(analyse("classes", oldJar, newJar, ImmutableList.of(), false));
+        assertThat(results.stream().map(AnalysisResult::code).collect(Collectors.toList()))
+                .contains("java.method.returnTypeChanged", "java.class.visibilityReduced");
+    }
+
+    @Test
+    void only_reports_breaks_in_exported_packages_or_where_they_expose_other_packages() throws Exception {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().putValue("Export-Package", "foo;version=\"1.0\"");
+
+        File oldJar = SyntheticApiGenerator.compileToJar(
+                tempDir.resolve("old"),
+                "api.jar",
+                ImmutableMap.of(
+                        "foo/Api.java", "package foo;\npublic interface Api { foo.impl.Exposed exposed(); }\n",
+                        "foo/impl/Exposed.java", "package foo.impl;\npublic interface Exposed { int one(); }\n",
+                        "foo/impl/Internal.java", "package foo.impl;\npublic interface Internal { int two(); }\n"),
+                manifest);
+        File newJar = SyntheticApiGenerator.compileToJar(
+                tempDir.resolve("new"),
+                "api.jar",
+                ImmutableMap.of(
+                        "foo/Api.java", "package foo;\npublic interface Api { foo.impl.Exposed exposed(); }\n",
+                        "foo/impl/Exposed.java", "package foo.impl;\npublic interface Exposed { }\n",
+                        "foo/impl/Internal.java", "package foo.impl;\npublic interface Internal { }\n"),
+                manifest);
+
+        AnalysisInputs inputs = AnalysisInputs.builder()
+                .from(inputs("exports", oldJar, newJar, ImmutableList.of(), false))
+                .exportedPackagesOnly(true)
+                .build();
+        RevapiAnalysis.run(
+                RevapiAnalysis.revapiBuilder().build(),
+                inputs,
+                ArchiveCache.uncached(),
+                new AnalysisMetrics(inputs.projectPath(), inputs.metricsFile()));
+
+        assertThat(AnalysisResults.fromFile(inputs.analysisResultsFile()).results())
+                .extracting(AnalysisResult::oldElement)
+                .containsExactly("method int foo.impl.Exposed::one()");
+    }
+
+    @Test
+    void keeps_the_package_info_of_packages_with_reachable_classes() throws Exception {
+        ImmutableMap<String, String> sources = ImmutableMap.of(
+                "foo/package-info.java", "@Deprecated\npackage foo;\n",
+                "foo/Api.java", "package foo;\npublic class Api {}\n",
+                "foo/impl/package-info.java", "@Deprecated\npackage foo.impl;\n",
+                "foo/impl/Engine.java", "package foo.impl;\nclass Engine {}\n");
+        File oldJar = SyntheticApiGenerator.compileToJar(tempDir.resolve("old"), "api.jar", sources);
+        File newJar = SyntheticApiGenerator.compileToJar(tempDir.resolve("new"), "api.jar", sources);
+
+        ApiReachability.PrunedApis pruned = ApiReachability.prune(
+                inputs("package-info", oldJar, newJar, ImmutableList.of(), true), _className -> true);
+
+        assertThat(classNames(pruned.oldApi())).containsExactly("foo/Api", "foo/package-info");
+        assertThat(classNames(pruned.newApi())).containsExactly("foo/Api", "foo/package-info");
+    }
+
+    @Test
+    void sees_multi_release_jars_as_the_target_release_does() throws Exception {
+        File java8Jar = SyntheticApiGenerator.compileToJar(
+                tempDir.resolve("8"),
+                "api.jar",
+                ImmutableMap.of("foo/Api.java", "package foo;\npublic class Api { public void legacy() {} }\n"));
+        File java11Jar = SyntheticApiGenerator.compileToJar(
+                tempDir.resolve("11"),
+                "api.jar",
+                ImmutableMap.of("foo/Api.java", "package foo;\npublic class Api {}\n"));
+
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().putValue("Multi-Release", "true");
+        File multiReleaseJar = tempDir.resolve("multi-release.jar").toFile();
+        try (JarFile java8 = new JarFile(java8Jar);
+                JarFile java11 = new JarFile(java11Jar);
+                JarOutputStream output =
+                        new JarOutputStream(Files.newOutputStream(multiReleaseJar.toPath()), manifest)) {
+            copyEntry(java8, "foo/Api.class", output, "foo/Api.class");
+            copyEntry(java11, "foo/Api.class", output, "META-INF/versions/11/foo/Api.class");
+        }
+
+        AnalysisInputs inputs = AnalysisInputs.builder()
+                .from(inputs("multi-release", multiReleaseJar, java11Jar, ImmutableList.of(), true))
+                .addArchiveNamesToReportBreaks(multiReleaseJar.getName())
+                .targetRelease(11)
+                .build();
+        RevapiAnalysis.run(
+                RevapiAnalysis.revapiBuilder().build(),
+                inputs,
+                ArchiveCache.uncached(),
+                new AnalysisMetrics(inputs.projectPath(), inputs.metricsFile()));
+
+        assertThat(AnalysisResults.fromFile(inputs.analysisResultsFile()).results())
+                .as("neither side has legacy(), as java 11 sees them")
+                .isEmpty();
+    }
+
+    private static List<String> classNames(API api) throws IOException {
+        List<String> classNames = new ArrayList<>();
+        for (Archive archive : api.getArchives()) {
+            try (JarInputStream jar = new JarInputStream(archive.openStream())) {
+                for (JarEntry entry = jar.getNextJarEntry(); entry != null; entry = jar.getNextJarEntry()) {
+                    classNames.add(entry.getName().replaceAll("\\.class$", ""));
+                }
+            }
+        }
+        return classNames;
+    }
+
+    private static void copyEntry(JarFile from, String fromName, JarOutputStream to, String toName)
+            throws IOException {
+        to.putNextEntry(new JarEntry(toName));
+        try (InputStream input = from.getInputStream(from.getEntry(fromName))) {
+            ByteStreams.copy(input, to);
+        }
+        to.closeEntry();
+    }
+
+    private List<AnalysisResult> analyse(String name, File oldJar, File newJar, List<File> supportJars, boolean prune)
+            throws Exception {
+        AnalysisInputs inputs = inputs(name, oldJar, newJar, supportJars, prune);
+        RevapiAnalysis.run(
+                RevapiAnalysis.revapiBuilder().build(),
+                inputs,
+                ArchiveCache.uncached(),
+                new AnalysisMetrics(inputs.projectPath(), inputs.metricsFile()));
+        return AnalysisResults.fromFile(inputs.analysisResultsFile()).results();
+    }
+
+    private AnalysisInputs inputs(String name, File oldJar, File newJar, List<File> supportJars, boolean prune) {
+        return AnalysisInputs.builder()
+                .projectPath(":" + name)
+                .oldApiJars(ImmutableList.of(oldJar))
+                .oldApiDependencyJars(supportJars)
+                .newApiJars(ImmutableList.of(newJar))
+                .newApiDependencyJars(supportJars)
+                .addArchiveNamesToReportBreaks(newJar.getName())
+                .apiFilters(ApiFilters.builder().build())
+                .projectConfig(RevapiConfig.empty())
+                .analysisResultsFile(tempDir.resolve(name + (prune ? "-pruned" : "") + "-results.json").toFile())
+                .metricsFile(tempDir.resolve(name + "-metrics.json").toFile())
+                .pruneUnreachableClasses(prune)
+                .build();
+    }
+}
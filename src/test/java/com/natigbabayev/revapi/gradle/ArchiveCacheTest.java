@@ -0,0 +1,108 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ArchiveCacheTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void hands_both_apis_the_same_archive_for_the_same_jar() throws Exception {
+        File sharedJar = write("guava.jar", "guava");
+        File oldCopy = write("old/jackson.jar", "jackson");
+        File newCopy = write("new/jackson.jar", "jackson");
+
+        ArchiveCache.SupportArchives archives = ArchiveCache.uncached()
+                .supportArchivesFor(ImmutableList.of(sharedJar, oldCopy), ImmutableList.of(sharedJar, newCopy));
+
+        assertThat(archives.newArchives().get(0)).isSameAs(archives.oldArchives().get(0));
+        assertThat(archives.newArchives().get(1))
+                .as("a copy is not read to compare its contents")
+                .isNotSameAs(archives.oldArchives().get(1));
+    }
+
+    @Test
+    void counts_the_archives_it_shared() throws Exception {
+        File jar = write("guava.jar", "guava");
+        ArchiveCache archiveCache = ArchiveCache.caching();
+        archiveCache.supportArchivesFor(ImmutableList.of(jar), ImmutableList.of(jar));
+
+        AnalysisMetrics metrics = new AnalysisMetrics(":project", tempDir.resolve("metrics.json").toFile());
+        archiveCache.contributeTo(metrics);
+
+        assertThat(metrics.counters())
+                .containsEntry("sharedSupportArchives", 1L)
+                .containsEntry("archiveBytesRead", jar.length());
+    }
+
+    @Test
+    void reads_a_jar_once_for_the_instances_sharing_archives() throws Exception {
+        File jar = write("guava.jar", "guava");
+        ArchiveCache archiveCache = ArchiveCache.caching();
+        ArchiveCache sharingArchives = archiveCache.sharingArchives();
+
+        ArchiveCache.SupportArchives first = archiveCache.supportArchivesFor(ImmutableList.of(jar), ImmutableList.of());
+        ArchiveCache.SupportArchives second =
+                sharingArchives.supportArchivesFor(ImmutableList.of(jar), ImmutableList.of());
+
+        assertThat(second.oldArchives().get(0)).isSameAs(first.oldArchives().get(0));
+        AnalysisMetrics metrics = new AnalysisMetrics(":project", tempDir.resolve("metrics.json").toFile());
+        sharingArchives.contributeTo(metrics);
+        assertThat(metrics.counters())
+                .containsEntry("archiveCacheHits", 1L)
+                .containsEntry("archiveBytesRead", 0L);
+    }
+
+    @Test
+    void drops_the_least_recently_used_archives_past_its_budget() throws Exception {
+        File first = write("first.jar", "1111");
+        File second = write("second.jar", "2222");
+        File third = write("third.jar", "3333");
+        ArchiveCache archiveCache = ArchiveCache.caching(8);
+
+        archiveCache.archivesFor(ImmutableList.of(first, second, first, third));
+        AnalysisMetrics metrics = new AnalysisMetrics(":project", tempDir.resolve("metrics.json").toFile());
+        archiveCache.contributeTo(metrics);
+        assertThat(metrics.counters())
+                .containsEntry("archiveCacheHits", 1L)
+                .containsEntry("archiveBytesRead", 12L);
+
+        archiveCache.archivesFor(ImmutableList.of(first, second));
+        AnalysisMetrics again = new AnalysisMetrics(":project", tempDir.resolve("metrics.json").toFile());
+        archiveCache.contributeTo(again);
+        assertThat(again.counters())
+                .as("the second jar was dropped to make room for the third, but the first was used since")
+                .containsEntry("archiveCacheHits", 1L)
+                .containsEntry("archiveBytesRead", 4L);
+    }
+
+    private File write(String path, String contents) throws Exception {
+        Path file = tempDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        return Files.write(file, contents.getBytes(StandardCharsets.UTF_8)).toFile();
+    }
+}
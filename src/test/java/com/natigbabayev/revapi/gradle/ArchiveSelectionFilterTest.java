@@ -0,0 +1,83 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableSortedSet;
+import java.io.File;
+import org.jboss.dmr.ModelNode;
+import org.junit.jupiter.api.Test;
+import org.revapi.API;
+import org.revapi.AnalysisContext;
+import org.revapi.Archive;
+import org.revapi.Element;
+import org.revapi.simple.FileArchive;
+
+class ArchiveSelectionFilterTest {
+    private final Archive oldJar = new FileArchive(new File("old/foo-1.0.jar"));
+    private final Archive newJar = new FileArchive(new File("new/foo-1.1.jar"));
+
+    @Test
+    void selects_primary_archives_by_identity() {
+        ArchiveSelectionFilter filter = initializedFilter(ImmutableSortedSet.of());
+
+        assertThat(filter.applies(elementFrom(oldJar))).isTrue();
+        assertThat(filter.applies(elementFrom(newJar))).isTrue();
+        assertThat(filter.applies(elementFrom(new FileArchive(new File("guava-33.2.1-jre.jar"))))).isFalse();
+    }
+
+    @Test
+    void selects_archives_by_exact_name_not_as_regexes() {
+        ArchiveSelectionFilter filter = initializedFilter(ImmutableSortedSet.of("c++lib-1.0.jar"));
+
+        assertThat(filter.applies(elementFrom(new FileArchive(new File("other/c++lib-1.0.jar"))))).isTrue();
+        assertThat(filter.applies(elementFrom(new FileArchive(new File("c++lib-1x0.jar"))))).isFalse();
+        assertThat(filter.applies(elementFrom(new FileArchive(new File("cclib-1.0.jar"))))).isFalse();
+    }
+
+    @Test
+    void selects_everything_when_not_configured() {
+        ArchiveSelectionFilter filter = new ArchiveSelectionFilter();
+        filter.initialize(AnalysisContext.builder().build().copyWithConfiguration(new ModelNode()));
+
+        assertThat(filter.applies(elementFrom(new FileArchive(new File("anything.jar"))))).isTrue();
+    }
+
+    private ArchiveSelectionFilter initializedFilter(ImmutableSortedSet<String> archiveNames) {
+        ModelNode configuration = new ModelNode().setEmptyList();
+        archiveNames.forEach(configuration::add);
+
+        AnalysisContext analysisContext = AnalysisContext.builder()
+                .withOldAPI(API.of(oldJar).build())
+                .withNewAPI(API.of(newJar).build())
+                .build()
+                .copyWithConfiguration(configuration);
+
+        ArchiveSelectionFilter filter = new ArchiveSelectionFilter();
+        filter.initialize(analysisContext);
+        return filter;
+    }
+
+    private static Element elementFrom(Archive archive) {
+        Element element = mock(Element.class);
+        when(element.getArchive()).thenReturn(archive);
+        return element;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import org.junit.jupiter.api.Test;
+import org.revapi.CompatibilityType;
+import org.revapi.DifferenceSeverity;
+
+class BreaksIndexTest {
+    private final BreaksIndex breaks = new BreaksIndex();
+
+    @Test
+    void reports_the_same_break_in_many_projects_once() throws IOException {
+        breaks.add(":b", result("java.method.removed", "method void foo.Foo::foo()"));
+        breaks.add(":a", result("java.method.removed", "method void foo.Foo::foo()"));
+        breaks.add(":a", result("java.class.removed", "class foo.Bar"));
+
+        assertThat(breaks.size()).isEqualTo(2);
+        assertThat(report())
+                .startsWith("2 distinct breaks in 2 projects (3 reported in total):")
+                .containsOnlyOnce("method void foo.Foo::foo()")
+                .contains("in: :a, :b")
+                .contains("./gradlew revapiAcceptAllBreaks");
+    }
+
+    @Test
+    void keeps_breaks_to_different_elements_apart() {
+        breaks.add(":a", result("java.method.removed", "method void foo.Foo::foo()"));
+        breaks.add(":a", result("java.method.removed", "method void foo.Foo::bar()"));
+
+        assertThat(breaks.size()).isEqualTo(2);
+    }
+
+    private String report() throws IOException {
+        StringWriter writer = new StringWriter();
+        breaks.writeTo(writer);
+        return writer.toString();
+    }
+
+    private static AnalysisResult result(String code, String oldElement) {
+        return AnalysisResult.builder()
+                .code(code)
+                .oldElement(oldElement)
+                .description("Element was removed.")
+                .oldArchiveName("foo-1.0.jar")
+                .putClassification(CompatibilityType.BINARY, DifferenceSeverity.BREAKING)
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableSet;
+import java.io.File;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.revapi.AnalysisContext;
+import org.revapi.CompatibilityType;
+import org.revapi.Difference;
+import org.revapi.DifferenceSeverity;
+import org.revapi.Element;
+import com.natigbabayev.revapi.gradle.config.AcceptedBreak;
+
+class DifferenceCounterTest {
+    private static final String METHOD_REMOVED = "java.method.removed";
+    private static final String CLASS_REMOVED = "java.class.removed";
+
+    @Test
+    void counts_differences_matching_code_old_and_new_as_accepted() {
+        DifferenceCounter counter = initializedCounter(AcceptedBreak.builder()
+                .code(METHOD_REMOVED)
+                .oldElement("method void foo.Bar::baz()")
+                .newElement("method void foo.Bar::quux()")
+                .justification("reasons")
+                .build());
+
+        counter.transform(
+                element("method void foo.Bar::baz()"),
+                element("method void foo.Bar::quux()"),
+                difference(METHOD_REMOVED));
+        counter.transform(
+                element("method void foo.Bar::baz()"),
+                element("method void foo.Bar::other()"),
+                difference(METHOD_REMOVED));
+        counter.transform(null, element("method void foo.Bar::quux()"), difference(METHOD_REMOVED));
+
+        assertThat(countersOf(counter))
+                .containsEntry(AnalysisMetrics.DIFFERENCES_FOUND, 3L)
+                .containsEntry(AnalysisMetrics.ACCEPTED_BREAKS_MATCHED, 1L);
+    }
+
+    @Test
+    void missing_old_or_new_element_matches_anything() {
+        DifferenceCounter counter = initializedCounter(
+                AcceptedBreak.builder()
+                        .code(CLASS_REMOVED)
+                        .oldElement("class foo.Bar")
+                        .justification("reasons")
+                        .build(),
+                AcceptedBreak.builder()
+                        .code(METHOD_REMOVED)
+                        .justification("reasons")
+                        .build());
+
+        counter.transform(element("class foo.Bar"), null, difference(CLASS_REMOVED));
+        counter.transform(element("class foo.Baz"), null, difference(CLASS_REMOVED));
+        counter.transform(element("method void foo.Baz::x()"), null, difference(METHOD_REMOVED));
+
+        assertThat(countersOf(counter)).containsEntry(AnalysisMetrics.ACCEPTED_BREAKS_MATCHED, 2L);
+    }
+
+    @Test
+    void counts_a_difference_revapi_passes_again_once() {
+        DifferenceCounter counter = initializedCounter(AcceptedBreak.builder()
+                .code(CLASS_REMOVED)
+                .justification("reasons")
+                .build());
+
+        Difference accepted = difference(CLASS_REMOVED);
+        Difference other = difference(METHOD_REMOVED);
+        for (int pass = 0; pass < 3; pass++) {
+            counter.transform(element("class foo.Bar"), null, accepted);
+            counter.transform(element("method void foo.Bar::baz()"), null, other);
+        }
+
+        assertThat(countersOf(counter))
+                .containsEntry(AnalysisMetrics.DIFFERENCES_FOUND, 2L)
+                .containsEntry(AnalysisMetrics.ACCEPTED_BREAKS_MATCHED, 1L);
+    }
+
+    @Test
+    void never_changes_a_difference() {
+        DifferenceCounter counter = initializedCounter(AcceptedBreak.builder()
+                .code(CLASS_REMOVED)
+                .justification("reasons")
+                .build());
+
+        Difference accepted = difference(CLASS_REMOVED);
+        Difference notAccepted = difference(METHOD_REMOVED);
+
+        assertThat(counter.transform(element("class foo.Bar"), null, accepted)).isSameAs(accepted);
+        assertThat(counter.transform(element("class foo.Bar"), null, notAccepted)).isSameAs(notAccepted);
+        assertThat(counter.getDifferenceCodePatterns()[0].matcher(METHOD_REMOVED).matches())
+                .isTrue();
+    }
+
+    private static Map<String, Long> countersOf(DifferenceCounter counter) {
+        AnalysisMetrics metrics = new AnalysisMetrics(":foo", new File("metrics.json"));
+        counter.contributeTo(metrics);
+        return metrics.counters();
+    }
+
+    private static DifferenceCounter initializedCounter(AcceptedBreak... acceptedBreaks) {
+        RevapiConfig config = DifferenceCounter.configFor(ImmutableSet.copyOf(acceptedBreaks));
+
+        DifferenceCounter counter = new DifferenceCounter();
+        counter.initialize(AnalysisContext.builder()
+                .build()
+                .copyWithConfiguration(config.asModelNode().get(0).get("configuration")));
+        return counter;
+    }
+
+    private static Element element(String fullHumanReadableString) {
+        Element element = mock(Element.class);
+        when(element.getFullHumanReadableString()).thenReturn(fullHumanReadableString);
+        return element;
+    }
+
+    private static Difference difference(String code) {
+        return Difference.builder()
+                .withCode(code)
+                .withName(code)
+                .addClassification(CompatibilityType.BINARY, DifferenceSeverity.BREAKING)
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.ModuleVisitor;
+import org.objectweb.asm.Opcodes;
+
+class ExportedPackagesTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void reads_every_package_of_an_export_package_header_but_not_its_attributes() {
+        assertThat(ExportedPackages.fromExportPackage(
+                        "a.b;c.d;version=\"1.0\";uses:=\"e.f,g.h\", i.j;version=\"[1.0,2.0)\",k.l"))
+                .containsExactly("a/b", "c/d", "i/j", "k/l");
+    }
+
+    @Test
+    void reads_packages_exported_to_every_module_but_not_those_exported_to_friends() {
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(Opcodes.V9, Opcodes.ACC_MODULE, "module-info", null, null, null);
+        ModuleVisitor module = classWriter.visitModule("com.example", 0, null);
+        module.visitExport("com/example/api", 0);
+        module.visitExport("com/example/spi", 0, "com.example.plugins");
+        module.visitEnd();
+        classWriter.visitEnd();
+
+        assertThat(ExportedPackages.fromModuleInfo(classWriter.toByteArray())).containsExactly("com/example/api");
+    }
+
+    @Test
+    void reads_the_module_descriptor_of_the_latest_release_up_to_the_target_release() throws Exception {
+        File jar = jar(ImmutableMap.of(
+                "module-info.class", moduleInfo("com/example/base"),
+                "META-INF/versions/9/module-info.class", moduleInfo("com/example/nine"),
+                "META-INF/versions/11/module-info.class", moduleInfo("com/example/eleven")));
+
+        try (JarFile jarFile = new JarFile(jar)) {
+            assertThat(ExportedPackages.of(jarFile, Optional.of(10))).hasValue(ImmutableSet.of("com/example/nine"));
+            assertThat(ExportedPackages.of(jarFile, Optional.of(17))).hasValue(ImmutableSet.of("com/example/eleven"));
+            assertThat(ExportedPackages.of(jarFile, Optional.of(8))).hasValue(ImmutableSet.of("com/example/base"));
+            assertThat(ExportedPackages.of(jarFile, Optional.empty())).hasValue(ImmutableSet.of("com/example/base"));
+        }
+    }
+
+    private static byte[] moduleInfo(String exportedPackage) {
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(Opcodes.V9, Opcodes.ACC_MODULE, "module-info", null, null, null);
+        ModuleVisitor module = classWriter.visitModule("com.example", 0, null);
+        module.visitExport(exportedPackage, 0);
+        module.visitEnd();
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    private File jar(Map<String, byte[]> entries) throws Exception {
+        File jar = tempDir.resolve("library.jar").toFile();
+        try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar.toPath()))) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                output.putNextEntry(new ZipEntry(entry.getKey()));
+                output.write(entry.getValue());
+                output.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Test;
+
+class HeapAdmissionTest {
+    private final HeapAdmission heapAdmission = new HeapAdmission(100);
+
+    @Test
+    void admits_analyses_that_fit_in_the_budget_together() throws InterruptedException {
+        try (HeapAdmission.Admitted _first = heapAdmission.admit(60);
+                HeapAdmission.Admitted _second = heapAdmission.admit(40)) {
+            assertThat(heapAdmission.admittedBytes()).isEqualTo(100);
+        }
+
+        assertThat(heapAdmission.admittedBytes()).isZero();
+    }
+
+    @Test
+    void makes_analyses_wait_until_there_is_room_for_them() throws Exception {
+        HeapAdmission.Admitted first = heapAdmission.admit(60);
+        CompletableFuture<HeapAdmission.Admitted> second = CompletableFuture.supplyAsync(() -> admit(60));
+
+        assertThat(waitFor(second)).as("second analysis should not fit alongside the first").isFalse();
+
+        first.close();
+        second.get(10, TimeUnit.SECONDS).close();
+        assertThat(heapAdmission.admittedBytes()).isZero();
+    }
+
+    @Test
+    void admits_analyses_bigger_than_the_budget_on_their_own() throws Exception {
+        HeapAdmission.Admitted huge = heapAdmission.admit(1000);
+        CompletableFuture<HeapAdmission.Admitted> small = CompletableFuture.supplyAsync(() -> admit(1));
+
+        assertThat(waitFor(small)).isFalse();
+
+        huge.close();
+        small.get(10, TimeUnit.SECONDS).close();
+    }
+
+    private HeapAdmission.Admitted admit(long bytes) {
+        try {
+            return heapAdmission.admit(bytes);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static boolean waitFor(CompletableFuture<?> future) throws Exception {
+        try {
+            future.get(200, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+}
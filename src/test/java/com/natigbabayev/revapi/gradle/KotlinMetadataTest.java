@@ -0,0 +1,182 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Resources;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class KotlinMetadataTest {
+    private static final int CLASS = 1;
+    private static final int SYNTHETIC_CLASS = 3;
+    private static final int PUBLIC = 6;
+    private static final int INTERNAL = 0;
+    private static final int INTERNAL_PROPERTY = 512;
+
+    private static final String[] STRINGS = {"visible", "hidden", "hidden$mymodule", "count", "overloaded"};
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * The jars are the {@code Widgets.kt} next to them, compiled by kotlinc 1.9.24 with {@code -jvm-target 1.8
+     * -module-name widgets}. The new version drops internal, synthetic and {@code @PublishedApi} declarations.
+     */
+    @Test
+    void only_reports_the_declarations_kotlin_callers_can_use_from_jars_kotlinc_compiled() throws Exception {
+        File results = tempDir.resolve("results.json").toFile();
+        RevapiAnalysis.run(
+                RevapiAnalysis.revapiBuilder().build(),
+                AnalysisInputs.builder()
+                        .projectPath(":widgets")
+                        .oldApiJars(ImmutableList.of(fixture("old")))
+                        .newApiJars(ImmutableList.of(fixture("new")))
+                        .apiFilters(ApiFilters.builder().build())
+                        .projectConfig(RevapiConfig.empty())
+                        .analysisResultsFile(results)
+                        .metricsFile(tempDir.resolve("metrics.json").toFile())
+                        .build(),
+                ArchiveCache.uncached(),
+                new AnalysisMetrics(":widgets", tempDir.resolve("metrics.json").toFile()));
+
+        List<String> removed = AnalysisResults.fromFile(results).results().stream()
+                .map(AnalysisResult::oldElement)
+                .collect(Collectors.toList());
+        assertThat(removed).containsExactly("method int fixture.Widget::inlined()");
+    }
+
+    @Test
+    void keeps_methods_named_like_kotlin_synthetic_ones_in_classes_kotlin_did_not_compile() {
+        assertThat(KotlinMetadata.NOT_KOTLIN.isApi()).isTrue();
+        assertThat(KotlinMetadata.NOT_KOTLIN.isApiMethod("visible$default")).isTrue();
+        assertThat(KotlinMetadata.NOT_KOTLIN.isApiMethod("visible$annotations")).isTrue();
+        assertThat(KotlinMetadata.NOT_KOTLIN.isApiMethod("access$visible")).isTrue();
+    }
+
+    @Test
+    void hides_internal_functions_and_properties() {
+        KotlinMetadata metadata = KotlinMetadata.decode(
+                CLASS,
+                data(field(1, PUBLIC),
+                        message(9, field(9, PUBLIC), field(2, 0)),
+                        message(9, field(9, INTERNAL), field(2, 1), message(100, field(1, 2))),
+                        message(10, field(11, INTERNAL_PROPERTY), field(2, 3))),
+                STRINGS);
+
+        assertThat(metadata.isApi()).isTrue();
+        assertThat(metadata.isApiMethod("visible")).isTrue();
+        assertThat(metadata.isApiMethod("hidden$mymodule")).isFalse();
+        assertThat(metadata.isApiMethod("getCount")).isFalse();
+        assertThat(metadata.isApiMethod("setCount$mymodule")).isFalse();
+        assertThat(metadata.isApiField("count")).isFalse();
+    }
+
+    @Test
+    void hides_synthetic_methods() {
+        KotlinMetadata metadata =
+                KotlinMetadata.decode(CLASS, data(message(9, field(9, PUBLIC), field(2, 0))), STRINGS);
+
+        assertThat(metadata.isApiMethod("visible$default")).isFalse();
+        assertThat(metadata.isApiMethod("access$visible")).isFalse();
+    }
+
+    @Test
+    void keeps_names_that_a_visible_overload_has() {
+        KotlinMetadata metadata = KotlinMetadata.decode(
+                CLASS,
+                data(message(9, field(9, INTERNAL), field(2, 4)), message(9, field(9, PUBLIC), field(2, 4))),
+                STRINGS);
+
+        assertThat(metadata.isApiMethod("overloaded")).isTrue();
+    }
+
+    @Test
+    void hides_internal_and_synthetic_classes() {
+        assertThat(KotlinMetadata.decode(CLASS, data(field(1, INTERNAL)), STRINGS).isApi()).isFalse();
+        assertThat(KotlinMetadata.decode(SYNTHETIC_CLASS, new String[0], new String[0]).isApi()).isFalse();
+    }
+
+    @Test
+    void treats_metadata_it_cannot_decode_as_all_api() {
+        KotlinMetadata metadata = KotlinMetadata.decode(CLASS, new String[] {"\u0000\u0005\u0001"}, STRINGS);
+
+        assertThat(metadata.isApi()).isTrue();
+        assertThat(metadata.isApiMethod("hidden")).isTrue();
+    }
+
+    private File fixture(String version) throws Exception {
+        Path jar = tempDir.resolve(version + "-widgets.jar");
+        try (InputStream fixture = Resources.getResource("kotlin/" + version + "/widgets.jar").openStream()) {
+            Files.copy(fixture, jar);
+        }
+        return jar.toFile();
+    }
+
+    /** The d1 array of a class with no string table records and the given fields, written like kotlin does. */
+    private static String[] data(byte[]... fields) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(0);
+        for (byte[] field : fields) {
+            bytes.write(field, 0, field.length);
+        }
+
+        StringBuilder data = new StringBuilder("\u0000");
+        for (byte b : bytes.toByteArray()) {
+            data.append((char) (b & 0xff));
+        }
+        return new String[] {data.toString()};
+    }
+
+    private static byte[] field(int number, int value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        varint(bytes, number << 3);
+        varint(bytes, value);
+        return bytes.toByteArray();
+    }
+
+    private static byte[] message(int number, byte[]... fields) {
+        ByteArrayOutputStream contents = new ByteArrayOutputStream();
+        for (byte[] field : fields) {
+            contents.write(field, 0, field.length);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        varint(bytes, number << 3 | 2);
+        varint(bytes, contents.size());
+        bytes.write(contents.toByteArray(), 0, contents.size());
+        return bytes.toByteArray();
+    }
+
+    private static void varint(ByteArrayOutputStream bytes, int value) {
+        int remaining = value;
+        while ((remaining & ~0x7f) != 0) {
+            bytes.write((remaining & 0x7f) | 0x80);
+            remaining >>>= 7;
+        }
+        bytes.write(remaining);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MultiReleaseJarTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void keeps_the_newest_version_of_each_class_up_to_the_release() throws Exception {
+        File jar = jar(true, ImmutableMap.of(
+                "a/A.class", "base",
+                "a/B.class", "base",
+                "META-INF/versions/9/a/A.class", "nine",
+                "META-INF/versions/11/a/A.class", "eleven",
+                "META-INF/versions/11/a/C.class", "eleven"));
+
+        assertThat(entries(MultiReleaseJar.releaseView(jar, 10).get()))
+                .containsEntry("a/A.class", "nine")
+                .containsEntry("a/B.class", "base")
+                .doesNotContainKeys("a/C.class", "META-INF/versions/9/a/A.class", "META-INF/versions/11/a/A.class");
+        assertThat(entries(MultiReleaseJar.releaseView(jar, 8).get())).containsEntry("a/A.class", "base");
+    }
+
+    @Test
+    void leaves_other_jars_as_they_are() throws Exception {
+        File jar = jar(false, ImmutableMap.of("a/A.class", "base", "META-INF/versions/9/a/A.class", "nine"));
+
+        assertThat(MultiReleaseJar.releaseView(jar, 11)).isEmpty();
+    }
+
+    private File jar(boolean multiRelease, Map<String, String> entries) throws Exception {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        if (multiRelease) {
+            manifest.getMainAttributes().putValue("Multi-Release", "true");
+        }
+
+        File jar = tempDir.resolve("library.jar").toFile();
+        try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar.toPath()), manifest)) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                output.putNextEntry(new ZipEntry(entry.getKey()));
+                output.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                output.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private static Map<String, String> entries(byte[] jar) throws Exception {
+        Map<String, String> entries = new HashMap<>();
+        try (ZipInputStream input = new ZipInputStream(new ByteArrayInputStream(jar))) {
+            for (ZipEntry entry = input.getNextEntry(); entry != null; entry = input.getNextEntry()) {
+                entries.put(entry.getName(), new String(ByteStreams.toByteArray(input), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+class PackagePrefixTrieTest {
+    @Test
+    void includes_everything_when_empty() {
+        PackagePrefixTrie trie = PackagePrefixTrie.of(ImmutableList.of(), ImmutableList.of());
+
+        assertThat(trie.isEmpty()).isTrue();
+        assertThat(trie.isIncluded("com.foo.Bar")).isTrue();
+        assertThat(trie.isSubtreeExcluded("com.foo.Bar")).isFalse();
+    }
+
+    @Test
+    void excludes_packages_and_their_subpackages_on_segment_boundaries() {
+        PackagePrefixTrie trie = PackagePrefixTrie.of(ImmutableList.of(), ImmutableList.of("com.foo.internal"));
+
+        assertThat(trie.isIncluded("com.foo.internal.Bar")).isFalse();
+        assertThat(trie.isIncluded("com.foo.internal.deep.Bar")).isFalse();
+        assertThat(trie.isIncluded("com.foo.internalish.Bar")).isTrue();
+        assertThat(trie.isIncluded("com.foo.Bar")).isTrue();
+        assertThat(trie.isSubtreeExcluded("com.foo.internal.Bar")).isTrue();
+    }
+
+    @Test
+    void deepest_matching_prefix_wins() {
+        PackagePrefixTrie trie = PackagePrefixTrie.of(
+                ImmutableList.of("com.foo.internal.api"), ImmutableList.of("com.foo.internal"));
+
+        assertThat(trie.isIncluded("com.foo.internal.Bar")).isFalse();
+        assertThat(trie.isIncluded("com.foo.internal.api.Bar")).isTrue();
+    }
+
+    @Test
+    void excludes_classes_including_nested_classes() {
+        PackagePrefixTrie trie = PackagePrefixTrie.of(ImmutableList.of(), ImmutableList.of("com.foo.Bar"));
+
+        assertThat(trie.isIncluded("com.foo.Bar")).isFalse();
+        assertThat(trie.isIncluded("com.foo.Bar.Nested")).isFalse();
+        assertThat(trie.isIncluded("com.foo.Baz")).isTrue();
+    }
+
+    @Test
+    void with_includes_anything_not_included_is_excluded() {
+        PackagePrefixTrie trie = PackagePrefixTrie.of(ImmutableList.of("com.foo.api"), ImmutableList.of());
+
+        assertThat(trie.isIncluded("com.foo.api.Bar")).isTrue();
+        assertThat(trie.isIncluded("com.foo.Bar")).isFalse();
+        assertThat(trie.isIncluded("org.Bar")).isFalse();
+        assertThat(trie.isSubtreeExcluded("org.Bar")).isTrue();
+    }
+
+    @Test
+    void does_not_exclude_subtree_containing_an_include() {
+        PackagePrefixTrie trie = PackagePrefixTrie.of(
+                ImmutableList.of("com.foo.Outer.Exposed"), ImmutableList.of("com.foo.Outer"));
+
+        assertThat(trie.isIncluded("com.foo.Outer")).isFalse();
+        assertThat(trie.isSubtreeExcluded("com.foo.Outer")).isFalse();
+        assertThat(trie.isSubtreeExcluded("com.foo.Outer.Hidden")).isTrue();
+        assertThat(trie.isIncluded("com.foo.Outer.Exposed")).isTrue();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.revapi.CompatibilityType;
+import org.revapi.DifferenceSeverity;
+
+class ResultsFormatTest {
+    // Strict, unlike the parsing of revapi's own results which have to allow trailing commas
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void writes_one_strict_json_result_per_line() throws IOException {
+        write(ResultsFormat.JSON_LINES);
+
+        List<String> lines = Files.readAllLines(new File(tempDir, "revapi-results.jsonl").toPath());
+        assertThat(lines).hasSize(2);
+
+        List<JsonNode> results = lines.stream().map(ResultsFormatTest::readJson).collect(Collectors.toList());
+        assertThat(results.get(0).get("code").asText()).isEqualTo("java.class.removed");
+        assertThat(results.get(0).get("newElement").isNull()).isTrue();
+        assertThat(results.get(1).get("newElement").asText()).isEqualTo("method void foo.Bar::bar()");
+        assertThat(results.get(1).get("classification").get("BINARY").asText()).isEqualTo("POTENTIALLY_BREAKING");
+    }
+
+    @Test
+    void writes_sarif() throws IOException {
+        write(ResultsFormat.SARIF);
+
+        JsonNode sarif = JSON.readTree(new File(tempDir, "revapi-results.sarif"));
+        assertThat(sarif.get("version").asText()).isEqualTo("2.1.0");
+
+        JsonNode run = sarif.get("runs").get(0);
+        assertThat(run.get("tool").get("driver").get("name").asText()).isEqualTo("revapi");
+        assertThat(run.get("properties").get("archiveNames").asText()).isEqualTo("foo-2.0.jar");
+        assertThat(run.get("results")).hasSize(2);
+
+        JsonNode removed = run.get("results").get(0);
+        assertThat(removed.get("ruleId").asText()).isEqualTo("java.class.removed");
+        assertThat(removed.get("level").asText()).isEqualTo("error");
+        assertThat(removed.get("message").get("text").asText()).isEqualTo("java.class.removed happened");
+        assertThat(removed.get("locations").get(0).get("logicalLocations").get(0).get("fullyQualifiedName").asText())
+                .isEqualTo("class foo.Foo");
+        assertThat(run.get("results").get(1).get("level").asText()).isEqualTo("warning");
+    }
+
+    @Test
+    void writes_the_same_structure_as_the_json_results_in_cbor() throws IOException {
+        write(ResultsFormat.CBOR);
+
+        JsonNode cbor = new ObjectMapper(new CBORFactory()).readTree(new File(tempDir, "revapi-results.cbor"));
+        assertThat(cbor.get("archiveNames").asText()).isEqualTo("foo-2.0.jar");
+        assertThat(cbor.get("results")).hasSize(2);
+        assertThat(cbor.get("results").get(0).get("oldElement").asText()).isEqualTo("class foo.Foo");
+    }
+
+    @Test
+    void writes_empty_results() throws IOException {
+        ResultsFormat.JSON_LINES.open(resultsFile(), "foo-2.0.jar").close();
+        ResultsFormat.SARIF.open(resultsFile(), "foo-2.0.jar").close();
+
+        assertThat(new File(tempDir, "revapi-results.jsonl")).isEmpty();
+        assertThat(JSON.readTree(new File(tempDir, "revapi-results.sarif")).get("runs").get(0).get("results"))
+                .isEmpty();
+    }
+
+    @Test
+    void looks_formats_up_by_their_file_extension() {
+        assertThat(ResultsFormat.fromExtension("jsonl")).isEqualTo(ResultsFormat.JSON_LINES);
+        assertThat(ResultsFormat.fromExtension("sarif")).isEqualTo(ResultsFormat.SARIF);
+    }
+
+    private void write(ResultsFormat format) throws IOException {
+        try (ResultsFormat.Writer writer = format.open(resultsFile(), "foo-2.0.jar")) {
+            writer.write(result("java.class.removed", "class foo.Foo", null, DifferenceSeverity.BREAKING));
+            writer.write(result(
+                    "java.method.added", null, "method void foo.Bar::bar()", DifferenceSeverity.POTENTIALLY_BREAKING));
+        }
+    }
+
+    private File resultsFile() {
+        return new File(tempDir, "revapi-results.json");
+    }
+
+    private static AnalysisResult result(
+            String code, @Nullable String oldElement, @Nullable String newElement, DifferenceSeverity severity) {
+        return AnalysisResult.builder()
+                .code(code)
+                .oldElement(oldElement)
+                .newElement(newElement)
+                .description(code + " happened")
+                .oldArchiveName("foo-1.0.jar")
+                .newArchiveName("foo-2.0.jar")
+                .putClassification(CompatibilityType.BINARY, severity)
+                .build();
+    }
+
+    private static JsonNode readJson(String json) {
+        try {
+            return JSON.readTree(json);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
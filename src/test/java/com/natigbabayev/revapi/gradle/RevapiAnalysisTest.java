@@ -0,0 +1,157 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.revapi.Revapi;
+import com.natigbabayev.revapi.gradle.config.AcceptedBreak;
+import com.natigbabayev.revapi.gradle.config.Justification;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticApi;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticApiGenerator;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticApiSpec;
+import com.natigbabayev.revapi.gradle.fixtures.SyntheticChange;
+
+class RevapiAnalysisTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void analyses_several_projects_with_one_revapi_reading_shared_jars_once() throws Exception {
+        SyntheticApi first = syntheticApi("first", 0.1);
+        SyntheticApi second = syntheticApi("second", 0.2);
+
+        Revapi revapi = RevapiAnalysis.revapiBuilder().build();
+        ArchiveCache archiveCache = ArchiveCache.caching();
+
+        AnalysisMetrics firstMetrics = new AnalysisMetrics(":first", tempDir.resolve("first.json").toFile());
+        RevapiAnalysis.run(revapi, inputs(":first", first, second), archiveCache, firstMetrics);
+        AnalysisMetrics secondMetrics = new AnalysisMetrics(":second", tempDir.resolve("second.json").toFile());
+        RevapiAnalysis.run(revapi, inputs(":second", second, first), archiveCache, secondMetrics);
+
+        assertThat(AnalysisResults.fromFile(resultsFile(":first")).results())
+                .hasSameSizeAs(first.expectedDifferences());
+        assertThat(AnalysisResults.fromFile(resultsFile(":second")).results())
+                .hasSameSizeAs(second.expectedDifferences());
+
+        assertThat(firstMetrics.counters())
+                .as("the old and new apis share their dependencies, rather than reading them from the cache twice")
+                .containsEntry("sharedSupportArchives", 2L)
+                .containsEntry("archiveCacheHits", 0L);
+        assertThat(secondMetrics.counters())
+                .as("the second analysis reuses the new jar of the first, and its own new jar")
+                .containsEntry("sharedSupportArchives", 2L)
+                .containsEntry("archiveCacheHits", 2L);
+    }
+
+    @Test
+    void writes_the_same_results_in_the_extra_formats_as_they_are_reported() throws Exception {
+        SyntheticApi api = syntheticApi("api", 0.2);
+        AnalysisInputs inputs = AnalysisInputs.builder()
+                .from(inputs(":api", api, syntheticApi("other", 0.1)))
+                .addResultsFormats(ResultsFormat.JSON_LINES)
+                .build();
+
+        RevapiAnalysis.run(
+                RevapiAnalysis.revapiBuilder().build(),
+                inputs,
+                ArchiveCache.caching(),
+                new AnalysisMetrics(":api", tempDir.resolve("api.json").toFile()));
+
+        List<AnalysisResult> jsonLines = new ObjectMapper()
+                .readerFor(AnalysisResult.class)
+                .<AnalysisResult>readValues(ResultsFormat.JSON_LINES.fileFor(resultsFile(":api")))
+                .readAll();
+        assertThat(jsonLines)
+                .isNotEmpty()
+                .containsExactlyInAnyOrderElementsOf(AnalysisResults.fromFile(resultsFile(":api")).results());
+    }
+
+    @Test
+    void counts_what_it_found_before_accepted_breaks_are_removed() throws Exception {
+        SyntheticApi api = syntheticApi("api", 0.2);
+        Revapi revapi = RevapiAnalysis.revapiBuilder().build();
+        AnalysisInputs inputs = inputs(":api", api, syntheticApi("other", 0.1));
+        RevapiAnalysis.run(revapi, inputs, ArchiveCache.uncached(), new AnalysisMetrics(":api", metricsFile()));
+        List<AcceptedBreak> breaks = ImmutableList.copyOf(AnalysisResults.fromFile(resultsFile(":api"))
+                .toAcceptedBreaks(Justification.fromString("reasons")));
+
+        AnalysisMetrics metrics = new AnalysisMetrics(":api", metricsFile());
+        RevapiAnalysis.run(
+                revapi,
+                AnalysisInputs.builder()
+                        .from(inputs)
+                        .addAcceptedBreaks(breaks.get(0), breaks.get(1))
+                        .build(),
+                ArchiveCache.uncached(),
+                metrics);
+
+        assertThat(AnalysisResults.fromFile(resultsFile(":api")).results())
+                .as("revapi.ignore still removes the accepted breaks")
+                .hasSize(breaks.size() - 2);
+        assertThat(metrics.counters())
+                .containsEntry(AnalysisMetrics.CLASSES_SCANNED, 100L)
+                .containsEntry(AnalysisMetrics.DIFFERENCES_FOUND, (long) breaks.size())
+                .containsEntry(AnalysisMetrics.ACCEPTED_BREAKS_MATCHED, 2L);
+    }
+
+    private SyntheticApi syntheticApi(String name, double removedRate) throws Exception {
+        return SyntheticApiGenerator.generate(
+                SyntheticApiSpec.builder()
+                        .classCount(50)
+                        .seed(name.hashCode())
+                        .putChangeRates(SyntheticChange.METHOD_REMOVED, removedRate)
+                        .build(),
+                tempDir.resolve(name));
+    }
+
+    /** The other project's jars stand in for the dependencies projects in the same build have in common. */
+    private AnalysisInputs inputs(String projectPath, SyntheticApi api, SyntheticApi otherProject) {
+        return AnalysisInputs.builder()
+                .projectPath(projectPath)
+                .oldApiJars(ImmutableList.of(api.oldJar()))
+                .oldApiDependencyJars(ImmutableList.<File>builder()
+                        .addAll(api.supportJars())
+                        .add(otherProject.newJar())
+                        .build())
+                .newApiJars(ImmutableList.of(api.newJar()))
+                .newApiDependencyJars(ImmutableList.<File>builder()
+                        .addAll(api.supportJars())
+                        .add(otherProject.newJar())
+                        .build())
+                .apiFilters(ApiFilters.builder().build())
+                .projectConfig(RevapiConfig.empty())
+                .analysisResultsFile(resultsFile(projectPath))
+                .metricsFile(tempDir.resolve("metrics.json").toFile())
+                .build();
+    }
+
+    private File metricsFile() {
+        return tempDir.resolve("metrics.json").toFile();
+    }
+
+    private File resultsFile(String projectPath) {
+        return tempDir.resolve(projectPath.substring(1) + "-results.json").toFile();
+    }
+}
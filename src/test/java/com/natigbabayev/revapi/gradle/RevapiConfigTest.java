@@ -0,0 +1,80 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import org.jboss.dmr.ModelNode;
+import org.junit.jupiter.api.Test;
+
+class RevapiConfigTest {
+    @Test
+    void defaults_are_only_parsed_once() {
+        assertThat(RevapiConfig.defaults()).isSameAs(RevapiConfig.defaults());
+    }
+
+    @Test
+    void model_node_is_the_same_as_parsing_the_rendered_json() {
+        RevapiConfig revapiConfig = RevapiConfig.mergeAll(
+                RevapiConfig.defaults(),
+                RevapiConfig.empty().withTextReporter("template.ftl", new File("results.json")),
+                RevapiConfig.empty()
+                        .withExtension(
+                                "some.extension",
+                                new ObjectMapper()
+                                        .createObjectNode()
+                                        .put("int", 3)
+                                        .put("long", 3_000_000_000_000L)
+                                        .put("double", 1.5)
+                                        .putNull("null")));
+
+        assertThat(revapiConfig.asModelNode()).isEqualTo(ModelNode.fromJSONString(revapiConfig.configAsString()));
+    }
+
+    @Test
+    void survives_being_serialized_for_a_worker() throws Exception {
+        RevapiConfig revapiConfig = RevapiConfig.mergeAll(
+                RevapiConfig.defaults(), RevapiConfig.empty().withExtension("some.extension"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(revapiConfig);
+        }
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertThat(((RevapiConfig) input.readObject()).configAsString()).isEqualTo(revapiConfig.configAsString());
+        }
+    }
+
+    @Test
+    void merging_keeps_extensions_in_order() {
+        RevapiConfig merged = RevapiConfig.mergeAll(
+                RevapiConfig.empty().withExtension("first"),
+                RevapiConfig.empty().withExtension("second").withExtension("third"));
+
+        ModelNode modelNode = merged.asModelNode();
+
+        assertThat(modelNode.asList()).hasSize(3);
+        assertThat(modelNode.get(0).get("extension").asString()).isEqualTo("first");
+        assertThat(modelNode.get(2).get("extension").asString()).isEqualTo("third");
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle.fixtures;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.jboss.dmr.ModelNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.revapi.API;
+import org.revapi.AnalysisContext;
+import org.revapi.AnalysisResult;
+import org.revapi.Difference;
+import org.revapi.DifferenceTransform;
+import org.revapi.Element;
+import org.revapi.Revapi;
+import org.revapi.java.JavaApiAnalyzer;
+import org.revapi.simple.FileArchive;
+import com.natigbabayev.revapi.gradle.config.GradleRevapiConfig;
+import com.natigbabayev.revapi.gradle.config.GroupNameVersion;
+
+class SyntheticApiGeneratorTest {
+    private static final SyntheticApiSpec SPEC = SyntheticApiSpec.builder()
+            .classCount(300)
+            .inheritanceDepth(2)
+            .genericsDensity(0.3)
+            .immutablesRate(0.2)
+            .putChangeRates(SyntheticChange.CLASS_REMOVED, 0.1)
+            .putChangeRates(SyntheticChange.CLASS_NOW_FINAL, 0.1)
+            .putChangeRates(SyntheticChange.FIELD_REMOVED, 0.1)
+            .putChangeRates(SyntheticChange.METHOD_REMOVED, 0.1)
+            .putChangeRates(SyntheticChange.METHOD_RETURN_TYPE_CHANGED, 0.1)
+            .putChangeRates(SyntheticChange.METHOD_PARAMETER_TYPE_CHANGED, 0.1)
+            .putChangeRates(SyntheticChange.METHOD_VISIBILITY_REDUCED, 0.1)
+            .putChangeRates(SyntheticChange.METHOD_ADDED_TO_INTERFACE, 0.1)
+            .putChangeRates(SyntheticChange.METHOD_ABSTRACT_METHOD_ADDED, 0.1)
+            .build();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void generates_the_same_jars_from_the_same_spec() throws IOException {
+        SyntheticApi first = SyntheticApiGenerator.generate(SPEC, tempDir.resolve("first"));
+        SyntheticApi second = SyntheticApiGenerator.generate(SPEC, tempDir.resolve("second"));
+
+        assertThat(Files.readAllBytes(first.oldJar().toPath())).isEqualTo(Files.readAllBytes(second.oldJar().toPath()));
+        assertThat(Files.readAllBytes(first.newJar().toPath())).isEqualTo(Files.readAllBytes(second.newJar().toPath()));
+        assertThat(first.expectedDifferences()).isEqualTo(second.expectedDifferences());
+    }
+
+    @Test
+    void revapi_reports_exactly_the_expected_differences() throws Exception {
+        SyntheticApi syntheticApi = SyntheticApiGenerator.generate(SPEC, tempDir);
+
+        assertThat(syntheticApi.expectedDifferences())
+                .extracting(ExpectedDifference::code)
+                .containsAll(Arrays.stream(SyntheticChange.values())
+                        .map(SyntheticChange::code)
+                        .collect(Collectors.toSet()));
+
+        assertThat(differencesFoundByRevapi(syntheticApi))
+                .containsExactlyInAnyOrderElementsOf(syntheticApi.expectedDifferences());
+    }
+
+    @Test
+    void writes_revapi_yml_with_the_requested_number_of_accepted_breaks() throws IOException {
+        SyntheticApi syntheticApi = SyntheticApiGenerator.generate(SPEC, tempDir);
+        GroupNameVersion oldVersion = GroupNameVersion.fromString("com.example:synthetic:1.0.0");
+
+        Path revapiYml = RevapiYmlGenerator.write(
+                tempDir.resolve(".revapi/revapi.yml"), oldVersion, syntheticApi.expectedDifferences(), 5000);
+
+        GradleRevapiConfig config =
+                GradleRevapiConfig.newYamlObjectMapper().readValue(revapiYml.toFile(), GradleRevapiConfig.class);
+        assertThat(config.acceptedBreaksFor(oldVersion.groupAndName())).hasSize(5000);
+    }
+
+    private static List<ExpectedDifference> differencesFoundByRevapi(SyntheticApi syntheticApi) throws Exception {
+        List<FileArchive> supportArchives = new ArrayList<>();
+        for (File supportJar : syntheticApi.supportJars()) {
+            supportArchives.add(new FileArchive(supportJar));
+        }
+
+        Revapi revapi = Revapi.builder()
+                .withAnalyzers(JavaApiAnalyzer.class)
+                .withTransforms(Recorder.class)
+                .build();
+
+        try (AnalysisResult analysisResult = revapi.analyze(AnalysisContext.builder()
+                .withOldAPI(API.of(new FileArchive(syntheticApi.oldJar()))
+                        .supportedBy(supportArchives)
+                        .build())
+                .withNewAPI(API.of(new FileArchive(syntheticApi.newJar()))
+                        .supportedBy(supportArchives)
+                        .build())
+                .withConfiguration(new ModelNode().setEmptyList())
+                .build())) {
+            analysisResult.throwIfFailed();
+            return Recorder.drain();
+        }
+    }
+
+    public static final class Recorder implements DifferenceTransform<Element> {
+        private static final List<ExpectedDifference> recorded = new ArrayList<>();
+
+        static synchronized List<ExpectedDifference> drain() {
+            List<ExpectedDifference> drained = new ArrayList<>(recorded);
+            recorded.clear();
+            return drained;
+        }
+
+        @Nonnull
+        @Override
+        public Pattern[] getDifferenceCodePatterns() {
+            return new Pattern[] {Pattern.compile(".*")};
+        }
+
+        @Nullable
+        @Override
+        public Difference transform(
+                @Nullable Element oldElement, @Nullable Element newElement, @Nonnull Difference difference) {
+            synchronized (Recorder.class) {
+                recorded.add(ExpectedDifference.builder()
+                        .code(difference.code)
+                        .oldElement(Optional.ofNullable(oldElement).map(Element::getFullHumanReadableString))
+                        .newElement(Optional.ofNullable(newElement).map(Element::getFullHumanReadableString))
+                        .build());
+            }
+            return difference;
+        }
+
+        @Override
+        public String getExtensionId() {
+            return "synthetic.recorder";
+        }
+
+        @Override
+        public void initialize(@Nonnull AnalysisContext _analysisContext) {}
+
+        @Nullable
+        @Override
+        public Reader getJSONSchema() {
+            return null;
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,13 @@
+package fixture
+
+enum class Kind { SMALL, LARGE }
+
+class Widget {
+    fun describe(times: Int = 1): String = "widget".repeat(times)
+
+    fun size(kind: Kind): Int = kind.ordinal + 1
+
+    inline fun twice(): Int = 4
+}
+
+fun widget(times: Int = 1): String = Widget().describe(times)
@@ -0,0 +1,29 @@
+package fixture
+
+enum class Kind { SMALL, LARGE }
+
+class Widget {
+    fun describe(times: Int = 1): String = "widget".repeat(times)
+
+    fun size(kind: Kind): Int = when (kind) {
+        Kind.SMALL -> 1
+        Kind.LARGE -> 2
+    }
+
+    internal fun cache(): Int = 1
+
+    internal var count: Int = 0
+
+    @PublishedApi
+    internal fun inlined(): Int = 2
+
+    inline fun twice(): Int = inlined() * 2
+}
+
+internal class WidgetFactory {
+    fun create(): Widget = Widget()
+}
+
+fun widget(times: Int = 1): String = Widget().describe(times)
+
+internal fun defaultWidget(): Widget = WidgetFactory().create()
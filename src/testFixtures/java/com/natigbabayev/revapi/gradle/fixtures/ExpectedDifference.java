@@ -0,0 +1,48 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle.fixtures;
+
+import java.util.Optional;
+import org.immutables.value.Value;
+import com.natigbabayev.revapi.gradle.ImmutableStyle;
+import com.natigbabayev.revapi.gradle.config.AcceptedBreak;
+
+/** A difference revapi reports between a {@link SyntheticApi}'s old and new jars, as revapi prints its elements. */
+@Value.Immutable
+@ImmutableStyle
+public interface ExpectedDifference {
+    String code();
+
+    Optional<String> oldElement();
+
+    Optional<String> newElement();
+
+    default AcceptedBreak toAcceptedBreak(String justification) {
+        return AcceptedBreak.builder()
+                .code(code())
+                .oldElement(oldElement())
+                .newElement(newElement())
+                .justification(justification)
+                .build();
+    }
+
+    class Builder extends ImmutableExpectedDifference.Builder {}
+
+    static Builder builder() {
+        return new Builder();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle.fixtures;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import com.natigbabayev.revapi.gradle.config.AcceptedBreak;
+import com.natigbabayev.revapi.gradle.config.GradleRevapiConfig;
+import com.natigbabayev.revapi.gradle.config.GroupNameVersion;
+
+/**
+ * Writes {@code .revapi/revapi.yml} files with a given number of accepted breaks. The given differences are accepted
+ * first, and the rest are breaks on elements that do not exist, which never match but still have to be loaded and
+ * checked, as happens in projects that have accumulated years of accepted breaks.
+ */
+public final class RevapiYmlGenerator {
+    private static final ObjectMapper OBJECT_MAPPER = GradleRevapiConfig.newYamlObjectMapper();
+
+    private RevapiYmlGenerator() {}
+
+    public static Set<AcceptedBreak> acceptedBreaks(List<ExpectedDifference> toAccept, int acceptedBreakCount) {
+        Set<AcceptedBreak> acceptedBreaks = new LinkedHashSet<>();
+        for (int i = 0; i < toAccept.size() && acceptedBreaks.size() < acceptedBreakCount; i++) {
+            acceptedBreaks.add(toAccept.get(i).toAcceptedBreak("synthetic"));
+        }
+
+        for (int i = 0; acceptedBreaks.size() < acceptedBreakCount; i++) {
+            acceptedBreaks.add(AcceptedBreak.builder()
+                    .code(SyntheticChange.values()[i % SyntheticChange.values().length].code())
+                    .oldElement("method java.lang.String unmatched.p" + (i / 100) + ".Type" + i + "::method()")
+                    .justification("synthetic")
+                    .build());
+        }
+
+        return acceptedBreaks;
+    }
+
+    public static Path write(
+            Path revapiYml, GroupNameVersion oldVersion, List<ExpectedDifference> toAccept, int acceptedBreakCount)
+            throws IOException {
+
+        GradleRevapiConfig config =
+                GradleRevapiConfig.empty().addAcceptedBreaks(oldVersion, acceptedBreaks(toAccept, acceptedBreakCount));
+
+        Files.createDirectories(revapiYml.toAbsolutePath().getParent());
+        OBJECT_MAPPER.writeValue(revapiYml.toFile(), config);
+        return revapiYml;
+    }
+}
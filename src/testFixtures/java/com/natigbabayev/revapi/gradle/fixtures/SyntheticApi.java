@@ -0,0 +1,42 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle.fixtures;
+
+import java.io.File;
+import java.util.List;
+import org.immutables.value.Value;
+import com.natigbabayev.revapi.gradle.ImmutableStyle;
+
+/** The jars generated from a {@link SyntheticApiSpec}, and the differences revapi should find between them. */
+@Value.Immutable
+@ImmutableStyle
+public interface SyntheticApi {
+    File oldJar();
+
+    File newJar();
+
+    /** Classes the old and new jars need but that are not part of their api, like the immutables annotations. */
+    List<File> supportJars();
+
+    List<ExpectedDifference> expectedDifferences();
+
+    class Builder extends ImmutableSyntheticApi.Builder {}
+
+    static Builder builder() {
+        return new Builder();
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle.fixtures;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+/**
+ * Generates the old and new jars of a {@link SyntheticApiSpec} by writing out java sources and compiling them with
+ * the system java compiler, so needs to run on a JDK. Types are spread over packages of 100 types each, and every
+ * change made is recorded as the {@link ExpectedDifference} revapi will report for it.
+ */
+public final class SyntheticApiGenerator {
+    private static final int CLASSES_PER_PACKAGE = 100;
+    private static final String TYPE_PARAMETER = "<T>";
+
+    private SyntheticApiGenerator() {}
+
+    public static SyntheticApi generate(SyntheticApiSpec spec, Path directory) throws IOException {
+        List<Type> types = plan(spec);
+
+        Path supportClasses = compile(
+                directory.resolve("support"),
+                Collections.singletonMap("org/immutables/value/Value.java", IMMUTABLES_ANNOTATIONS),
+                Optional.empty());
+
+        return SyntheticApi.builder()
+                .oldJar(jar(directory.resolve("old"), types, spec, false, supportClasses))
+                .newJar(jar(directory.resolve("new"), types, spec, true, supportClasses))
+                .addSupportJars(jar(supportClasses, directory.resolve("support/support.jar")))
+                .expectedDifferences(types.stream()
+                        .filter(type -> type.change != null)
+                        .map(Type::expectedDifference)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    /** Compiles hand written {@code sources}, keyed by their paths, into a jar called {@code jarName}. */
+    public static File compileToJar(Path directory, String jarName, Map<String, String> sources) throws IOException {
+        return jar(compile(directory, sources, Optional.empty()), directory.resolve(jarName));
+    }
+
+    /** Like {@link #compileToJar(Path, String, Map)}, with {@code manifest} as the jar's manifest. */
+    public static File compileToJar(Path directory, String jarName, Map<String, String> sources, Manifest manifest)
+            throws IOException {
+        return jar(compile(directory, sources, Optional.empty()), directory.resolve(jarName), Optional.of(manifest));
+    }
+
+    private static List<Type> plan(SyntheticApiSpec spec) {
+        Random random = new Random(spec.seed());
+        List<Type> types = new ArrayList<>(spec.classCount());
+
+        for (int index = 0; index < spec.classCount(); index++) {
+            Kind kind = random.nextDouble() < spec.immutablesRate()
+                    ? Kind.IMMUTABLE
+                    : (random.nextInt(5) == 0 ? Kind.INTERFACE : Kind.CLASS);
+            Type type = new Type(index, kind, random.nextDouble() < spec.genericsDensity());
+
+            Type previous = index == 0 ? null : types.get(index - 1);
+            if (kind == Kind.CLASS
+                    && previous != null
+                    && previous.kind == Kind.CLASS
+                    && previous.depth < spec.inheritanceDepth()) {
+                type.superclass = previous;
+                type.depth = previous.depth + 1;
+                previous.hasSubclass = true;
+            }
+
+            types.add(type);
+        }
+
+        // Changing a type that is extended would also be reported against its subclasses, so only leaves are changed
+        for (Type type : types) {
+            if (!type.hasSubclass) {
+                type.change = pickChange(spec, type, random.nextDouble());
+            }
+        }
+
+        return types;
+    }
+
+    private static SyntheticChange pickChange(SyntheticApiSpec spec, Type type, double roll) {
+        double cumulative = 0;
+        for (SyntheticChange change : SyntheticChange.values()) {
+            if (!type.kind.allows(change)) {
+                continue;
+            }
+
+            cumulative += spec.changeRates().getOrDefault(change, 0.0);
+            if (roll < cumulative) {
+                return change;
+            }
+        }
+        return null;
+    }
+
+    private static File jar(Path directory, List<Type> types, SyntheticApiSpec spec, boolean isNew, Path support)
+            throws IOException {
+
+        Path classes = compile(
+                directory,
+                types.stream()
+                        .filter(type -> !(isNew && type.change == SyntheticChange.CLASS_REMOVED))
+                        .collect(Collectors.toMap(
+                                type -> type.qualifiedName().replace('.', '/') + ".java",
+                                type -> type.source(spec.membersPerClass(), isNew))),
+                Optional.of(support));
+
+        return jar(classes, directory.resolve("api.jar"));
+    }
+
+    private static Path compile(Path directory, Map<String, String> sources, Optional<Path> classpath)
+            throws IOException {
+
+        Path sourceDirectory = directory.resolve("src");
+        Path classes = directory.resolve("classes");
+        Files.createDirectories(classes);
+
+        List<String> arguments = new ArrayList<>(Arrays.asList("-nowarn", "-proc:none", "-d", classes.toString()));
+        classpath.ifPresent(path -> arguments.addAll(Arrays.asList("-classpath", path.toString())));
+
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            Path sourceFile = sourceDirectory.resolve(source.getKey());
+            Files.createDirectories(sourceFile.getParent());
+            Files.write(sourceFile, source.getValue().getBytes(StandardCharsets.UTF_8));
+            arguments.add(sourceFile.toString());
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Generating synthetic apis needs a JDK, not a JRE");
+        }
+        if (compiler.run(null, null, null, arguments.toArray(new String[0])) != 0) {
+            throw new IllegalStateException("Failed to compile the synthetic api in " + directory);
+        }
+        return classes;
+    }
+
+    private static File jar(Path classes, Path jar) throws IOException {
+        return jar(classes, jar, Optional.empty());
+    }
+
+    private static File jar(Path classes, Path jar, Optional<Manifest> manifest) throws IOException {
+        try (JarOutputStream jarOutputStream = manifest.isPresent()
+                        ? new JarOutputStream(Files.newOutputStream(jar), manifest.get())
+                        : new JarOutputStream(Files.newOutputStream(jar));
+                Stream<Path> classFiles = Files.walk(classes)) {
+            for (Path classFile : classFiles.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+                JarEntry entry = new JarEntry(classes.relativize(classFile).toString().replace(File.separatorChar, '/'));
+                // Fixed timestamps, so the same spec produces byte for byte the same jars
+                entry.setTime(0);
+                jarOutputStream.putNextEntry(entry);
+                Files.copy(classFile, jarOutputStream);
+                jarOutputStream.closeEntry();
+            }
+        }
+        return jar.toFile();
+    }
+
+    private static final String IMMUTABLES_ANNOTATIONS = "package org.immutables.value;\n\n"
+            + "public @interface Value {\n"
+            + "    @interface Immutable {}\n"
+            + "}\n";
+
+    private enum Kind {
+        CLASS,
+        INTERFACE,
+        IMMUTABLE;
+
+        boolean allows(SyntheticChange change) {
+            switch (change) {
+                case CLASS_NOW_FINAL:
+                case FIELD_REMOVED:
+                case METHOD_VISIBILITY_REDUCED:
+                    return this == CLASS;
+                case METHOD_PARAMETER_TYPE_CHANGED:
+                    return this != IMMUTABLE;
+                case METHOD_ADDED_TO_INTERFACE:
+                    return this == INTERFACE;
+                case METHOD_ABSTRACT_METHOD_ADDED:
+                    return this == IMMUTABLE;
+                default:
+                    return true;
+            }
+        }
+    }
+
+    private static final class Type {
+        private final int index;
+        private final Kind kind;
+        private final boolean generic;
+        private Type superclass;
+        private int depth = 0;
+        private boolean hasSubclass = false;
+        private SyntheticChange change;
+
+        Type(int index, Kind kind, boolean generic) {
+            this.index = index;
+            this.kind = kind;
+            this.generic = generic;
+        }
+
+        String packageName() {
+            return "synthetic.p" + (index / CLASSES_PER_PACKAGE);
+        }
+
+        String simpleName() {
+            return "Type" + index;
+        }
+
+        String qualifiedName() {
+            return packageName() + "." + simpleName();
+        }
+
+        String memberType() {
+            return generic ? "T" : "java.lang.String";
+        }
+
+        /** The changed method always returns a string, so changing its return type is not a type parameter change. */
+        String returnType(int method) {
+            return method == 0 ? "java.lang.String" : memberType();
+        }
+
+        String fieldName() {
+            return "type" + index + "Field";
+        }
+
+        String methodName(int method) {
+            return "type" + index + "Method" + method;
+        }
+
+        String source(int members, boolean isNew) {
+            boolean changed = isNew && change != null;
+            StringBuilder source = new StringBuilder("package " + packageName() + ";\n\n");
+
+            if (kind == Kind.IMMUTABLE) {
+                source.append("@org.immutables.value.Value.Immutable\n");
+            }
+            source.append("public ")
+                    .append(changed && change == SyntheticChange.CLASS_NOW_FINAL ? "final " : "")
+                    .append(kind == Kind.IMMUTABLE ? "abstract class " : "")
+                    .append(kind == Kind.CLASS ? "class " : "")
+                    .append(kind == Kind.INTERFACE ? "interface " : "")
+                    .append(simpleName())
+                    .append(generic ? TYPE_PARAMETER : "");
+            if (superclass != null) {
+                source.append(" extends ")
+                        .append(superclass.qualifiedName())
+                        .append(superclass.generic ? "<java.lang.String>" : "");
+            }
+            source.append(" {\n");
+
+            if (kind == Kind.CLASS && !(changed && change == SyntheticChange.FIELD_REMOVED)) {
+                source.append("    public int ").append(fieldName()).append(";\n");
+            }
+
+            for (int method = 0; method < members; method++) {
+                if (method == 0 && changed && change == SyntheticChange.METHOD_REMOVED) {
+                    continue;
+                }
+
+                boolean changesThis = method == 0 && changed;
+                String visibility = changesThis && change == SyntheticChange.METHOD_VISIBILITY_REDUCED
+                        ? "protected "
+                        : (kind == Kind.INTERFACE ? "" : "public ");
+                String returnType = changesThis && change == SyntheticChange.METHOD_RETURN_TYPE_CHANGED
+                        ? "java.lang.Object"
+                        : returnType(method);
+                String parameterType =
+                        changesThis && change == SyntheticChange.METHOD_PARAMETER_TYPE_CHANGED ? "long" : "int";
+
+                source.append("    ").append(visibility).append(kind == Kind.IMMUTABLE ? "abstract " : "");
+                source.append(returnType).append(' ').append(methodName(method));
+                if (kind == Kind.IMMUTABLE) {
+                    source.append("();\n");
+                } else {
+                    source.append('(').append(parameterType).append(" value)");
+                    source.append(kind == Kind.INTERFACE ? ";\n" : " { return null; }\n");
+                }
+            }
+
+            if (changed
+                    && (change == SyntheticChange.METHOD_ADDED_TO_INTERFACE
+                            || change == SyntheticChange.METHOD_ABSTRACT_METHOD_ADDED)) {
+                source.append(kind == Kind.IMMUTABLE ? "    public abstract " : "    ")
+                        .append(memberType())
+                        .append(" added();\n");
+            }
+
+            return source.append("}\n").toString();
+        }
+
+        ExpectedDifference expectedDifference() {
+            String declaringType = qualifiedName() + (generic ? TYPE_PARAMETER : "");
+            // Revapi prints the bounds of a type's own type parameters, but not when printing the type of a member
+            String typeElement = (kind == Kind.INTERFACE ? "interface " : "class ")
+                    + qualifiedName()
+                    + (generic ? "<T extends java.lang.Object>" : "");
+            String parameters = kind == Kind.IMMUTABLE ? "()" : "(int)";
+            String method = "method java.lang.String " + declaringType + "::" + methodName(0) + parameters;
+            String added = "method " + memberType() + " " + declaringType + "::added()";
+
+            ExpectedDifference.Builder expected = ExpectedDifference.builder().code(change.code());
+            switch (change) {
+                case CLASS_REMOVED:
+                    return expected.oldElement(typeElement).build();
+                case CLASS_NOW_FINAL:
+                    return expected.oldElement(typeElement).newElement(typeElement).build();
+                case FIELD_REMOVED:
+                    return expected.oldElement("field " + declaringType + "." + fieldName()).build();
+                case METHOD_REMOVED:
+                    return expected.oldElement(method).build();
+                case METHOD_RETURN_TYPE_CHANGED:
+                    return expected.oldElement(method)
+                            .newElement(method.replaceFirst("^method java.lang.String", "method java.lang.Object"))
+                            .build();
+                case METHOD_PARAMETER_TYPE_CHANGED:
+                    String parameter = "parameter java.lang.String " + declaringType + "::" + methodName(0);
+                    return expected.oldElement(parameter + "(===int===)")
+                            .newElement(parameter + "(===long===)")
+                            .build();
+                case METHOD_VISIBILITY_REDUCED:
+                    return expected.oldElement(method).newElement(method).build();
+                case METHOD_ADDED_TO_INTERFACE:
+                case METHOD_ABSTRACT_METHOD_ADDED:
+                    return expected.newElement(added).build();
+                default:
+                    throw new IllegalStateException("Unknown change " + change);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle.fixtures;
+
+import java.util.Map;
+import org.immutables.value.Value;
+import com.natigbabayev.revapi.gradle.ImmutableStyle;
+
+/**
+ * The shape of a synthetic api: how many types, how big and how deep they are, and how often each kind of
+ * {@link SyntheticChange} is made between the old and new versions. The same spec always generates the same jars.
+ */
+@Value.Immutable
+@ImmutableStyle
+public interface SyntheticApiSpec {
+    @Value.Default
+    default int classCount() {
+        return 100;
+    }
+
+    /** Methods in each type, besides those added by changes. Every class also has one public field. */
+    @Value.Default
+    default int membersPerClass() {
+        return 5;
+    }
+
+    /** How many superclasses deep the chains of classes extending each other go. {@code 0} is no inheritance. */
+    @Value.Default
+    default int inheritanceDepth() {
+        return 0;
+    }
+
+    /** The fraction of types that have a type parameter, which their methods then return. */
+    @Value.Default
+    default double genericsDensity() {
+        return 0;
+    }
+
+    /** The fraction of types that are abstract {@code @Value.Immutable} classes, as immutables users write them. */
+    @Value.Default
+    default double immutablesRate() {
+        return 0;
+    }
+
+    /**
+     * The fraction of the types a change can apply to that get that change. Each type gets at most one change, and
+     * only types that no other type extends are changed, so that every change is reported exactly once.
+     */
+    Map<SyntheticChange, Double> changeRates();
+
+    @Value.Default
+    default long seed() {
+        return 0;
+    }
+
+    @Value.Check
+    default void check() {
+        if (classCount() < 0 || membersPerClass() < 1 || inheritanceDepth() < 0) {
+            throw new IllegalArgumentException("classCount and inheritanceDepth must be at least 0, membersPerClass 1");
+        }
+        changeRates().forEach((change, rate) -> checkRate(change.name(), rate));
+        checkRate("genericsDensity", genericsDensity());
+        checkRate("immutablesRate", immutablesRate());
+    }
+
+    static void checkRate(String name, double rate) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException(name + " must be between 0 and 1, but was " + rate);
+        }
+    }
+
+    class Builder extends ImmutableSyntheticApiSpec.Builder {}
+
+    static Builder builder() {
+        return new Builder();
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.natigbabayev.revapi.gradle.fixtures;
+
+/** The kinds of change {@link SyntheticApiGenerator} can make between the old and new api, by revapi code. */
+public enum SyntheticChange {
+    CLASS_REMOVED("java.class.removed"),
+    CLASS_NOW_FINAL("java.class.nowFinal"),
+    FIELD_REMOVED("java.field.removed"),
+    METHOD_REMOVED("java.method.removed"),
+    METHOD_RETURN_TYPE_CHANGED("java.method.returnTypeChanged"),
+    METHOD_PARAMETER_TYPE_CHANGED("java.method.parameterTypeChanged"),
+    METHOD_VISIBILITY_REDUCED("java.method.visibilityReduced"),
+    METHOD_ADDED_TO_INTERFACE("java.method.addedToInterface"),
+    METHOD_ABSTRACT_METHOD_ADDED("java.method.abstractMethodAdded");
+
+    private final String code;
+
+    SyntheticChange(String code) {
+        this.code = code;
+    }
+
+    public String code() {
+        return code;
+    }
+}